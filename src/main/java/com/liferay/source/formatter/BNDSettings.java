@@ -13,6 +13,7 @@ import com.liferay.portal.kernel.util.Validator;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -128,7 +129,9 @@ public class BNDSettings {
 					"/Language.properties");
 
 			if (file.exists()) {
-				languageProperties.load(new FileInputStream(file));
+				try (InputStream inputStream = new FileInputStream(file)) {
+					languageProperties.load(inputStream);
+				}
 			}
 		}
 
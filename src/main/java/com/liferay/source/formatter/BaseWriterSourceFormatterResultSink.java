@@ -0,0 +1,70 @@
+/**
+ * SPDX-FileCopyrightText: (c) 2000 Liferay, Inc. https://liferay.com
+ * SPDX-License-Identifier: LGPL-2.1-or-later OR LicenseRef-Liferay-DXP-EULA-2.0.0-2023-06
+ */
+
+package com.liferay.source.formatter;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+/**
+ * Writes results to a file as they are received, and flushes after every
+ * write, so that the file can be read while the run is still in progress.
+ * Write failures are thrown when the sink is closed.
+ *
+ * @author Hugo Huijser
+ */
+public abstract class BaseWriterSourceFormatterResultSink
+	implements SourceFormatterResultSink {
+
+	public BaseWriterSourceFormatterResultSink(File file) throws IOException {
+		File parentFile = file.getParentFile();
+
+		if (parentFile != null) {
+			parentFile.mkdirs();
+		}
+
+		_writer = Files.newBufferedWriter(
+			file.toPath(), StandardCharsets.UTF_8);
+	}
+
+	@Override
+	public synchronized void close() throws IOException {
+		try {
+			_writer.close();
+		}
+		catch (IOException ioException) {
+			if (_ioException == null) {
+				_ioException = ioException;
+			}
+		}
+
+		if (_ioException != null) {
+			throw _ioException;
+		}
+	}
+
+	protected synchronized void write(String s) {
+		if (_ioException != null) {
+			return;
+		}
+
+		try {
+			_writer.write(s);
+
+			_writer.flush();
+		}
+		catch (IOException ioException) {
+			_ioException = ioException;
+		}
+	}
+
+	private IOException _ioException;
+	private final Writer _writer;
+
+}
@@ -0,0 +1,172 @@
+/**
+ * SPDX-FileCopyrightText: (c) 2000 Liferay, Inc. https://liferay.com
+ * SPDX-License-Identifier: LGPL-2.1-or-later OR LicenseRef-Liferay-DXP-EULA-2.0.0-2023-06
+ */
+
+package com.liferay.source.formatter;
+
+import com.liferay.portal.json.JSONArrayImpl;
+import com.liferay.portal.json.JSONObjectImpl;
+import com.liferay.portal.kernel.json.JSONArray;
+import com.liferay.portal.kernel.json.JSONObject;
+import com.liferay.portal.kernel.json.JSONUtil;
+import com.liferay.source.formatter.exception.SourceMismatchException;
+import com.liferay.source.formatter.util.FileUtil;
+
+import java.io.File;
+import java.io.IOException;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Writes the violations grouped by check, and the names of the modified files,
+ * as a single JSON document when the sink is closed. Nothing is written when
+ * there are no results.
+ *
+ * @author Hugo Huijser
+ */
+public class JSONSourceFormatterResultSink
+	implements SourceFormatterResultSink {
+
+	public JSONSourceFormatterResultSink(File file) {
+		_file = file;
+	}
+
+	@Override
+	public synchronized void addSourceFormatterMessage(
+		SourceFormatterMessage sourceFormatterMessage) {
+
+		if (sourceFormatterMessage.getCheckName() != null) {
+			_sourceFormatterMessages.add(sourceFormatterMessage);
+		}
+
+		_empty = false;
+	}
+
+	@Override
+	public synchronized void addSourceMismatchException(
+		SourceMismatchException sourceMismatchException) {
+
+		_modifiedFileNames.add(sourceMismatchException.getFileName());
+
+		_empty = false;
+	}
+
+	@Override
+	public synchronized void close() throws IOException {
+		if (!_empty) {
+			FileUtil.write(_file, _getContent());
+		}
+	}
+
+	private String _getContent() {
+		JSONObject jsonObject = new JSONObjectImpl();
+
+		JSONArray modifiedFilesJSONArray = new JSONArrayImpl();
+
+		for (String modifiedFileName : _modifiedFileNames) {
+			modifiedFilesJSONArray.put(modifiedFileName);
+		}
+
+		jsonObject.put("modifiedFileNames", modifiedFilesJSONArray);
+
+		JSONArray checksJSONArray = new JSONArrayImpl();
+
+		JSONObject checkJSONObject = null;
+		String currentCheckName = null;
+		JSONArray violationsJSONArray = null;
+
+		int violationsCount = 0;
+
+		for (SourceFormatterMessage sourceFormatterMessage :
+				_sourceFormatterMessages) {
+
+			String checkName = sourceFormatterMessage.getCheckName();
+
+			if (!Objects.equals(checkName, currentCheckName)) {
+				if (currentCheckName != null) {
+					checkJSONObject.put("violations", violationsJSONArray);
+
+					checksJSONArray.put(checkJSONObject);
+				}
+
+				checkJSONObject = new JSONObjectImpl();
+
+				checkJSONObject.put("name", checkName);
+
+				String documentationURLString =
+					sourceFormatterMessage.getDocumentationURLString();
+
+				if (documentationURLString != null) {
+					checkJSONObject.put(
+						"documentationURLString",
+						sourceFormatterMessage.getDocumentationURLString());
+				}
+
+				violationsJSONArray = new JSONArrayImpl();
+
+				currentCheckName = checkName;
+			}
+
+			JSONObject violationJSONObject = new JSONObjectImpl();
+
+			violationJSONObject.put(
+				"fileName", sourceFormatterMessage.getFileName()
+			).put(
+				"lineNumber", sourceFormatterMessage.getLineNumber()
+			).put(
+				"message", sourceFormatterMessage.getMessage()
+			);
+
+			violationsCount++;
+
+			violationsJSONArray.put(violationJSONObject);
+		}
+
+		if (checkJSONObject != null) {
+			checkJSONObject.put("violations", violationsJSONArray);
+
+			checksJSONArray.put(checkJSONObject);
+
+			jsonObject.put("checks", checksJSONArray);
+		}
+
+		jsonObject.put("violationsCount", violationsCount);
+
+		return JSONUtil.toString(jsonObject);
+	}
+
+	private boolean _empty = true;
+	private final File _file;
+	private final List<String> _modifiedFileNames = new ArrayList<>();
+	private final Set<SourceFormatterMessage> _sourceFormatterMessages =
+		new TreeSet<>(new SourceFormatterMessageCheckNameComparator());
+
+	private static class SourceFormatterMessageCheckNameComparator
+		implements Comparator<SourceFormatterMessage> {
+
+		@Override
+		public int compare(
+			SourceFormatterMessage sourceFormatterMessage1,
+			SourceFormatterMessage sourceFormatterMessage2) {
+
+			String checkName1 = sourceFormatterMessage1.getCheckName();
+			String checkName2 = sourceFormatterMessage2.getCheckName();
+
+			if ((checkName1 != null) && (checkName2 != null) &&
+				!checkName1.equals(checkName2)) {
+
+				return checkName1.compareTo(checkName2);
+			}
+
+			return sourceFormatterMessage1.compareTo(sourceFormatterMessage2);
+		}
+
+	}
+
+}
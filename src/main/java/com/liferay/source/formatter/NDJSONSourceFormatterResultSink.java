@@ -0,0 +1,80 @@
+/**
+ * SPDX-FileCopyrightText: (c) 2000 Liferay, Inc. https://liferay.com
+ * SPDX-License-Identifier: LGPL-2.1-or-later OR LicenseRef-Liferay-DXP-EULA-2.0.0-2023-06
+ */
+
+package com.liferay.source.formatter;
+
+import com.liferay.portal.json.JSONArrayImpl;
+import com.liferay.portal.json.JSONObjectImpl;
+import com.liferay.portal.kernel.json.JSONArray;
+import com.liferay.portal.kernel.json.JSONObject;
+import com.liferay.source.formatter.exception.SourceMismatchException;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Writes every violation and modification as a single line JSON object, in
+ * the order they are received. Modifications include the names of the checks
+ * that made them and the unified diff of the file.
+ *
+ * @author Hugo Huijser
+ */
+public class NDJSONSourceFormatterResultSink
+	extends BaseWriterSourceFormatterResultSink {
+
+	public NDJSONSourceFormatterResultSink(File file) throws IOException {
+		super(file);
+	}
+
+	@Override
+	public void addSourceFormatterMessage(
+		SourceFormatterMessage sourceFormatterMessage) {
+
+		JSONObject jsonObject = new JSONObjectImpl();
+
+		jsonObject.put(
+			"checkName", sourceFormatterMessage.getCheckName()
+		).put(
+			"documentationURLString",
+			sourceFormatterMessage.getDocumentationURLString()
+		).put(
+			"fileName", sourceFormatterMessage.getFileName()
+		).put(
+			"lineNumber", sourceFormatterMessage.getLineNumber()
+		).put(
+			"message", sourceFormatterMessage.getMessage()
+		).put(
+			"type", "violation"
+		);
+
+		write(jsonObject.toString() + "\n");
+	}
+
+	@Override
+	public void addSourceMismatchException(
+		SourceMismatchException sourceMismatchException) {
+
+		JSONArray checkNamesJSONArray = new JSONArrayImpl();
+
+		for (String checkName : sourceMismatchException.getCheckNames()) {
+			checkNamesJSONArray.put(checkName);
+		}
+
+		JSONObject jsonObject = new JSONObjectImpl();
+
+		jsonObject.put(
+			"checkNames", checkNamesJSONArray
+		).put(
+			"diff", sourceMismatchException.getDiff()
+		).put(
+			"fileName", sourceMismatchException.getFileName()
+		).put(
+			"type", "modification"
+		);
+
+		write(jsonObject.toString() + "\n");
+	}
+
+}
@@ -0,0 +1,188 @@
+/**
+ * SPDX-FileCopyrightText: (c) 2000 Liferay, Inc. https://liferay.com
+ * SPDX-License-Identifier: LGPL-2.1-or-later OR LicenseRef-Liferay-DXP-EULA-2.0.0-2023-06
+ */
+
+package com.liferay.source.formatter;
+
+import com.liferay.petra.string.StringBundler;
+import com.liferay.petra.string.StringPool;
+import com.liferay.portal.json.JSONArrayImpl;
+import com.liferay.portal.json.JSONObjectImpl;
+import com.liferay.portal.kernel.json.JSONArray;
+import com.liferay.portal.kernel.json.JSONObject;
+import com.liferay.source.formatter.check.util.SourceUtil;
+import com.liferay.source.formatter.exception.SourceMismatchException;
+
+import java.io.File;
+import java.io.IOException;
+
+import java.net.URI;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Writes the violations and modifications as the results of a single SARIF
+ * 2.1.0 run. The results are written as they are received, and the document
+ * is completed when the sink is closed. Files inside the base directory are
+ * referred to by a URI relative to the <code>SRCROOT</code> base URI, other
+ * files by their absolute <code>file:</code> URI.
+ *
+ * @author Hugo Huijser
+ */
+public class SARIFSourceFormatterResultSink
+	extends BaseWriterSourceFormatterResultSink {
+
+	public SARIFSourceFormatterResultSink(File file, String baseDirName)
+		throws IOException {
+
+		super(file);
+
+		_baseDirURI = _getDirURI(baseDirName);
+
+		JSONObject driverJSONObject = new JSONObjectImpl();
+
+		driverJSONObject.put("name", "Liferay Source Formatter");
+
+		JSONObject toolJSONObject = new JSONObjectImpl();
+
+		toolJSONObject.put("driver", driverJSONObject);
+
+		JSONObject srcRootJSONObject = new JSONObjectImpl();
+
+		srcRootJSONObject.put("uri", _baseDirURI.toString());
+
+		JSONObject originalURIBaseIdsJSONObject = new JSONObjectImpl();
+
+		originalURIBaseIdsJSONObject.put(_SRC_ROOT, srcRootJSONObject);
+
+		write(
+			StringBundler.concat(
+				"{\"$schema\":\"", _SCHEMA_URL, "\",\"runs\":[{",
+				"\"originalUriBaseIds\":", originalURIBaseIdsJSONObject,
+				",\"tool\":", toolJSONObject, ",\"results\":["));
+	}
+
+	@Override
+	public void addSourceFormatterMessage(
+		SourceFormatterMessage sourceFormatterMessage) {
+
+		_addResult(
+			sourceFormatterMessage.getCheckName(), "warning",
+			sourceFormatterMessage.getMessage(),
+			sourceFormatterMessage.getFileName(),
+			sourceFormatterMessage.getLineNumber());
+	}
+
+	@Override
+	public void addSourceMismatchException(
+		SourceMismatchException sourceMismatchException) {
+
+		_addResult(
+			null, "note", "File was modified by the source formatter",
+			sourceMismatchException.getFileName(), -1);
+	}
+
+	@Override
+	public synchronized void close() throws IOException {
+		write("]}],\"version\":\"2.1.0\"}\n");
+
+		super.close();
+	}
+
+	private synchronized void _addResult(
+		String checkName, String level, String message, String fileName,
+		int lineNumber) {
+
+		JSONObject physicalLocationJSONObject = new JSONObjectImpl();
+
+		JSONObject artifactLocationJSONObject = new JSONObjectImpl();
+
+		Path filePath = Paths.get(SourceUtil.getAbsolutePath(fileName));
+
+		URI fileURI = filePath.toUri();
+
+		URI relativeFileURI = _baseDirURI.relativize(fileURI);
+
+		if (relativeFileURI.isAbsolute()) {
+			artifactLocationJSONObject.put("uri", fileURI.toString());
+		}
+		else {
+			artifactLocationJSONObject.put(
+				"uri", relativeFileURI.toString()
+			).put(
+				"uriBaseId", _SRC_ROOT
+			);
+		}
+
+		physicalLocationJSONObject.put(
+			"artifactLocation", artifactLocationJSONObject);
+
+		if (lineNumber > 0) {
+			JSONObject regionJSONObject = new JSONObjectImpl();
+
+			regionJSONObject.put("startLine", lineNumber);
+
+			physicalLocationJSONObject.put("region", regionJSONObject);
+		}
+
+		JSONObject locationJSONObject = new JSONObjectImpl();
+
+		locationJSONObject.put("physicalLocation", physicalLocationJSONObject);
+
+		JSONArray locationsJSONArray = new JSONArrayImpl();
+
+		locationsJSONArray.put(locationJSONObject);
+
+		JSONObject messageJSONObject = new JSONObjectImpl();
+
+		messageJSONObject.put("text", message);
+
+		JSONObject resultJSONObject = new JSONObjectImpl();
+
+		resultJSONObject.put(
+			"level", level
+		).put(
+			"locations", locationsJSONArray
+		).put(
+			"message", messageJSONObject
+		);
+
+		if (checkName != null) {
+			resultJSONObject.put("ruleId", checkName);
+		}
+
+		if (_resultsCount > 0) {
+			write("," + resultJSONObject.toString());
+		}
+		else {
+			write(resultJSONObject.toString());
+		}
+
+		_resultsCount++;
+	}
+
+	private URI _getDirURI(String dirName) {
+		Path dirPath = Paths.get(SourceUtil.getAbsolutePath(dirName));
+
+		URI dirURI = dirPath.toUri();
+
+		String dirURIString = dirURI.toString();
+
+		if (dirURIString.endsWith(StringPool.SLASH)) {
+			return dirURI;
+		}
+
+		return URI.create(dirURIString + StringPool.SLASH);
+	}
+
+	private static final String _SCHEMA_URL =
+		"https://json.schemastore.org/sarif-2.1.0.json";
+
+	private static final String _SRC_ROOT = "SRCROOT";
+
+	private final URI _baseDirURI;
+	private int _resultsCount;
+
+}
@@ -8,26 +8,26 @@ package com.liferay.source.formatter;
 import com.liferay.petra.string.CharPool;
 import com.liferay.petra.string.StringBundler;
 import com.liferay.petra.string.StringPool;
-import com.liferay.portal.json.JSONArrayImpl;
-import com.liferay.portal.json.JSONObjectImpl;
-import com.liferay.portal.kernel.json.JSONArray;
-import com.liferay.portal.kernel.json.JSONObject;
-import com.liferay.portal.kernel.json.JSONUtil;
 import com.liferay.portal.kernel.util.ArrayUtil;
 import com.liferay.portal.kernel.util.GetterUtil;
 import com.liferay.portal.kernel.util.ListUtil;
+import com.liferay.portal.kernel.util.SetUtil;
 import com.liferay.portal.kernel.util.StringUtil;
+import com.liferay.portal.kernel.util.SystemProperties;
 import com.liferay.portal.tools.ArgumentsUtil;
 import com.liferay.portal.tools.GitException;
 import com.liferay.portal.tools.GitUtil;
 import com.liferay.portal.tools.ToolsUtil;
+import com.liferay.source.formatter.check.LibraryVulnerabilitiesCheck;
 import com.liferay.source.formatter.check.configuration.ConfigurationLoader;
 import com.liferay.source.formatter.check.configuration.SourceCheckConfiguration;
 import com.liferay.source.formatter.check.configuration.SourceFormatterConfiguration;
 import com.liferay.source.formatter.check.configuration.SourceFormatterSuppressions;
 import com.liferay.source.formatter.check.configuration.SuppressionsLoader;
+import com.liferay.source.formatter.check.util.LanguageKeysIndex;
+import com.liferay.source.formatter.check.util.ModuleModel;
 import com.liferay.source.formatter.check.util.SourceUtil;
-import com.liferay.source.formatter.exception.SourceMismatchException;
+import com.liferay.source.formatter.parser.JavaClassParser;
 import com.liferay.source.formatter.processor.BNDRunSourceProcessor;
 import com.liferay.source.formatter.processor.BNDSourceProcessor;
 import com.liferay.source.formatter.processor.CETSourceProcessor;
@@ -68,30 +68,32 @@ import com.liferay.source.formatter.processor.XMLSourceProcessor;
 import com.liferay.source.formatter.processor.YMLSourceProcessor;
 import com.liferay.source.formatter.util.CheckType;
 import com.liferay.source.formatter.util.DebugUtil;
+import com.liferay.source.formatter.util.FileNamesIndex;
+import com.liferay.source.formatter.util.FileTaskScheduler;
 import com.liferay.source.formatter.util.FileUtil;
 import com.liferay.source.formatter.util.JIRAUtil;
+import com.liferay.source.formatter.util.PortalAPIIndex;
+import com.liferay.source.formatter.util.PortalJSONObjectUtil;
 import com.liferay.source.formatter.util.SourceFormatterUtil;
 
 import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
 
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.IOException;
 import java.io.StringReader;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Properties;
+import java.util.Queue;
 import java.util.Set;
-import java.util.TreeSet;
 import java.util.concurrent.Callable;
-import java.util.concurrent.ConcurrentSkipListSet;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -254,6 +256,10 @@ public class SourceFormatter {
 				Math.max(
 					ToolsUtil.PORTAL_MAX_DIR_LEVEL,
 					StringUtil.count(baseDirName, CharPool.SLASH) + 1));
+			sourceFormatterArgs.setNDJSONOutputFileName(
+				ArgumentsUtil.getString(
+					arguments, "ndjson.output.file.name",
+					SourceFormatterArgs.NDJSON_OUTPUT_FILE_NAME));
 			sourceFormatterArgs.setOutputFileName(
 				ArgumentsUtil.getString(
 					arguments, "output.file.name",
@@ -266,6 +272,10 @@ public class SourceFormatter {
 				ArgumentsUtil.getInteger(
 					arguments, "processor.thread.count",
 					SourceFormatterArgs.PROCESSOR_THREAD_COUNT));
+			sourceFormatterArgs.setSARIFOutputFileName(
+				ArgumentsUtil.getString(
+					arguments, "sarif.output.file.name",
+					SourceFormatterArgs.SARIF_OUTPUT_FILE_NAME));
 			sourceFormatterArgs.setShowDebugInformation(
 				ArgumentsUtil.getBoolean(
 					arguments, "show.debug.information",
@@ -291,6 +301,10 @@ public class SourceFormatter {
 					Arrays.asList(sourceFormatterProperties));
 			}
 
+			sourceFormatterArgs.setUseResultCache(
+				ArgumentsUtil.getBoolean(
+					arguments, "use.result.cache",
+					SourceFormatterArgs.USE_RESULT_CACHE));
 			sourceFormatterArgs.setValidateCommitMessages(
 				ArgumentsUtil.getBoolean(
 					arguments, "validate.commit.messages",
@@ -328,166 +342,36 @@ public class SourceFormatter {
 	}
 
 	public void format() throws Exception {
-		System.setProperty(
-			"javax.xml.parsers.SAXParserFactory",
-			"org.apache.xerces.jaxp.SAXParserFactoryImpl");
-
-		_init();
-
-		if (_sourceFormatterArgs.isValidateCommitMessages()) {
-			_validateCommitMessages();
-		}
-
-		_validatePullModeChanges();
-
-		if (!_sourceFormatterArgs.isJavaParserEnabled()) {
-			System.out.println(
-				StringBundler.concat(
-					"WARNING: Setting property 'java.parser.enabled' to ",
-					"'false' may prevent certain Java/JSP checks from working ",
-					"properly."));
-		}
-
-		_sourceProcessors.add(new BNDRunSourceProcessor());
-		_sourceProcessors.add(new BNDSourceProcessor());
-		_sourceProcessors.add(new CIMergeAndGitRepoSourceProcessor());
-		_sourceProcessors.add(new CodeownersSourceProcessor());
-		_sourceProcessors.add(new ConfigSourceProcessor());
-		_sourceProcessors.add(new CQLSourceProcessor());
-		_sourceProcessors.add(new CSSSourceProcessor());
-		_sourceProcessors.add(new DockerfileSourceProcessor());
-		_sourceProcessors.add(new DTDSourceProcessor());
-		_sourceProcessors.add(new FTLSourceProcessor());
-		_sourceProcessors.add(new GradleSourceProcessor());
-		_sourceProcessors.add(new GroovySourceProcessor());
-		_sourceProcessors.add(new HTMLSourceProcessor());
-		_sourceProcessors.add(new JavaSourceProcessor());
-		_sourceProcessors.add(new JSONSourceProcessor());
-		_sourceProcessors.add(new JSPSourceProcessor());
-		_sourceProcessors.add(new JSSourceProcessor());
-		_sourceProcessors.add(new LDIFSourceProcessor());
-		_sourceProcessors.add(new LFRBuildSourceProcessor());
-		_sourceProcessors.add(new LibrarySourceProcessor());
-		_sourceProcessors.add(new ListSourceProcessor());
-		_sourceProcessors.add(new MarkdownSourceProcessor());
-		_sourceProcessors.add(new PackageinfoSourceProcessor());
-		_sourceProcessors.add(new PoshiSourceProcessor());
-		_sourceProcessors.add(new PropertiesSourceProcessor());
-		_sourceProcessors.add(new PythonSourceProcessor());
-		_sourceProcessors.add(new SHSourceProcessor());
-		_sourceProcessors.add(new SoySourceProcessor());
-		_sourceProcessors.add(new SQLSourceProcessor());
-		_sourceProcessors.add(new TFSourceProcessor());
-		_sourceProcessors.add(new TLDSourceProcessor());
-		_sourceProcessors.add(new TSSourceProcessor());
-		_sourceProcessors.add(new TXTSourceProcessor());
-		_sourceProcessors.add(new UpgradeSourceProcessor());
-		_sourceProcessors.add(new XMLSourceProcessor());
-		_sourceProcessors.add(new YMLSourceProcessor());
-
-		_sourceProcessors.add(new CETSourceProcessor());
-
-		ExecutorService executorService = Executors.newFixedThreadPool(
-			_sourceProcessors.size());
-
-		List<Future<Void>> futures = new ArrayList<>(_sourceProcessors.size());
-
-		for (final SourceProcessor sourceProcessor : _sourceProcessors) {
-			Future<Void> future = executorService.submit(
-				new Callable<Void>() {
-
-					@Override
-					public Void call() throws Exception {
-						_runSourceProcessor(sourceProcessor);
-
-						return null;
-					}
-
-				});
-
-			futures.add(future);
-		}
+		_startRun(_sourceFormatterArgs.isShowDebugInformation());
 
-		ExecutionException executionException1 = null;
-
-		for (Future<Void> future : futures) {
-			try {
-				future.get();
-			}
-			catch (ExecutionException executionException2) {
-				if (executionException1 == null) {
-					executionException1 = executionException2;
-				}
-				else {
-					executionException1.addSuppressed(executionException2);
-				}
-			}
-		}
-
-		executorService.shutdown();
-
-		while (!executorService.isTerminated()) {
-			Thread.sleep(20);
-		}
-
-		if (_sourceFormatterArgs.isShowDebugInformation()) {
-			DebugUtil.printSourceFormatterInformation();
-		}
-
-		if (executionException1 != null) {
-			throw executionException1;
-		}
-
-		if (!_sourceFormatterMessages.isEmpty() ||
-			!_sourceMismatchExceptions.isEmpty()) {
-
-			String outputFileName = _sourceFormatterArgs.getOutputFileName();
-
-			if (outputFileName != null) {
-				File file = null;
-
-				int pos = outputFileName.lastIndexOf(File.separator);
-
-				if (pos != -1) {
-					File directory = new File(outputFileName.substring(0, pos));
-
-					if (directory.exists()) {
-						file = new File(outputFileName);
-					}
-				}
-
-				if (file == null) {
-					file = new File(
-						_sourceFormatterArgs.getBaseDirName() + outputFileName);
-				}
-
-				FileUtil.write(file, _getOutputFileContent());
-			}
+		try {
+			_format();
 		}
-
-		if ((_sourceFormatterArgs.isFailOnAutoFix() &&
-			 !_sourceMismatchExceptions.isEmpty()) ||
-			(_sourceFormatterArgs.isFailOnHasWarning() &&
-			 !_sourceFormatterMessages.isEmpty())) {
-
-			throw new Exception(_getExceptionMessage());
+		finally {
+			_finishRun();
 		}
 	}
 
 	public List<String> getModifiedFileNames() {
-		return _modifiedFileNames;
+		return new ArrayList<>(_modifiedFileNames);
 	}
 
 	public SourceFormatterArgs getSourceFormatterArgs() {
 		return _sourceFormatterArgs;
 	}
 
-	public Set<SourceFormatterMessage> getSourceFormatterMessages() {
-		return _sourceFormatterMessages;
+	public int getSourceFormatterMessagesCount() {
+		return _summarySourceFormatterResultSink.
+			getSourceFormatterMessagesCount();
+	}
+
+	public int getSourceMismatchExceptionsCount() {
+		return _summarySourceFormatterResultSink.
+			getSourceMismatchExceptionsCount();
 	}
 
-	public List<SourceMismatchException> getSourceMismatchExceptions() {
-		return _sourceMismatchExceptions;
+	private static synchronized void _finishRun() {
+		_activeRunsCount--;
 	}
 
 	private static CheckstyleException _getNestedCheckstyleException(
@@ -508,6 +392,22 @@ public class SourceFormatter {
 		}
 	}
 
+	/**
+	 * Clears the static caches that are shared by the checks, unless another
+	 * run of Source Formatter in the same JVM is still using them.
+	 */
+	private static synchronized void _startRun(boolean showDebugInformation) {
+		if (_activeRunsCount == 0) {
+			JavaClassParser.clearStatistics(showDebugInformation);
+			LanguageKeysIndex.clear();
+			ModuleModel.clear();
+			PortalAPIIndex.clear();
+			PortalJSONObjectUtil.clear();
+		}
+
+		_activeRunsCount++;
+	}
+
 	private Set<String> _addDependentFileName(
 		Set<String> dependentFileNames, String fileName) {
 
@@ -699,6 +599,45 @@ public class SourceFormatter {
 			dependentFileNames, null);
 	}
 
+	private void _closeSourceFormatterResultSinks(Exception exception)
+		throws IOException {
+
+		IOException ioException1 = null;
+
+		for (SourceFormatterResultSink sourceFormatterResultSink :
+				_sourceFormatterResultSinks) {
+
+			// The JSON report is only written for runs that completed, like
+			// before it became a sink
+
+			if ((exception != null) &&
+				(sourceFormatterResultSink instanceof
+					JSONSourceFormatterResultSink)) {
+
+				continue;
+			}
+
+			try {
+				sourceFormatterResultSink.close();
+			}
+			catch (IOException ioException2) {
+				if (exception != null) {
+					exception.addSuppressed(ioException2);
+				}
+				else if (ioException1 == null) {
+					ioException1 = ioException2;
+				}
+				else {
+					ioException1.addSuppressed(ioException2);
+				}
+			}
+		}
+
+		if (ioException1 != null) {
+			throw ioException1;
+		}
+	}
+
 	private boolean _containsDir(String dirName) {
 		File directory = SourceFormatterUtil.getFile(
 			_sourceFormatterArgs.getBaseDirName(), dirName,
@@ -737,6 +676,167 @@ public class SourceFormatter {
 		}
 	}
 
+	private void _format() throws Exception {
+		System.setProperty(
+			"javax.xml.parsers.SAXParserFactory",
+			"org.apache.xerces.jaxp.SAXParserFactoryImpl");
+
+		_init();
+
+		if (_sourceFormatterArgs.isValidateCommitMessages()) {
+			_validateCommitMessages();
+		}
+
+		_validatePullModeChanges();
+
+		if (!_sourceFormatterArgs.isJavaParserEnabled()) {
+			System.out.println(
+				StringBundler.concat(
+					"WARNING: Setting property 'java.parser.enabled' to ",
+					"'false' may prevent certain Java/JSP checks from working ",
+					"properly."));
+		}
+
+		_sourceProcessors.add(new BNDRunSourceProcessor());
+		_sourceProcessors.add(new BNDSourceProcessor());
+		_sourceProcessors.add(new CIMergeAndGitRepoSourceProcessor());
+		_sourceProcessors.add(new CodeownersSourceProcessor());
+		_sourceProcessors.add(new ConfigSourceProcessor());
+		_sourceProcessors.add(new CQLSourceProcessor());
+		_sourceProcessors.add(new CSSSourceProcessor());
+		_sourceProcessors.add(new DockerfileSourceProcessor());
+		_sourceProcessors.add(new DTDSourceProcessor());
+		_sourceProcessors.add(new FTLSourceProcessor());
+		_sourceProcessors.add(new GradleSourceProcessor());
+		_sourceProcessors.add(new GroovySourceProcessor());
+		_sourceProcessors.add(new HTMLSourceProcessor());
+		_sourceProcessors.add(new JavaSourceProcessor());
+		_sourceProcessors.add(new JSONSourceProcessor());
+		_sourceProcessors.add(new JSPSourceProcessor());
+		_sourceProcessors.add(new JSSourceProcessor());
+		_sourceProcessors.add(new LDIFSourceProcessor());
+		_sourceProcessors.add(new LFRBuildSourceProcessor());
+		_sourceProcessors.add(new LibrarySourceProcessor());
+		_sourceProcessors.add(new ListSourceProcessor());
+		_sourceProcessors.add(new MarkdownSourceProcessor());
+		_sourceProcessors.add(new PackageinfoSourceProcessor());
+		_sourceProcessors.add(new PoshiSourceProcessor());
+		_sourceProcessors.add(new PropertiesSourceProcessor());
+		_sourceProcessors.add(new PythonSourceProcessor());
+		_sourceProcessors.add(new SHSourceProcessor());
+		_sourceProcessors.add(new SoySourceProcessor());
+		_sourceProcessors.add(new SQLSourceProcessor());
+		_sourceProcessors.add(new TFSourceProcessor());
+		_sourceProcessors.add(new TLDSourceProcessor());
+		_sourceProcessors.add(new TSSourceProcessor());
+		_sourceProcessors.add(new TXTSourceProcessor());
+		_sourceProcessors.add(new UpgradeSourceProcessor());
+		_sourceProcessors.add(new XMLSourceProcessor());
+		_sourceProcessors.add(new YMLSourceProcessor());
+
+		_sourceProcessors.add(new CETSourceProcessor());
+
+		_fileTaskScheduler = new FileTaskScheduler(
+			Math.max(
+				Runtime.getRuntime(
+				).availableProcessors(),
+				_sourceFormatterArgs.getProcessorThreadCount()));
+
+		_initSourceFormatterResultSinks();
+
+		ExecutorService executorService = Executors.newFixedThreadPool(
+			_sourceProcessors.size());
+
+		List<Future<Void>> futures = new ArrayList<>(_sourceProcessors.size());
+
+		for (final SourceProcessor sourceProcessor : _sourceProcessors) {
+			Future<Void> future = executorService.submit(
+				new Callable<Void>() {
+
+					@Override
+					public Void call() throws Exception {
+						_runSourceProcessor(sourceProcessor);
+
+						return null;
+					}
+
+				});
+
+			futures.add(future);
+		}
+
+		ExecutionException executionException1 = null;
+
+		try {
+			for (Future<Void> future : futures) {
+				try {
+					future.get();
+				}
+				catch (ExecutionException executionException2) {
+					if (executionException1 == null) {
+						executionException1 = executionException2;
+					}
+					else {
+						executionException1.addSuppressed(executionException2);
+					}
+				}
+			}
+
+			executorService.shutdown();
+
+			while (!executorService.isTerminated()) {
+				Thread.sleep(20);
+			}
+
+			_fileTaskScheduler.shutdown();
+
+			LibraryVulnerabilitiesCheck.saveVulnerabilitiesCache();
+
+			if (_sourceFormatterArgs.isShowDebugInformation()) {
+				DebugUtil.addCacheStatistics(
+					"JavaClassParser", JavaClassParser.getHitCount(),
+					JavaClassParser.getMissCount());
+				DebugUtil.addCacheStatistics(
+					"ModuleModel", ModuleModel.getHitCount(),
+					ModuleModel.getMissCount());
+				DebugUtil.addCacheStatistics(
+					"XMLDocument", SourceUtil.getXMLDocumentHitCount(),
+					SourceUtil.getXMLDocumentMissCount());
+				DebugUtil.addParseCounts(JavaClassParser.getParseCounts());
+				DebugUtil.setSchedulerInformation(
+					_fileTaskScheduler.getMaxQueueSize(),
+					_fileTaskScheduler.getWorkerUtilizations());
+
+				DebugUtil.printSourceFormatterInformation();
+			}
+
+			if (executionException1 != null) {
+				throw executionException1;
+			}
+		}
+		finally {
+			_closeSourceFormatterResultSinks(executionException1);
+		}
+
+		if (_sourceFormatterResultCache != null) {
+			boolean processedAllFiles =
+				(_sourceFormatterArgs.getFileNames() == null) &&
+				ListUtil.isEmpty(_sourceFormatterArgs.getFileExtensions()) &&
+				SetUtil.isEmpty(
+					_sourceFormatterArgs.getRecentChangesFileNames());
+
+			_sourceFormatterResultCache.save(processedAllFiles);
+		}
+
+		if ((_sourceFormatterArgs.isFailOnAutoFix() &&
+			 (getSourceMismatchExceptionsCount() > 0)) ||
+			(_sourceFormatterArgs.isFailOnHasWarning() &&
+			 (getSourceFormatterMessagesCount() > 0))) {
+
+			throw new Exception(_getExceptionMessage());
+		}
+	}
+
 	private List<String> _getCheckNames() {
 		List<String> checkNames = new ArrayList<>();
 
@@ -755,16 +855,20 @@ public class SourceFormatter {
 	}
 
 	private String _getExceptionMessage() {
-		int size =
-			_sourceFormatterMessages.size() + _sourceMismatchExceptions.size();
+		Set<SourceFormatterMessage> sourceFormatterMessages =
+			_summarySourceFormatterResultSink.getSourceFormatterMessages();
+		List<String> sourceMismatchMessages =
+			_summarySourceFormatterResultSink.getSourceMismatchMessages();
 
-		StringBundler sb = new StringBundler(size * 4);
+		StringBundler sb = new StringBundler(
+			(sourceFormatterMessages.size() + sourceMismatchMessages.size()) *
+				4);
 
 		int index = 1;
 
 		if (_sourceFormatterArgs.isFailOnHasWarning()) {
 			for (SourceFormatterMessage sourceFormatterMessage :
-					_sourceFormatterMessages) {
+					sourceFormatterMessages) {
 
 				sb.append(index);
 				sb.append(": ");
@@ -776,19 +880,13 @@ public class SourceFormatter {
 		}
 
 		if (_sourceFormatterArgs.isFailOnAutoFix()) {
-			for (SourceMismatchException sourceMismatchException :
-					_sourceMismatchExceptions) {
-
-				String message = sourceMismatchException.getMessage();
-
-				if (!Objects.isNull(message)) {
-					sb.append(index);
-					sb.append(": ");
-					sb.append(message);
-					sb.append("\n");
+			for (String sourceMismatchMessage : sourceMismatchMessages) {
+				sb.append(index);
+				sb.append(": ");
+				sb.append(sourceMismatchMessage);
+				sb.append("\n");
 
-					index = index + 1;
-				}
+				index = index + 1;
 			}
 		}
 
@@ -824,92 +922,18 @@ public class SourceFormatter {
 		return excludeSyntaxPatterns;
 	}
 
-	private String _getOutputFileContent() {
-		JSONObject jsonObject = new JSONObjectImpl();
-
-		JSONArray modifiedFilesJSONArray = new JSONArrayImpl();
-
-		for (SourceMismatchException sourceMismatchException :
-				_sourceMismatchExceptions) {
-
-			modifiedFilesJSONArray.put(sourceMismatchException.getFileName());
-		}
-
-		jsonObject.put("modifiedFileNames", modifiedFilesJSONArray);
-
-		JSONArray checksJSONArray = new JSONArrayImpl();
-
-		JSONObject checkJSONObject = null;
-		String currentCheckName = null;
-		JSONArray violationsJSONArray = null;
+	private File _getOutputFile(String outputFileName) {
+		int pos = outputFileName.lastIndexOf(File.separator);
 
-		Set<SourceFormatterMessage> sortedSourceFormatterMessages =
-			new TreeSet<>(new SourceFormatterMessageCheckNameComparator());
+		if (pos != -1) {
+			File directory = new File(outputFileName.substring(0, pos));
 
-		sortedSourceFormatterMessages.addAll(_sourceFormatterMessages);
-
-		int violationsCount = 0;
-
-		for (SourceFormatterMessage sourceFormatterMessage :
-				sortedSourceFormatterMessages) {
-
-			String checkName = sourceFormatterMessage.getCheckName();
-
-			if (checkName == null) {
-				continue;
-			}
-
-			if (!Objects.equals(checkName, currentCheckName)) {
-				if (currentCheckName != null) {
-					checkJSONObject.put("violations", violationsJSONArray);
-
-					checksJSONArray.put(checkJSONObject);
-				}
-
-				checkJSONObject = new JSONObjectImpl();
-
-				checkJSONObject.put("name", checkName);
-
-				String documentationURLString =
-					sourceFormatterMessage.getDocumentationURLString();
-
-				if (documentationURLString != null) {
-					checkJSONObject.put(
-						"documentationURLString",
-						sourceFormatterMessage.getDocumentationURLString());
-				}
-
-				violationsJSONArray = new JSONArrayImpl();
-
-				currentCheckName = checkName;
+			if (directory.exists()) {
+				return new File(outputFileName);
 			}
-
-			JSONObject violationJSONObject = new JSONObjectImpl();
-
-			violationJSONObject.put(
-				"fileName", sourceFormatterMessage.getFileName()
-			).put(
-				"lineNumber", sourceFormatterMessage.getLineNumber()
-			).put(
-				"message", sourceFormatterMessage.getMessage()
-			);
-
-			violationsCount++;
-
-			violationsJSONArray.put(violationJSONObject);
 		}
 
-		if (checkJSONObject != null) {
-			checkJSONObject.put("violations", violationsJSONArray);
-
-			checksJSONArray.put(checkJSONObject);
-
-			jsonObject.put("checks", checksJSONArray);
-		}
-
-		jsonObject.put("violationsCount", violationsCount);
-
-		return JSONUtil.toString(jsonObject);
+		return new File(_sourceFormatterArgs.getBaseDirName() + outputFileName);
 	}
 
 	private List<String> _getPluginsInsideModulesDirectoryNames() {
@@ -1018,6 +1042,54 @@ public class SourceFormatter {
 		return propertyValues;
 	}
 
+	private SourceFormatterResultCache _getSourceFormatterResultCache(
+		List<File> suppressionsFiles) {
+
+		SourceFormatterResultCache.Builder builder =
+			new SourceFormatterResultCache.Builder();
+
+		builder.addProperties(
+			_propertiesMap
+		).addResource(
+			"checkstyle.xml"
+		).addResource(
+			"checkstyle-jsp.xml"
+		).addResource(
+			"sourcechecks.xml"
+		).addValue(
+			_sourceFormatterArgs.getCheckCategoryNames()
+		).addValue(
+			_sourceFormatterArgs.getCheckNames()
+		).addValue(
+			_sourceFormatterArgs.getSkipCheckNames()
+		).addValue(
+			_sourceFormatterArgs.getMaxLineLength()
+		).addValue(
+			_sourceFormatterArgs.isIncludeGeneratedFiles()
+		).addValue(
+			_sourceFormatterArgs.isJavaParserEnabled()
+		).addValue(
+			_portalSource
+		).addValue(
+			_subrepository
+		);
+
+		for (File suppressionsFile : suppressionsFiles) {
+			builder.addFile(suppressionsFile);
+		}
+
+		File cacheFile = new File(
+			StringBundler.concat(
+				SystemProperties.get(SystemProperties.TMP_DIR), File.separator,
+				"source-formatter-",
+				SourceFormatterResultCache.getHash(
+					SourceUtil.getAbsolutePath(
+						_sourceFormatterArgs.getBaseDirName())),
+				".json"));
+
+		return new SourceFormatterResultCache(cacheFile, builder.build());
+	}
+
 	private void _init() throws Exception {
 		_sourceFormatterExcludes.addDefaultExcludeSyntaxPatterns(
 			ListUtil.fromArray(
@@ -1089,6 +1161,8 @@ public class SourceFormatter {
 			_sourceFormatterExcludes,
 			_sourceFormatterArgs.isIncludeSubrepositories());
 
+		_allFileNamesIndex = new FileNamesIndex(_allFileNames);
+
 		// Find properties file in any child directory
 
 		List<String> modulePropertiesFileNames =
@@ -1140,22 +1214,67 @@ public class SourceFormatter {
 
 		_projectPathPrefix = _getProjectPathPrefix();
 
+		List<File> suppressionsFiles = SourceFormatterUtil.getSuppressionsFiles(
+			_sourceFormatterArgs.getBaseDirName(), _allFileNames,
+			_sourceFormatterExcludes, _sourceFormatterArgs.getMaxDirLevel());
+
 		_sourceFormatterSuppressions = SuppressionsLoader.loadSuppressions(
-			_sourceFormatterArgs.getBaseDirName(),
-			SourceFormatterUtil.getSuppressionsFiles(
-				_sourceFormatterArgs.getBaseDirName(), _allFileNames,
-				_sourceFormatterExcludes,
-				_sourceFormatterArgs.getMaxDirLevel()),
+			_sourceFormatterArgs.getBaseDirName(), suppressionsFiles,
 			_propertiesMap);
 
 		_sourceFormatterConfiguration = ConfigurationLoader.loadConfiguration(
 			"sourcechecks.xml");
 
+		if (_sourceFormatterArgs.isUseResultCache()) {
+			_sourceFormatterResultCache = _getSourceFormatterResultCache(
+				suppressionsFiles);
+		}
+
 		if (_sourceFormatterArgs.isShowDebugInformation()) {
 			DebugUtil.addCheckNames(CheckType.SOURCE_CHECK, _getCheckNames());
 		}
 	}
 
+	private void _initSourceFormatterResultSinks() throws IOException {
+
+		// Only the counts of the results are kept, unless the results are
+		// needed to report why the run failed
+
+		_summarySourceFormatterResultSink =
+			new SummarySourceFormatterResultSink(
+				_sourceFormatterArgs.isFailOnHasWarning(),
+				_sourceFormatterArgs.isFailOnAutoFix());
+
+		_sourceFormatterResultSinks.add(_summarySourceFormatterResultSink);
+
+		String outputFileName = _sourceFormatterArgs.getOutputFileName();
+
+		if (outputFileName != null) {
+			_sourceFormatterResultSinks.add(
+				new JSONSourceFormatterResultSink(
+					_getOutputFile(outputFileName)));
+		}
+
+		String ndjsonOutputFileName =
+			_sourceFormatterArgs.getNDJSONOutputFileName();
+
+		if (ndjsonOutputFileName != null) {
+			_sourceFormatterResultSinks.add(
+				new NDJSONSourceFormatterResultSink(
+					_getOutputFile(ndjsonOutputFileName)));
+		}
+
+		String sarifOutputFileName =
+			_sourceFormatterArgs.getSARIFOutputFileName();
+
+		if (sarifOutputFileName != null) {
+			_sourceFormatterResultSinks.add(
+				new SARIFSourceFormatterResultSink(
+					_getOutputFile(sarifOutputFileName),
+					_sourceFormatterArgs.getBaseDirName()));
+		}
+	}
+
 	private boolean _isFeatureFlagChanges() throws Exception {
 		String currentBranchDiff = GitUtil.getCurrentBranchDiff(
 			_sourceFormatterArgs.getBaseDirName(),
@@ -1291,6 +1410,8 @@ public class SourceFormatter {
 		throws Exception {
 
 		sourceProcessor.setAllFileNames(_allFileNames);
+		sourceProcessor.setAllFileNamesIndex(_allFileNamesIndex);
+		sourceProcessor.setFileTaskScheduler(_fileTaskScheduler);
 		sourceProcessor.setPluginsInsideModulesDirectoryNames(
 			_pluginsInsideModulesDirectoryNames);
 		sourceProcessor.setPortalSource(_portalSource);
@@ -1300,6 +1421,10 @@ public class SourceFormatter {
 		sourceProcessor.setSourceFormatterConfiguration(
 			_sourceFormatterConfiguration);
 		sourceProcessor.setSourceFormatterExcludes(_sourceFormatterExcludes);
+		sourceProcessor.setSourceFormatterResultCache(
+			_sourceFormatterResultCache);
+		sourceProcessor.setSourceFormatterResultSinks(
+			_sourceFormatterResultSinks);
 		sourceProcessor.setSourceFormatterSuppressions(
 			_sourceFormatterSuppressions);
 		sourceProcessor.setSubrepository(_subrepository);
@@ -1307,10 +1432,6 @@ public class SourceFormatter {
 		sourceProcessor.format();
 
 		_modifiedFileNames.addAll(sourceProcessor.getModifiedFileNames());
-		_sourceFormatterMessages.addAll(
-			sourceProcessor.getSourceFormatterMessages());
-		_sourceMismatchExceptions.addAll(
-			sourceProcessor.getSourceMismatchExceptions());
 	}
 
 	private void _validateCommitMessages() throws Exception {
@@ -1425,9 +1546,13 @@ public class SourceFormatter {
 
 	private static final int _SUBREPOSITORY_MAX_DIR_LEVEL = 3;
 
+	private static int _activeRunsCount;
+
 	private List<String> _allFileNames;
-	private final List<String> _modifiedFileNames =
-		new CopyOnWriteArrayList<>();
+	private FileNamesIndex _allFileNamesIndex;
+	private FileTaskScheduler _fileTaskScheduler;
+	private final Queue<String> _modifiedFileNames =
+		new ConcurrentLinkedQueue<>();
 	private List<String> _pluginsInsideModulesDirectoryNames;
 	private boolean _portalSource;
 	private String _projectPathPrefix;
@@ -1436,34 +1561,12 @@ public class SourceFormatter {
 	private SourceFormatterConfiguration _sourceFormatterConfiguration;
 	private final SourceFormatterExcludes _sourceFormatterExcludes =
 		new SourceFormatterExcludes();
-	private final Set<SourceFormatterMessage> _sourceFormatterMessages =
-		new ConcurrentSkipListSet<>();
+	private SourceFormatterResultCache _sourceFormatterResultCache;
+	private final List<SourceFormatterResultSink> _sourceFormatterResultSinks =
+		new ArrayList<>();
 	private SourceFormatterSuppressions _sourceFormatterSuppressions;
-	private final List<SourceMismatchException> _sourceMismatchExceptions =
-		new CopyOnWriteArrayList<>();
 	private final List<SourceProcessor> _sourceProcessors = new ArrayList<>();
 	private boolean _subrepository;
-
-	private static class SourceFormatterMessageCheckNameComparator
-		implements Comparator<SourceFormatterMessage> {
-
-		@Override
-		public int compare(
-			SourceFormatterMessage sourceFormatterMessage1,
-			SourceFormatterMessage sourceFormatterMessage2) {
-
-			String checkName1 = sourceFormatterMessage1.getCheckName();
-			String checkName2 = sourceFormatterMessage2.getCheckName();
-
-			if ((checkName1 != null) && (checkName2 != null) &&
-				!checkName1.equals(checkName2)) {
-
-				return checkName1.compareTo(checkName2);
-			}
-
-			return sourceFormatterMessage1.compareTo(sourceFormatterMessage2);
-		}
-
-	}
+	private SummarySourceFormatterResultSink _summarySourceFormatterResultSink;
 
 }
\ No newline at end of file
@@ -48,6 +48,8 @@ public class SourceFormatterArgs {
 
 	public static final int MAX_LINE_LENGTH = 80;
 
+	public static final String NDJSON_OUTPUT_FILE_NAME = null;
+
 	public static final String OUTPUT_FILE_NAME = null;
 
 	public static final String OUTPUT_KEY_MODIFIED_FILES =
@@ -57,10 +59,14 @@ public class SourceFormatterArgs {
 
 	public static final int PROCESSOR_THREAD_COUNT = 5;
 
+	public static final String SARIF_OUTPUT_FILE_NAME = null;
+
 	public static final boolean SHOW_DEBUG_INFORMATION = false;
 
 	public static final boolean USE_CI_GITHUB_ACCESS_TOKEN = false;
 
+	public static final boolean USE_RESULT_CACHE = false;
+
 	public static final boolean VALIDATE_COMMIT_MESSAGES = false;
 
 	public void addRecentChangesFileNames(
@@ -120,6 +126,10 @@ public class SourceFormatterArgs {
 		return _maxLineLength;
 	}
 
+	public String getNDJSONOutputFileName() {
+		return _ndjsonOutputFileName;
+	}
+
 	public String getOutputFileName() {
 		return _outputFileName;
 	}
@@ -132,6 +142,10 @@ public class SourceFormatterArgs {
 		return _recentChangesFileNames;
 	}
 
+	public String getSARIFOutputFileName() {
+		return _sarifOutputFileName;
+	}
+
 	public List<String> getSkipCheckNames() {
 		return _skipCheckNames;
 	}
@@ -192,6 +206,10 @@ public class SourceFormatterArgs {
 		return _useCiGithubAccessToken;
 	}
 
+	public boolean isUseResultCache() {
+		return _useResultCache;
+	}
+
 	public boolean isValidateCommitMessages() {
 		return _validateCommitMessages;
 	}
@@ -301,6 +319,10 @@ public class SourceFormatterArgs {
 		_maxLineLength = maxLineLength;
 	}
 
+	public void setNDJSONOutputFileName(String ndjsonOutputFileName) {
+		_ndjsonOutputFileName = ndjsonOutputFileName;
+	}
+
 	public void setOutputFileName(String outputFileName) {
 		_outputFileName = outputFileName;
 	}
@@ -313,6 +335,10 @@ public class SourceFormatterArgs {
 		_processorThreadCount = processorThreadCount;
 	}
 
+	public void setSARIFOutputFileName(String sarifOutputFileName) {
+		_sarifOutputFileName = sarifOutputFileName;
+	}
+
 	public void setShowDebugInformation(boolean showDebugInformation) {
 		_showDebugInformation = showDebugInformation;
 	}
@@ -331,6 +357,10 @@ public class SourceFormatterArgs {
 		_useCiGithubAccessToken = useCiGithubAccessToken;
 	}
 
+	public void setUseResultCache(boolean useResultCache) {
+		_useResultCache = useResultCache;
+	}
+
 	public void setValidateCommitMessages(boolean validateCommitMessages) {
 		_validateCommitMessages = validateCommitMessages;
 	}
@@ -356,14 +386,17 @@ public class SourceFormatterArgs {
 	private boolean _javaParserEnabled = JAVA_PARSER_ENABLED;
 	private int _maxDirLevel = MAX_DIR_LEVEL;
 	private int _maxLineLength = MAX_LINE_LENGTH;
+	private String _ndjsonOutputFileName = NDJSON_OUTPUT_FILE_NAME;
 	private String _outputFileName = OUTPUT_FILE_NAME;
 	private boolean _printErrors = PRINT_ERRORS;
 	private int _processorThreadCount = PROCESSOR_THREAD_COUNT;
 	private final Set<String> _recentChangesFileNames = new HashSet<>();
+	private String _sarifOutputFileName = SARIF_OUTPUT_FILE_NAME;
 	private boolean _showDebugInformation = SHOW_DEBUG_INFORMATION;
 	private List<String> _skipCheckNames = new ArrayList<>();
 	private List<String> _sourceFormatterProperties = new ArrayList<>();
 	private boolean _useCiGithubAccessToken = USE_CI_GITHUB_ACCESS_TOKEN;
+	private boolean _useResultCache = USE_RESULT_CACHE;
 	private boolean _validateCommitMessages = VALIDATE_COMMIT_MESSAGES;
 
 }
\ No newline at end of file
@@ -0,0 +1,450 @@
+/**
+ * SPDX-FileCopyrightText: (c) 2000 Liferay, Inc. https://liferay.com
+ * SPDX-License-Identifier: LGPL-2.1-or-later OR LicenseRef-Liferay-DXP-EULA-2.0.0-2023-06
+ */
+
+package com.liferay.source.formatter;
+
+import com.liferay.petra.string.CharPool;
+import com.liferay.petra.string.StringBundler;
+import com.liferay.petra.string.StringPool;
+import com.liferay.portal.json.JSONArrayImpl;
+import com.liferay.portal.json.JSONObjectImpl;
+import com.liferay.portal.kernel.json.JSONArray;
+import com.liferay.portal.kernel.json.JSONObject;
+import com.liferay.portal.kernel.log.Log;
+import com.liferay.portal.kernel.log.LogFactoryUtil;
+import com.liferay.portal.kernel.util.StringUtil;
+import com.liferay.portal.kernel.util.Validator;
+import com.liferay.source.formatter.check.util.SourceUtil;
+import com.liferay.source.formatter.util.CheckType;
+import com.liferay.source.formatter.util.FileUtil;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+
+import java.net.URL;
+
+import java.nio.charset.StandardCharsets;
+
+import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.ProtectionDomain;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Stores the messages of files that were left unchanged by a previous run, so
+ * that they can be replayed without running any checks as long as neither the
+ * content of the file nor the effective configuration changed.
+ *
+ * <p>
+ * Checks that look at other files than the one being formatted are not
+ * tracked, which is why the cache is only used when enabled explicitly.
+ * </p>
+ *
+ * <p>
+ * Entries of files that no longer exist are dropped when the cache is saved.
+ * After a run that processed all files, every entry that was not used during
+ * the run is dropped as well.
+ * </p>
+ *
+ * @author Hugo Huijser
+ */
+public class SourceFormatterResultCache {
+
+	/**
+	 * Returns the version of the running Source Formatter, so that persistent
+	 * caches can be invalidated when Source Formatter is updated.
+	 */
+	public static String getFormatterVersion() {
+		Package pkg = SourceFormatterResultCache.class.getPackage();
+
+		String version = pkg.getImplementationVersion();
+
+		if (Validator.isNotNull(version)) {
+			return version;
+		}
+
+		// Development builds do not carry a version, so fall back to the
+		// location and timestamp of the classes that are running
+
+		ProtectionDomain protectionDomain =
+			SourceFormatterResultCache.class.getProtectionDomain();
+
+		CodeSource codeSource = protectionDomain.getCodeSource();
+
+		if (codeSource == null) {
+			return StringPool.BLANK;
+		}
+
+		URL url = codeSource.getLocation();
+
+		File file = new File(url.getFile());
+
+		return StringBundler.concat(
+			url.toString(), StringPool.POUND, file.lastModified(),
+			StringPool.POUND, file.length());
+	}
+
+	public static String getHash(String... values) {
+		MessageDigest messageDigest = _getMessageDigest();
+
+		for (String value : values) {
+			if (value != null) {
+				messageDigest.update(value.getBytes(StandardCharsets.UTF_8));
+			}
+
+			messageDigest.update((byte)0);
+		}
+
+		return StringUtil.bytesToHexString(messageDigest.digest());
+	}
+
+	public SourceFormatterResultCache(
+		File cacheFile, String configurationHash) {
+
+		_cacheFile = cacheFile;
+		_configurationHash = configurationHash;
+
+		_load();
+	}
+
+	public String getKey(String processorHash, String content) {
+		return getHash(processorHash, content);
+	}
+
+	public List<SourceFormatterMessage> getSourceFormatterMessages(
+		String sourceProcessorName, String fileName, String key) {
+
+		CacheEntry cacheEntry = _cacheEntriesMap.get(
+			_getCacheEntryName(sourceProcessorName, fileName));
+
+		if ((cacheEntry == null) || !key.equals(cacheEntry.getKey())) {
+			_missCount.incrementAndGet();
+
+			return null;
+		}
+
+		_hitCount.incrementAndGet();
+
+		_usedCacheEntryNames.add(
+			_getCacheEntryName(sourceProcessorName, fileName));
+
+		return cacheEntry.getSourceFormatterMessages();
+	}
+
+	public void put(
+		String sourceProcessorName, String fileName, String key,
+		Collection<SourceFormatterMessage> sourceFormatterMessages) {
+
+		List<SourceFormatterMessage> sourceFormatterMessagesList =
+			Collections.emptyList();
+
+		if (sourceFormatterMessages != null) {
+			sourceFormatterMessagesList = new ArrayList<>(
+				sourceFormatterMessages);
+		}
+
+		String cacheEntryName = _getCacheEntryName(
+			sourceProcessorName, fileName);
+
+		_cacheEntriesMap.put(
+			cacheEntryName, new CacheEntry(key, sourceFormatterMessagesList));
+
+		_usedCacheEntryNames.add(cacheEntryName);
+	}
+
+	public void save(boolean removeUnusedEntries) throws IOException {
+		JSONObject jsonObject = new JSONObjectImpl();
+
+		jsonObject.put("configurationHash", _configurationHash);
+
+		JSONObject filesJSONObject = new JSONObjectImpl();
+
+		int removedCount = 0;
+
+		for (Map.Entry<String, CacheEntry> entry :
+				_cacheEntriesMap.entrySet()) {
+
+			String cacheEntryName = entry.getKey();
+
+			if (!_usedCacheEntryNames.contains(cacheEntryName) &&
+				(removeUnusedEntries || !_exists(cacheEntryName))) {
+
+				removedCount++;
+
+				continue;
+			}
+
+			CacheEntry cacheEntry = entry.getValue();
+
+			JSONArray messagesJSONArray = new JSONArrayImpl();
+
+			for (SourceFormatterMessage sourceFormatterMessage :
+					cacheEntry.getSourceFormatterMessages()) {
+
+				messagesJSONArray.put(
+					_toJSONObject(sourceFormatterMessage));
+			}
+
+			JSONObject fileJSONObject = new JSONObjectImpl();
+
+			fileJSONObject.put(
+				"key", cacheEntry.getKey()
+			).put(
+				"messages", messagesJSONArray
+			);
+
+			filesJSONObject.put(cacheEntryName, fileJSONObject);
+		}
+
+		jsonObject.put("files", filesJSONObject);
+
+		FileUtil.write(_cacheFile, jsonObject.toString());
+
+		if (_log.isInfoEnabled()) {
+			_log.info(
+				StringBundler.concat(
+					"Result cache had ", _hitCount.get(), " hits and ",
+					_missCount.get(), " misses, removed ", removedCount,
+					" unused entries"));
+		}
+	}
+
+	private static MessageDigest _getMessageDigest() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		}
+		catch (NoSuchAlgorithmException noSuchAlgorithmException) {
+			throw new RuntimeException(noSuchAlgorithmException);
+		}
+	}
+
+	private boolean _exists(String cacheEntryName) {
+		String fileName = cacheEntryName.substring(
+			cacheEntryName.indexOf(CharPool.POUND) + 1);
+
+		File file = new File(SourceUtil.getAbsolutePath(fileName));
+
+		return file.exists();
+	}
+
+	private String _getCacheEntryName(
+		String sourceProcessorName, String fileName) {
+
+		return sourceProcessorName + StringPool.POUND + fileName;
+	}
+
+	private void _load() {
+		if (!_cacheFile.exists()) {
+			return;
+		}
+
+		try {
+			JSONObject jsonObject = new JSONObjectImpl(
+				FileUtil.read(_cacheFile, false));
+
+			if (!_configurationHash.equals(
+					jsonObject.getString("configurationHash"))) {
+
+				return;
+			}
+
+			JSONObject filesJSONObject = jsonObject.getJSONObject("files");
+
+			Iterator<String> iterator = filesJSONObject.keys();
+
+			while (iterator.hasNext()) {
+				String cacheEntryName = iterator.next();
+
+				JSONObject fileJSONObject = filesJSONObject.getJSONObject(
+					cacheEntryName);
+
+				JSONArray messagesJSONArray = fileJSONObject.getJSONArray(
+					"messages");
+
+				List<SourceFormatterMessage> sourceFormatterMessages =
+					new ArrayList<>(messagesJSONArray.length());
+
+				for (int i = 0; i < messagesJSONArray.length(); i++) {
+					sourceFormatterMessages.add(
+						_toSourceFormatterMessage(
+							messagesJSONArray.getJSONObject(i)));
+				}
+
+				_cacheEntriesMap.put(
+					cacheEntryName,
+					new CacheEntry(
+						fileJSONObject.getString("key"),
+						sourceFormatterMessages));
+			}
+		}
+		catch (Exception exception) {
+			if (_log.isDebugEnabled()) {
+				_log.debug(exception);
+			}
+
+			_cacheEntriesMap.clear();
+		}
+	}
+
+	private JSONObject _toJSONObject(
+		SourceFormatterMessage sourceFormatterMessage) {
+
+		JSONObject jsonObject = new JSONObjectImpl();
+
+		CheckType checkType = sourceFormatterMessage.getCheckType();
+
+		if (checkType != null) {
+			jsonObject.put("checkType", checkType.name());
+		}
+
+		jsonObject.put(
+			"checkName", sourceFormatterMessage.getCheckName()
+		).put(
+			"documentationURLString",
+			sourceFormatterMessage.getDocumentationURLString()
+		).put(
+			"fileName", sourceFormatterMessage.getFileName()
+		).put(
+			"lineNumber", sourceFormatterMessage.getLineNumber()
+		).put(
+			"message", sourceFormatterMessage.getMessage()
+		);
+
+		return jsonObject;
+	}
+
+	private SourceFormatterMessage _toSourceFormatterMessage(
+		JSONObject jsonObject) {
+
+		CheckType checkType = null;
+
+		String checkTypeName = jsonObject.getString("checkType", null);
+
+		if (checkTypeName != null) {
+			checkType = CheckType.valueOf(checkTypeName);
+		}
+
+		return new SourceFormatterMessage(
+			jsonObject.getString("fileName"), jsonObject.getString("message"),
+			checkType, jsonObject.getString("checkName", null),
+			jsonObject.getString("documentationURLString", null),
+			jsonObject.getInt("lineNumber", -1));
+	}
+
+	private static final Log _log = LogFactoryUtil.getLog(
+		SourceFormatterResultCache.class);
+
+	private final Map<String, CacheEntry> _cacheEntriesMap =
+		new ConcurrentHashMap<>();
+	private final File _cacheFile;
+	private final String _configurationHash;
+	private final AtomicInteger _hitCount = new AtomicInteger();
+	private final AtomicInteger _missCount = new AtomicInteger();
+	private final Set<String> _usedCacheEntryNames =
+		Collections.newSetFromMap(new ConcurrentHashMap<>());
+
+	public static class Builder {
+
+		public Builder addFile(File file) {
+			if ((file == null) || !file.exists()) {
+				return this;
+			}
+
+			_values.add(file.getAbsolutePath());
+			_values.add(FileUtil.read(file, false));
+
+			return this;
+		}
+
+		public Builder addProperties(Map<String, Properties> propertiesMap) {
+			for (Map.Entry<String, Properties> entry :
+					new TreeMap<>(propertiesMap).entrySet()) {
+
+				_values.add(entry.getKey());
+
+				Properties properties = entry.getValue();
+
+				for (String key : new TreeMap<>(properties).keySet()) {
+					_values.add(key);
+					_values.add(properties.getProperty(key));
+				}
+			}
+
+			return this;
+		}
+
+		public Builder addResource(String resourceName) {
+			ClassLoader classLoader =
+				SourceFormatterResultCache.class.getClassLoader();
+
+			try (InputStream inputStream = classLoader.getResourceAsStream(
+					resourceName)) {
+
+				if (inputStream != null) {
+					_values.add(resourceName);
+					_values.add(StringUtil.read(inputStream));
+				}
+			}
+			catch (IOException ioException) {
+				if (_log.isDebugEnabled()) {
+					_log.debug(ioException);
+				}
+			}
+
+			return this;
+		}
+
+		public Builder addValue(Object value) {
+			_values.add(String.valueOf(value));
+
+			return this;
+		}
+
+		public String build() {
+			_values.add(getFormatterVersion());
+
+			return getHash(_values.toArray(new String[0]));
+		}
+
+		private final List<String> _values = new ArrayList<>();
+
+	}
+
+	private static class CacheEntry {
+
+		public CacheEntry(
+			String key, List<SourceFormatterMessage> sourceFormatterMessages) {
+
+			_key = key;
+			_sourceFormatterMessages = sourceFormatterMessages;
+		}
+
+		public String getKey() {
+			return _key;
+		}
+
+		public List<SourceFormatterMessage> getSourceFormatterMessages() {
+			return _sourceFormatterMessages;
+		}
+
+		private final String _key;
+		private final List<SourceFormatterMessage> _sourceFormatterMessages;
+
+	}
+
+}
@@ -0,0 +1,27 @@
+/**
+ * SPDX-FileCopyrightText: (c) 2000 Liferay, Inc. https://liferay.com
+ * SPDX-License-Identifier: LGPL-2.1-or-later OR LicenseRef-Liferay-DXP-EULA-2.0.0-2023-06
+ */
+
+package com.liferay.source.formatter;
+
+import com.liferay.source.formatter.exception.SourceMismatchException;
+
+import java.io.Closeable;
+
+/**
+ * Receives the violations and modifications of a run as soon as the file they
+ * belong to is processed. Sinks are called from several threads at the same
+ * time, so implementations must be thread safe.
+ *
+ * @author Hugo Huijser
+ */
+public interface SourceFormatterResultSink extends Closeable {
+
+	public void addSourceFormatterMessage(
+		SourceFormatterMessage sourceFormatterMessage);
+
+	public void addSourceMismatchException(
+		SourceMismatchException sourceMismatchException);
+
+}
@@ -0,0 +1,91 @@
+/**
+ * SPDX-FileCopyrightText: (c) 2000 Liferay, Inc. https://liferay.com
+ * SPDX-License-Identifier: LGPL-2.1-or-later OR LicenseRef-Liferay-DXP-EULA-2.0.0-2023-06
+ */
+
+package com.liferay.source.formatter;
+
+import com.liferay.source.formatter.exception.SourceMismatchException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the violations and modifications of a run. The violations and the
+ * messages of the modifications are only kept when they are needed to report
+ * why the run failed, since a large run can have many results.
+ *
+ * @author Hugo Huijser
+ */
+public class SummarySourceFormatterResultSink
+	implements SourceFormatterResultSink {
+
+	public SummarySourceFormatterResultSink(
+		boolean keepSourceFormatterMessages,
+		boolean keepSourceMismatchMessages) {
+
+		_keepSourceFormatterMessages = keepSourceFormatterMessages;
+		_keepSourceMismatchMessages = keepSourceMismatchMessages;
+	}
+
+	@Override
+	public void addSourceFormatterMessage(
+		SourceFormatterMessage sourceFormatterMessage) {
+
+		_sourceFormatterMessagesCount.increment();
+
+		if (_keepSourceFormatterMessages) {
+			_sourceFormatterMessages.add(sourceFormatterMessage);
+		}
+	}
+
+	@Override
+	public void addSourceMismatchException(
+		SourceMismatchException sourceMismatchException) {
+
+		_sourceMismatchExceptionsCount.increment();
+
+		if (_keepSourceMismatchMessages) {
+			String message = sourceMismatchException.getMessage();
+
+			if (message != null) {
+				_sourceMismatchMessages.add(message);
+			}
+		}
+	}
+
+	@Override
+	public void close() {
+	}
+
+	public Set<SourceFormatterMessage> getSourceFormatterMessages() {
+		return _sourceFormatterMessages;
+	}
+
+	public int getSourceFormatterMessagesCount() {
+		return _sourceFormatterMessagesCount.intValue();
+	}
+
+	public int getSourceMismatchExceptionsCount() {
+		return _sourceMismatchExceptionsCount.intValue();
+	}
+
+	public List<String> getSourceMismatchMessages() {
+		return new ArrayList<>(_sourceMismatchMessages);
+	}
+
+	private final boolean _keepSourceFormatterMessages;
+	private final boolean _keepSourceMismatchMessages;
+	private final Set<SourceFormatterMessage> _sourceFormatterMessages =
+		new ConcurrentSkipListSet<>();
+	private final LongAdder _sourceFormatterMessagesCount = new LongAdder();
+	private final LongAdder _sourceMismatchExceptionsCount = new LongAdder();
+	private final Queue<String> _sourceMismatchMessages =
+		new ConcurrentLinkedQueue<>();
+
+}
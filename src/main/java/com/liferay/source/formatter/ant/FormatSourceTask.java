@@ -120,6 +120,10 @@ public class FormatSourceTask extends Task {
 		_sourceFormatterArgs.setMaxLineLength(maxLineLength);
 	}
 
+	public void setNDJSONOutputFileName(String ndjsonOutputFileName) {
+		_sourceFormatterArgs.setNDJSONOutputFileName(ndjsonOutputFileName);
+	}
+
 	public void setOutputFileName(String outputFileName) {
 		_sourceFormatterArgs.setOutputFileName(outputFileName);
 	}
@@ -132,10 +136,18 @@ public class FormatSourceTask extends Task {
 		_sourceFormatterArgs.setProcessorThreadCount(processorThreadCount);
 	}
 
+	public void setSARIFOutputFileName(String sarifOutputFileName) {
+		_sourceFormatterArgs.setSARIFOutputFileName(sarifOutputFileName);
+	}
+
 	public void setShowDebugInformation(boolean showDebugInformation) {
 		_sourceFormatterArgs.setShowDebugInformation(showDebugInformation);
 	}
 
+	public void setUseResultCache(boolean useResultCache) {
+		_sourceFormatterArgs.setUseResultCache(useResultCache);
+	}
+
 	public void setValidateCommitMessages(boolean validateCommitMessages) {
 		_sourceFormatterArgs.setValidateCommitMessages(validateCommitMessages);
 	}
@@ -5,6 +5,7 @@
 
 package com.liferay.source.formatter.check;
 
+import com.liferay.petra.string.StringBundler;
 import com.liferay.petra.string.StringPool;
 import com.liferay.portal.kernel.util.StringUtil;
 import com.liferay.portal.tools.ToolsUtil;
@@ -159,6 +160,30 @@ public abstract class BaseJavaTermCheck
 		return false;
 	}
 
+	/**
+	 * Replaces the content of the given term in the given content at the
+	 * position the term was parsed from, so that an identical occurrence
+	 * elsewhere in the content is left untouched. Falls back to a search and
+	 * replace when the position is unknown or does not match.
+	 */
+	private String _replace(
+		String content, JavaTerm javaTerm, String newJavaTermContent) {
+
+		String javaTermContent = javaTerm.getContent();
+		int startPos = javaTerm.getStartPos();
+
+		if ((startPos == -1) ||
+			!content.startsWith(javaTermContent, startPos)) {
+
+			return StringUtil.replace(
+				content, javaTermContent, newJavaTermContent);
+		}
+
+		return StringBundler.concat(
+			content.substring(0, startPos), newJavaTermContent,
+			content.substring(startPos + javaTermContent.length()));
+	}
+
 	private String _walkJavaClass(
 			String fileName, String absolutePath, JavaClass javaClass,
 			String parentContent, String fileContent)
@@ -173,8 +198,7 @@ public abstract class BaseJavaTermCheck
 				fileName, absolutePath, javaClass, fileContent);
 
 			if (!javaClassContent.equals(newJavaClassContent)) {
-				return StringUtil.replace(
-					parentContent, javaClassContent, newJavaClassContent);
+				return _replace(parentContent, javaClass, newJavaClassContent);
 			}
 		}
 
@@ -187,8 +211,8 @@ public abstract class BaseJavaTermCheck
 					fileContent);
 
 				if (!newJavaClassContent.equals(javaClassContent)) {
-					return StringUtil.replace(
-						parentContent, javaClassContent, newJavaClassContent);
+					return _replace(
+						parentContent, javaClass, newJavaClassContent);
 				}
 			}
 			else if (_isCheckableJavaTerm(javaTerm)) {
@@ -198,11 +222,11 @@ public abstract class BaseJavaTermCheck
 					fileName, absolutePath, javaTerm, fileContent);
 
 				if (!javaTermContent.equals(newJavaTermContent)) {
-					newJavaClassContent = StringUtil.replace(
-						javaClassContent, javaTermContent, newJavaTermContent);
+					newJavaClassContent = _replace(
+						javaClassContent, javaTerm, newJavaTermContent);
 
-					return StringUtil.replace(
-						parentContent, javaClassContent, newJavaClassContent);
+					return _replace(
+						parentContent, javaClass, newJavaClassContent);
 				}
 			}
 		}
@@ -19,9 +19,9 @@ import com.liferay.portal.tools.ToolsUtil;
 import com.liferay.source.formatter.BNDSettings;
 import com.liferay.source.formatter.SourceFormatterExcludes;
 import com.liferay.source.formatter.SourceFormatterMessage;
-import com.liferay.source.formatter.check.util.BNDSourceUtil;
 import com.liferay.source.formatter.check.util.JSPSourceUtil;
 import com.liferay.source.formatter.check.util.JavaSourceUtil;
+import com.liferay.source.formatter.check.util.ModuleModel;
 import com.liferay.source.formatter.check.util.SourceUtil;
 import com.liferay.source.formatter.parser.JavaClass;
 import com.liferay.source.formatter.parser.JavaClassParser;
@@ -63,11 +63,8 @@ public abstract class BaseSourceCheck implements SourceCheck {
 	public Set<SourceFormatterMessage> getSourceFormatterMessages(
 		String fileName) {
 
-		if (_sourceFormatterMessagesMap.containsKey(fileName)) {
-			return _sourceFormatterMessagesMap.get(fileName);
-		}
-
-		return Collections.emptySet();
+		return _sourceFormatterMessagesMap.getOrDefault(
+			fileName, Collections.emptySet());
 	}
 
 	@Override
@@ -212,11 +209,8 @@ public abstract class BaseSourceCheck implements SourceCheck {
 
 	protected void addMessage(String fileName, String message, int lineNumber) {
 		Set<SourceFormatterMessage> sourceFormatterMessages =
-			_sourceFormatterMessagesMap.get(fileName);
-
-		if (sourceFormatterMessages == null) {
-			sourceFormatterMessages = new TreeSet<>();
-		}
+			_sourceFormatterMessagesMap.computeIfAbsent(
+				fileName, key -> new TreeSet<>());
 
 		Class<?> clazz = getClass();
 
@@ -226,8 +220,6 @@ public abstract class BaseSourceCheck implements SourceCheck {
 				clazz.getSimpleName(),
 				SourceFormatterUtil.getDocumentationURLString(clazz),
 				lineNumber));
-
-		_sourceFormatterMessagesMap.put(fileName, sourceFormatterMessages);
 	}
 
 	protected void clearSourceFormatterMessages(String fileName) {
@@ -261,60 +253,26 @@ public abstract class BaseSourceCheck implements SourceCheck {
 	}
 
 	protected BNDSettings getBNDSettings(String fileName) throws IOException {
-		String bndFileLocation = fileName;
-
-		while (true) {
-			int pos = bndFileLocation.lastIndexOf(StringPool.SLASH);
-
-			if (pos == -1) {
-				return null;
-			}
-
-			bndFileLocation = bndFileLocation.substring(0, pos + 1);
+		ModuleModel moduleModel = ModuleModel.getBNDModuleModel(fileName);
 
-			BNDSettings bndSettings = _bndSettingsMap.get(bndFileLocation);
-
-			if (bndSettings != null) {
-				return bndSettings;
-			}
-
-			File file = new File(bndFileLocation + "bnd.bnd");
-
-			if (file.exists()) {
-				bndSettings = new BNDSettings(
-					bndFileLocation + "bnd.bnd", FileUtil.read(file));
-
-				_bndSettingsMap.put(bndFileLocation, bndSettings);
-
-				return bndSettings;
-			}
-
-			bndFileLocation = StringUtil.replaceLast(
-				bndFileLocation, CharPool.SLASH, StringPool.BLANK);
+		if (moduleModel == null) {
+			return null;
 		}
+
+		return moduleModel.getBNDSettings();
 	}
 
 	protected String getBuildGradleContent(String absolutePath)
 		throws IOException {
 
-		int x = absolutePath.length();
-
-		while (true) {
-			x = absolutePath.lastIndexOf(StringPool.SLASH, x - 1);
-
-			if (x == -1) {
-				return null;
-			}
-
-			String buildGradleFileName =
-				absolutePath.substring(0, x + 1) + "build.gradle";
+		ModuleModel moduleModel = ModuleModel.getBuildGradleModuleModel(
+			absolutePath);
 
-			File file = new File(buildGradleFileName);
-
-			if (file.exists()) {
-				return FileUtil.read(file);
-			}
+		if (moduleModel == null) {
+			return null;
 		}
+
+		return moduleModel.getBuildGradleContent();
 	}
 
 	protected synchronized Map<String, String> getBundleSymbolicNamesMap(
@@ -324,7 +282,7 @@ public abstract class BaseSourceCheck implements SourceCheck {
 			return _bundleSymbolicNamesMap;
 		}
 
-		_bundleSymbolicNamesMap = BNDSourceUtil.getBundleSymbolicNamesMap(
+		_bundleSymbolicNamesMap = ModuleModel.getBundleSymbolicNamesMap(
 			SourceUtil.getRootDirName(absolutePath));
 
 		return _bundleSymbolicNamesMap;
@@ -358,26 +316,10 @@ public abstract class BaseSourceCheck implements SourceCheck {
 			return null;
 		}
 
-		File customSQLFile = new File(
-			fileName.substring(0, i) + "/src/custom-sql/default.xml");
+		ModuleModel moduleModel = ModuleModel.getModuleModel(
+			fileName.substring(0, i + 1));
 
-		if (!customSQLFile.exists()) {
-			customSQLFile = new File(
-				fileName.substring(0, i) +
-					"/src/main/resources/META-INF/custom-sql/default.xml");
-		}
-
-		if (!customSQLFile.exists()) {
-			customSQLFile = new File(
-				fileName.substring(0, i) +
-					"/src/main/resources/custom-sql/default.xml");
-		}
-
-		if (!customSQLFile.exists()) {
-			return null;
-		}
-
-		return SourceUtil.readXML(customSQLFile);
+		return moduleModel.getCustomSQLDocument();
 	}
 
 	protected File getFile(String fileName, int level) {
@@ -559,7 +501,7 @@ public abstract class BaseSourceCheck implements SourceCheck {
 			for (Element customSQLElement :
 					(List<Element>)customSQLRootElement.elements("sql")) {
 
-				rootElement.add(customSQLElement.detach());
+				rootElement.add(customSQLElement.createCopy());
 			}
 		}
 
@@ -1003,8 +945,6 @@ public abstract class BaseSourceCheck implements SourceCheck {
 	private final Map<String, List<String>> _attributeValuesMap =
 		new ConcurrentHashMap<>();
 	private String _baseDirName;
-	private final Map<String, BNDSettings> _bndSettingsMap =
-		new ConcurrentHashMap<>();
 	private Map<String, String> _bundleSymbolicNamesMap;
 	private JSONObject _excludesJSONObject;
 	private final Map<String, List<String>> _excludesValuesMap =
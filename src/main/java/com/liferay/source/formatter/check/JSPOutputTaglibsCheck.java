@@ -6,8 +6,7 @@
 package com.liferay.source.formatter.check;
 
 import com.liferay.petra.string.StringBundler;
-import com.liferay.source.formatter.BNDSettings;
-import com.liferay.source.formatter.check.util.BNDSourceUtil;
+import com.liferay.source.formatter.check.util.ModuleModel;
 
 import java.io.IOException;
 
@@ -89,15 +88,14 @@ public class JSPOutputTaglibsCheck extends BaseTagAttributesCheck {
 		}
 	}
 
-	private String _getBundleSymbolicName(String fileName) throws IOException {
-		BNDSettings bndSettings = getBNDSettings(fileName);
+	private String _getBundleSymbolicName(String fileName) {
+		ModuleModel moduleModel = ModuleModel.getBNDModuleModel(fileName);
 
-		if (bndSettings == null) {
+		if (moduleModel == null) {
 			return null;
 		}
 
-		return BNDSourceUtil.getDefinitionValue(
-			bndSettings.getContent(), "Bundle-SymbolicName");
+		return moduleModel.getBundleSymbolicName();
 	}
 
 	private static final String[] _OUTPUT_TAGLIB_NAMES = {
@@ -7,20 +7,16 @@ package com.liferay.source.formatter.check;
 
 import com.liferay.petra.string.CharPool;
 import com.liferay.petra.string.StringBundler;
-import com.liferay.portal.json.JSONObjectImpl;
 import com.liferay.portal.kernel.io.unsync.UnsyncBufferedReader;
 import com.liferay.portal.kernel.io.unsync.UnsyncStringReader;
-import com.liferay.portal.kernel.json.JSONArray;
-import com.liferay.portal.kernel.json.JSONObject;
 import com.liferay.portal.kernel.util.Tuple;
-import com.liferay.source.formatter.util.PortalJSONObjectUtil;
+import com.liferay.source.formatter.util.PortalAPIIndex;
 import com.liferay.source.formatter.util.SourceFormatterUtil;
 
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -43,25 +39,25 @@ public class JSPUpgradeRemovedTagsCheck extends BaseTagAttributesCheck {
 			return content;
 		}
 
-		JSONObject upgradeFromTaglibsJSONObject = _getTaglibsJSONObject(
-			upgradeFromVersion);
-		JSONObject upgradeToTaglibsJSONObject = _getTaglibsJSONObject(
-			upgradeToVersion);
+		PortalAPIIndex upgradeFromPortalAPIIndex =
+			PortalAPIIndex.getPortalAPIIndexByVersion(upgradeFromVersion);
+		PortalAPIIndex upgradeToPortalAPIIndex =
+			PortalAPIIndex.getPortalAPIIndexByVersion(upgradeToVersion);
 
 		_checkMultiLineTagAttributes(
-			fileName, content, upgradeFromTaglibsJSONObject,
-			upgradeToTaglibsJSONObject, upgradeToVersion);
+			fileName, content, upgradeFromPortalAPIIndex,
+			upgradeToPortalAPIIndex, upgradeToVersion);
 		_checkSingleLineTagAttributes(
-			fileName, content, upgradeFromTaglibsJSONObject,
-			upgradeToTaglibsJSONObject, upgradeToVersion);
+			fileName, content, upgradeFromPortalAPIIndex,
+			upgradeToPortalAPIIndex, upgradeToVersion);
 
 		return content;
 	}
 
 	private void _checkMultiLineTagAttributes(
 			String fileName, String content,
-			JSONObject upgradeFromTaglibsJSONObject,
-			JSONObject upgradeToTaglibsJSONObject, String upgradeToVersion)
+			PortalAPIIndex upgradeFromPortalAPIIndex,
+			PortalAPIIndex upgradeToPortalAPIIndex, String upgradeToVersion)
 		throws Exception {
 
 		Matcher matcher = _multilineTagPattern.matcher(content);
@@ -77,15 +73,15 @@ public class JSPUpgradeRemovedTagsCheck extends BaseTagAttributesCheck {
 
 			_checkTag(
 				fileName, parseTag(matcher.group(1), false),
-				upgradeFromTaglibsJSONObject, upgradeToTaglibsJSONObject,
+				upgradeFromPortalAPIIndex, upgradeToPortalAPIIndex,
 				upgradeToVersion, getLineNumber(content, matcher.start()));
 		}
 	}
 
 	private void _checkSingleLineTagAttributes(
 			String fileName, String content,
-			JSONObject upgradeFromTaglibsJSONObject,
-			JSONObject upgradeToTaglibsJSONObject, String upgradeToVersion)
+			PortalAPIIndex upgradeFromPortalAPIIndex,
+			PortalAPIIndex upgradeToPortalAPIIndex, String upgradeToVersion)
 		throws Exception {
 
 		try (UnsyncBufferedReader unsyncBufferedReader =
@@ -100,17 +96,16 @@ public class JSPUpgradeRemovedTagsCheck extends BaseTagAttributesCheck {
 				for (String jspTag : getJSPTags(line)) {
 					_checkTag(
 						fileName, parseTag(jspTag, false),
-						upgradeFromTaglibsJSONObject,
-						upgradeToTaglibsJSONObject, upgradeToVersion,
-						lineNumber);
+						upgradeFromPortalAPIIndex, upgradeToPortalAPIIndex,
+						upgradeToVersion, lineNumber);
 				}
 			}
 		}
 	}
 
 	private void _checkTag(
-		String fileName, Tag tag, JSONObject upgradeFromTaglibsJSONObject,
-		JSONObject upgradeToTaglibsJSONObject, String upgradeToVersion,
+		String fileName, Tag tag, PortalAPIIndex upgradeFromPortalAPIIndex,
+		PortalAPIIndex upgradeToPortalAPIIndex, String upgradeToVersion,
 		int lineNumber) {
 
 		if (tag == null) {
@@ -124,13 +119,13 @@ public class JSPUpgradeRemovedTagsCheck extends BaseTagAttributesCheck {
 		}
 
 		Tuple upgradeFromTagStatusTuple = _getTagStatusTuple(
-			upgradeFromTaglibsJSONObject, tag);
+			upgradeFromPortalAPIIndex, tag);
 
 		TagStatus upgradeFromTagStatus =
 			(TagStatus)upgradeFromTagStatusTuple.getObject(0);
 
 		Tuple upgradeToTagStatusTuple = _getTagStatusTuple(
-			upgradeToTaglibsJSONObject, tag);
+			upgradeToPortalAPIIndex, tag);
 
 		TagStatus upgradeToTagStatus =
 			(TagStatus)upgradeToTagStatusTuple.getObject(0);
@@ -179,64 +174,17 @@ public class JSPUpgradeRemovedTagsCheck extends BaseTagAttributesCheck {
 		}
 	}
 
-	private List<String> _getAttributeNames(JSONObject tagJSONObject) {
-		List<String> attributeNames = new ArrayList<>();
-
-		JSONArray tagAttributeNamesJSONArray = tagJSONObject.getJSONArray(
-			"attributes");
-
-		if (tagAttributeNamesJSONArray == null) {
-			return attributeNames;
-		}
-
-		Iterator<JSONObject> iterator = tagAttributeNamesJSONArray.iterator();
-
-		while (iterator.hasNext()) {
-			JSONObject attributeJSONObject = iterator.next();
-
-			attributeNames.add(attributeJSONObject.getString("name"));
-		}
-
-		return attributeNames;
-	}
-
-	private synchronized JSONObject _getTaglibsJSONObject(String version)
-		throws Exception {
-
-		JSONObject taglibsJSONObject = _taglibsJSONObjectMap.get(version);
-
-		if (taglibsJSONObject != null) {
-			return taglibsJSONObject;
-		}
-
-		JSONObject portalJSONObject =
-			PortalJSONObjectUtil.getPortalJSONObjectByVersion(version);
-
-		if (portalJSONObject.has("taglibs")) {
-			taglibsJSONObject = portalJSONObject.getJSONObject("taglibs");
-		}
-		else {
-			taglibsJSONObject = new JSONObjectImpl();
-		}
-
-		_taglibsJSONObjectMap.put(version, taglibsJSONObject);
-
-		return taglibsJSONObject;
-	}
-
-	private Tuple _getTagStatusTuple(JSONObject taglibsJSONObject, Tag tag) {
-		JSONObject taglibJSONObject = taglibsJSONObject.getJSONObject(
-			tag.getTaglibName());
+	private Tuple _getTagStatusTuple(PortalAPIIndex portalAPIIndex, Tag tag) {
+		String taglibName = tag.getTaglibName();
 
-		if (taglibJSONObject == null) {
+		if (!portalAPIIndex.hasTaglib(taglibName)) {
 			return new Tuple(TagStatus.NO_TAGLIB_FOUND);
 		}
 
-		String tagName = tag.getName();
+		Set<String> attributeNames = portalAPIIndex.getTagAttributeNames(
+			taglibName, tag.getName());
 
-		JSONObject tagJSONObject = taglibJSONObject.getJSONObject(tagName);
-
-		if (tagJSONObject == null) {
+		if (attributeNames == null) {
 			return new Tuple(TagStatus.NO_TAG_FOUND);
 		}
 
@@ -244,8 +192,6 @@ public class JSPUpgradeRemovedTagsCheck extends BaseTagAttributesCheck {
 
 		Map<String, String> attributesMap = tag.getAttributesMap();
 
-		List<String> attributeNames = _getAttributeNames(tagJSONObject);
-
 		for (Map.Entry<String, String> entry : attributesMap.entrySet()) {
 			String attributeName = entry.getKey();
 
@@ -260,9 +206,6 @@ public class JSPUpgradeRemovedTagsCheck extends BaseTagAttributesCheck {
 	private static final Pattern _multilineTagPattern = Pattern.compile(
 		"(([ \t]*)<[-\\w:]+\n.*?([^%])(/?>))(\n|$)", Pattern.DOTALL);
 
-	private final Map<String, JSONObject> _taglibsJSONObjectMap =
-		new HashMap<>();
-
 	private enum TagStatus {
 
 		ATTRIBUTES_FOUND, NO_TAG_FOUND, NO_TAGLIB_FOUND
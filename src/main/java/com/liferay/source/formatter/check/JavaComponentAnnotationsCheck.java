@@ -15,8 +15,8 @@ import com.liferay.portal.tools.GitUtil;
 import com.liferay.portal.tools.ToolsUtil;
 import com.liferay.source.formatter.BNDSettings;
 import com.liferay.source.formatter.SourceFormatterArgs;
-import com.liferay.source.formatter.check.util.BNDSourceUtil;
 import com.liferay.source.formatter.check.util.JavaSourceUtil;
+import com.liferay.source.formatter.check.util.ModuleModel;
 import com.liferay.source.formatter.check.util.SourceUtil;
 import com.liferay.source.formatter.parser.JavaClass;
 import com.liferay.source.formatter.parser.JavaMethod;
@@ -757,7 +757,7 @@ public class JavaComponentAnnotationsCheck extends JavaAnnotationsCheck {
 		String absolutePath) {
 
 		if (_bundleSymbolicNamesMap == null) {
-			_bundleSymbolicNamesMap = BNDSourceUtil.getBundleSymbolicNamesMap(
+			_bundleSymbolicNamesMap = ModuleModel.getBundleSymbolicNamesMap(
 				_getRootDirName(absolutePath));
 		}
 
@@ -5,19 +5,13 @@
 
 package com.liferay.source.formatter.check;
 
-import com.liferay.petra.string.CharPool;
 import com.liferay.petra.string.StringBundler;
-import com.liferay.petra.string.StringPool;
-import com.liferay.portal.kernel.util.StringUtil;
-import com.liferay.source.formatter.BNDSettings;
-import com.liferay.source.formatter.check.util.BNDSourceUtil;
+import com.liferay.source.formatter.check.util.ModuleModel;
 import com.liferay.source.formatter.parser.JavaClass;
 import com.liferay.source.formatter.parser.JavaMethod;
 import com.liferay.source.formatter.parser.JavaSignature;
 import com.liferay.source.formatter.parser.JavaTerm;
-import com.liferay.source.formatter.util.FileUtil;
 
-import java.io.File;
 import java.io.IOException;
 
 import java.util.List;
@@ -95,39 +89,14 @@ public class JavaJSPDynamicIncludeCheck extends BaseJavaTermCheck {
 		return new String[] {JAVA_CLASS};
 	}
 
-	private BNDSettings _getBNDSettings(String fileName) throws IOException {
-		String bndFileLocation = fileName;
+	private String _getBundleSymbolicName(String fileName) {
+		ModuleModel moduleModel = ModuleModel.getBNDModuleModel(fileName);
 
-		while (true) {
-			int pos = bndFileLocation.lastIndexOf(StringPool.SLASH);
-
-			if (pos == -1) {
-				return null;
-			}
-
-			bndFileLocation = bndFileLocation.substring(0, pos + 1);
-
-			File file = new File(bndFileLocation + "bnd.bnd");
-
-			if (file.exists()) {
-				return new BNDSettings(
-					bndFileLocation + "bnd.bnd", FileUtil.read(file));
-			}
-
-			bndFileLocation = StringUtil.replaceLast(
-				bndFileLocation, CharPool.SLASH, StringPool.BLANK);
-		}
-	}
-
-	private String _getBundleSymbolicName(String fileName) throws IOException {
-		BNDSettings bndSettings = _getBNDSettings(fileName);
-
-		if (bndSettings == null) {
+		if (moduleModel == null) {
 			return null;
 		}
 
-		return BNDSourceUtil.getDefinitionValue(
-			bndSettings.getContent(), "Bundle-SymbolicName");
+		return moduleModel.getBundleSymbolicName();
 	}
 
 	private String _getJSPPath(JavaClass javaClass) {
@@ -13,8 +13,9 @@ import com.liferay.source.formatter.parser.JavaMethod;
 import com.liferay.source.formatter.parser.JavaParameter;
 import com.liferay.source.formatter.parser.JavaSignature;
 import com.liferay.source.formatter.parser.JavaTerm;
-import com.liferay.source.formatter.util.PortalJSONObjectUtil;
+import com.liferay.source.formatter.util.PortalAPIIndex;
 
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
@@ -76,56 +77,6 @@ public class JavaMissingOverrideCheck extends BaseJavaTermCheck {
 		return new String[] {JAVA_CLASS};
 	}
 
-	private boolean _equals(
-		JavaMethod javaMethod, JSONObject methodJSONObject) {
-
-		if (!Objects.equals(
-				javaMethod.getAccessModifier(),
-				methodJSONObject.getString("accessModifier")) ||
-			!Objects.equals(
-				javaMethod.getName(), methodJSONObject.getString("name"))) {
-
-			return false;
-		}
-
-		JavaSignature javaSignature = javaMethod.getSignature();
-
-		if (!Objects.equals(
-				javaSignature.getReturnType(true),
-				methodJSONObject.getString("returnType"))) {
-
-			return false;
-		}
-
-		List<JavaParameter> javaParameters = javaSignature.getParameters();
-		JSONArray parametersJSONArray = methodJSONObject.getJSONArray(
-			"parameters");
-
-		if (parametersJSONArray == null) {
-			return javaParameters.isEmpty();
-		}
-
-		if (javaParameters.size() != parametersJSONArray.length()) {
-			return false;
-		}
-
-		Iterator<String> iterator = parametersJSONArray.iterator();
-
-		int i = 0;
-
-		while (iterator.hasNext()) {
-			JavaParameter javaParameter = javaParameters.get(i++);
-
-			if (!Objects.equals(
-					javaParameter.getParameterType(true), iterator.next())) {
-
-				return false;
-			}
-		}
-
-		return true;
-	}
-
 	private String _fixMissingOverrideAnnotations(
 		JavaClass javaClass, Set<JavaMethod> javaMethods) {
 
@@ -155,39 +106,28 @@ public class JavaMissingOverrideCheck extends BaseJavaTermCheck {
 		return content;
 	}
 
-	private synchronized JSONObject _getJavaClassesJSONObject()
-		throws Exception {
-
-		if (_javaClassesJSONObject != null) {
-			return _javaClassesJSONObject;
-		}
-
-		JSONObject portalJSONObject = PortalJSONObjectUtil.getPortalJSONObject(
-			getBaseDirName(), getSourceFormatterExcludes(), getMaxLineLength());
-
-		_javaClassesJSONObject = portalJSONObject.getJSONObject("javaClasses");
-
-		return _javaClassesJSONObject;
-	}
-
-	private boolean _hasMethod(
-		JSONObject classJSONObject, JavaMethod javaMethod) {
+	private String _getMethodSignature(JavaMethod javaMethod) {
+		JavaSignature javaSignature = javaMethod.getSignature();
 
-		JSONArray methodsJSONArray = classJSONObject.getJSONArray("methods");
+		List<String> parameterTypeNames = new ArrayList<>();
 
-		if (methodsJSONArray == null) {
-			return false;
+		for (JavaParameter javaParameter : javaSignature.getParameters()) {
+			parameterTypeNames.add(javaParameter.getParameterType(true));
 		}
 
-		Iterator<JSONObject> iterator = methodsJSONArray.iterator();
+		return PortalAPIIndex.getMethodSignature(
+			javaMethod.getAccessModifier(), javaSignature.getReturnType(true),
+			javaMethod.getName(), parameterTypeNames);
+	}
 
-		while (iterator.hasNext()) {
-			if (_equals(javaMethod, iterator.next())) {
-				return true;
-			}
+	private PortalAPIIndex _getPortalAPIIndex() throws Exception {
+		if (_portalAPIIndex == null) {
+			_portalAPIIndex = PortalAPIIndex.getPortalAPIIndex(
+				getBaseDirName(), getSourceFormatterExcludes(),
+				getMaxLineLength());
 		}
 
-		return false;
+		return _portalAPIIndex;
 	}
 
 	private boolean _hasSuperMethod(
@@ -213,16 +153,24 @@ public class JavaMissingOverrideCheck extends BaseJavaTermCheck {
 			JavaMethod javaMethod, String className, boolean superClass)
 		throws Exception {
 
-		JSONObject javaClassesJSONObject = _getJavaClassesJSONObject();
+		PortalAPIIndex portalAPIIndex = _getPortalAPIIndex();
 
-		JSONObject classJSONObject = javaClassesJSONObject.getJSONObject(
+		JSONObject classJSONObject = portalAPIIndex.getClassJSONObject(
 			className);
 
 		if (classJSONObject == null) {
 			return false;
 		}
 
-		if ((superClass && _hasMethod(classJSONObject, javaMethod)) ||
+		// Only resolve the signature of the method when the class declares a
+		// method with the same access modifier and name
+
+		if ((superClass &&
+			 portalAPIIndex.hasMethodName(
+				 className, javaMethod.getAccessModifier(),
+				 javaMethod.getName()) &&
+			 portalAPIIndex.hasMethod(
+				 className, _getMethodSignature(javaMethod))) ||
 			_hasSuperMethod(
 				javaMethod,
 				classJSONObject.getJSONArray("extendedClassNames")) ||
@@ -236,6 +184,6 @@ public class JavaMissingOverrideCheck extends BaseJavaTermCheck {
 		return false;
 	}
 
-	private JSONObject _javaClassesJSONObject;
+	private volatile PortalAPIIndex _portalAPIIndex;
 
 }
\ No newline at end of file
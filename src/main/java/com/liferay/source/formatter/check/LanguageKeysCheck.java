@@ -8,27 +8,25 @@ package com.liferay.source.formatter.check;
 import com.liferay.petra.string.CharPool;
 import com.liferay.petra.string.StringBundler;
 import com.liferay.petra.string.StringPool;
-import com.liferay.portal.kernel.log.Log;
-import com.liferay.portal.kernel.log.LogFactoryUtil;
 import com.liferay.portal.kernel.util.StringUtil;
 import com.liferay.portal.kernel.util.TextFormatter;
 import com.liferay.portal.kernel.util.Validator;
 import com.liferay.source.formatter.BNDSettings;
-import com.liferay.source.formatter.SourceFormatterExcludes;
-import com.liferay.source.formatter.check.util.SourceUtil;
+import com.liferay.source.formatter.check.util.LanguageKeysIndex;
+import com.liferay.source.formatter.check.util.ModuleModel;
 import com.liferay.source.formatter.util.FileUtil;
-import com.liferay.source.formatter.util.SourceFormatterUtil;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.StringReader;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Properties;
+import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -70,30 +68,28 @@ public class LanguageKeysCheck extends BaseFileCheck {
 			return;
 		}
 
-		Properties portalLanguageProperties = _getPortalLanguageProperties(
-			absolutePath);
+		Set<String> portalLanguageKeys = _getPortalLanguageKeys(absolutePath);
 
-		if (portalLanguageProperties.isEmpty()) {
+		if (portalLanguageKeys.isEmpty()) {
 			return;
 		}
 
 		for (Pattern pattern : patterns) {
 			_checkLanguageKeys(
-				fileName, absolutePath, content, portalLanguageProperties,
-				pattern);
+				fileName, absolutePath, content, portalLanguageKeys, pattern);
 		}
 	}
 
 	private void _checkLanguageKeys(
 			String fileName, String absolutePath, String content,
-			Properties portalLanguageProperties, Pattern pattern)
+			Set<String> portalLanguageKeys, Pattern pattern)
 		throws IOException {
 
 		Matcher matcher = pattern.matcher(content);
 
-		Properties buildGradleLanguageProperties = null;
-		Properties langModuleLanguageProperties = null;
-		Properties moduleLanguageProperties = null;
+		Set<String> buildGradleLanguageKeys = null;
+		List<Set<String>> langModuleLanguageKeysList = null;
+		Set<String> moduleLanguageKeys = null;
 
 		while (matcher.find()) {
 			String[] languageKeys = _getLanguageKeys(matcher);
@@ -111,46 +107,47 @@ public class LanguageKeysCheck extends BaseFileCheck {
 					languageKey.startsWith(StringPool.OPEN_CURLY_BRACE) ||
 					languageKey.startsWith(StringPool.PERIOD) ||
 					languageKey.startsWith(StringPool.UNDERLINE) ||
-					portalLanguageProperties.containsKey(languageKey)) {
+					portalLanguageKeys.contains(languageKey)) {
 
 					continue;
 				}
 
-				if (moduleLanguageProperties == null) {
-					moduleLanguageProperties = _getModuleLanguageProperties(
-						fileName);
+				if (moduleLanguageKeys == null) {
+					moduleLanguageKeys = _getModuleLanguageKeys(fileName);
 				}
 
-				if (moduleLanguageProperties.containsKey(languageKey)) {
+				if (moduleLanguageKeys.contains(languageKey)) {
 					continue;
 				}
 
-				if (buildGradleLanguageProperties == null) {
-					buildGradleLanguageProperties =
-						_getBuildGradleLanguageProperties(absolutePath);
+				if (buildGradleLanguageKeys == null) {
+					buildGradleLanguageKeys = _getBuildGradleLanguageKeys(
+						absolutePath);
 				}
 
-				if (buildGradleLanguageProperties.containsKey(languageKey)) {
+				if (buildGradleLanguageKeys.contains(languageKey)) {
 					continue;
 				}
 
-				if (langModuleLanguageProperties == null) {
-					langModuleLanguageProperties =
-						_getLangModuleLanguageProperties(absolutePath);
+				if (langModuleLanguageKeysList == null) {
+					langModuleLanguageKeysList =
+						_getLangModuleLanguageKeysList(absolutePath);
 				}
 
-				if (langModuleLanguageProperties.containsKey(languageKey)) {
+				if (_containsLanguageKey(
+						langModuleLanguageKeysList, languageKey)) {
+
 					continue;
 				}
 
 				BNDSettings bndSettings = getBNDSettings(fileName);
 
 				if (bndSettings != null) {
-					Properties bndLanguageProperties =
-						bndSettings.getLanguageProperties();
+					Set<String> bndLanguageKeys = _getBNDLanguageKeys(
+						bndSettings);
 
-					if ((bndLanguageProperties == null) ||
-						bndLanguageProperties.containsKey(languageKey)) {
+					if ((bndLanguageKeys == null) ||
+						bndLanguageKeys.contains(languageKey)) {
 
 						continue;
 					}
@@ -162,74 +159,79 @@ public class LanguageKeysCheck extends BaseFileCheck {
 		}
 	}
 
-	private Properties _getBuildGradleLanguageProperties(String absolutePath)
-		throws IOException {
-
-		Properties properties = new Properties();
-
-		String buildGradleContent = null;
-		String buildGradleFileLocation = absolutePath;
+	private boolean _containsLanguageKey(
+		List<Set<String>> languageKeysList, String languageKey) {
 
-		while (true) {
-			int pos = buildGradleFileLocation.lastIndexOf(StringPool.SLASH);
-
-			if (pos == -1) {
-				return properties;
+		for (Set<String> languageKeys : languageKeysList) {
+			if (languageKeys.contains(languageKey)) {
+				return true;
 			}
+		}
 
-			buildGradleFileLocation = buildGradleFileLocation.substring(
-				0, pos + 1);
-
-			File file = new File(buildGradleFileLocation + "build.gradle");
+		return false;
+	}
 
-			if (file.exists()) {
-				buildGradleContent = FileUtil.read(file);
+	private Set<String> _getBNDLanguageKeys(BNDSettings bndSettings)
+		throws IOException {
 
-				break;
-			}
+		Properties bndLanguageProperties = bndSettings.getLanguageProperties();
 
-			buildGradleFileLocation = StringUtil.replaceLast(
-				buildGradleFileLocation, CharPool.SLASH, StringPool.BLANK);
+		if (bndLanguageProperties == null) {
+			return null;
 		}
 
+		return LanguageKeysIndex.getLanguageKeys(
+			bndSettings.getFileName(),
+			() -> LanguageKeysIndex.getLanguageKeys(bndLanguageProperties));
+	}
+
+	private Set<String> _getBuildGradleLanguageKeys(ModuleModel moduleModel) {
+		String buildGradleContent = moduleModel.getBuildGradleContent();
+
 		Matcher matcher = _applyLangMergerPluginPattern.matcher(
 			buildGradleContent);
 
 		if (!matcher.find()) {
-			return properties;
+			return Collections.emptySet();
 		}
 
 		String moduleLocation = StringUtil.replaceLast(
-			buildGradleFileLocation, CharPool.SLASH, StringPool.BLANK);
+			moduleModel.getDirName(), CharPool.SLASH, StringPool.BLANK);
 
 		List<String> moduleLangDirNames = _getModuleLangDirNames(
 			moduleLocation, buildGradleContent);
 
-		for (String moduleLangDirName : moduleLangDirNames) {
-			String moduleLangLanguagePropertiesFileName =
-				moduleLangDirName + "/Language.properties";
+		Set<String> languageKeys = new HashSet<>();
 
-			File file = new File(moduleLangLanguagePropertiesFileName);
+		for (String moduleLangDirName : moduleLangDirNames) {
+			languageKeys.addAll(
+				LanguageKeysIndex.getLanguageKeys(
+					moduleLangDirName + "/Language.properties"));
+		}
 
-			if (!file.exists()) {
-				continue;
-			}
+		return Collections.unmodifiableSet(languageKeys);
+	}
 
-			InputStream inputStream = new FileInputStream(file);
+	private Set<String> _getBuildGradleLanguageKeys(String absolutePath) {
+		ModuleModel moduleModel = ModuleModel.getBuildGradleModuleModel(
+			absolutePath);
 
-			properties.load(inputStream);
+		if (moduleModel == null) {
+			return Collections.emptySet();
 		}
 
-		return properties;
+		return LanguageKeysIndex.getLanguageKeys(
+			moduleModel.getDirName() + "build.gradle",
+			() -> _getBuildGradleLanguageKeys(moduleModel));
 	}
 
-	private Properties _getLangModuleLanguageProperties(String absolutePath)
-		throws IOException {
+	private List<Set<String>> _getLangModuleLanguageKeysList(
+		String absolutePath) {
 
-		Properties properties = new Properties();
+		List<Set<String>> langModuleLanguageKeysList = new ArrayList<>();
 
 		if (!isModulesFile(absolutePath)) {
-			return properties;
+			return langModuleLanguageKeysList;
 		}
 
 		List<String> langModulePaths = new ArrayList<>();
@@ -251,15 +253,8 @@ public class LanguageKeysCheck extends BaseFileCheck {
 				break;
 			}
 
-			File directory = new File(fileLocation);
-
-			if (!directory.exists()) {
-				continue;
-			}
-
-			for (File subdirectory : directory.listFiles(File::isDirectory)) {
-				String subdirectoryPath = SourceUtil.getAbsolutePath(
-					subdirectory);
+			for (String subdirectoryPath :
+					ModuleModel.getSubdirectoryPaths(fileLocation)) {
 
 				if (subdirectoryPath.endsWith("-lang")) {
 					langModulePaths.add(subdirectoryPath);
@@ -274,27 +269,27 @@ public class LanguageKeysCheck extends BaseFileCheck {
 		}
 
 		for (String langModulePath : langModulePaths) {
-			List<String> languagePropertyFileNames =
-				SourceFormatterUtil.scanForFileNames(
-					langModulePath, new String[0],
-					new String[] {"**/resources/content/Language.properties"},
-					new SourceFormatterExcludes(), true);
-
-			if (!languagePropertyFileNames.isEmpty()) {
-				properties.load(
-					new FileInputStream(
-						new File(languagePropertyFileNames.get(0))));
+			ModuleModel moduleModel = ModuleModel.getModuleModel(
+				langModulePath + StringPool.SLASH);
+
+			String languagePropertiesFileName =
+				moduleModel.getLanguagePropertiesFileName();
+
+			if (languagePropertiesFileName != null) {
+				langModuleLanguageKeysList.add(
+					LanguageKeysIndex.getLanguageKeys(
+						languagePropertiesFileName));
 			}
 		}
 
 		if (absolutePath.contains("/modules/dxp/apps/")) {
-			properties.putAll(
-				_getLangModuleLanguageProperties(
+			langModuleLanguageKeysList.addAll(
+				_getLangModuleLanguageKeysList(
 					StringUtil.replace(
 						absolutePath, "/modules/dxp/apps/", "/modules/apps/")));
 		}
 
-		return properties;
+		return langModuleLanguageKeysList;
 	}
 
 	private String[] _getLanguageKeys(Matcher matcher) {
@@ -423,9 +418,7 @@ public class LanguageKeysCheck extends BaseFileCheck {
 		return moduleLangDirNames;
 	}
 
-	private Properties _getModuleLanguageProperties(String fileName) {
-		Properties properties = new Properties();
-
+	private Set<String> _getModuleLanguageKeys(String fileName) {
 		StringBundler sb = new StringBundler(3);
 
 		int pos = fileName.indexOf("/docroot/");
@@ -438,7 +431,7 @@ public class LanguageKeysCheck extends BaseFileCheck {
 			pos = fileName.indexOf("src/");
 
 			if (pos == -1) {
-				return properties;
+				return Collections.emptySet();
 			}
 
 			sb.append(fileName.substring(0, pos + 4));
@@ -450,39 +443,24 @@ public class LanguageKeysCheck extends BaseFileCheck {
 
 		sb.append("content/Language.properties");
 
-		try {
-			properties = new Properties();
-
-			InputStream inputStream = new FileInputStream(sb.toString());
-
-			properties.load(inputStream);
-
-			return properties;
-		}
-		catch (Exception exception) {
-			if (_log.isDebugEnabled()) {
-				_log.debug(exception);
-			}
-		}
-
-		return properties;
+		return LanguageKeysIndex.getLanguageKeys(sb.toString());
 	}
 
-	private synchronized Properties _getPortalLanguageProperties(
+	private synchronized Set<String> _getPortalLanguageKeys(
 			String absolutePath)
 		throws IOException {
 
-		if (_portalLanguageProperties != null) {
-			return _portalLanguageProperties;
+		if (_portalLanguageKeys != null) {
+			return _portalLanguageKeys;
 		}
 
-		_portalLanguageProperties = new Properties();
+		_portalLanguageKeys = Collections.emptySet();
 
 		String portalLanguagePropertiesFileName = getAttributeValue(
 			_PORTAL_LANGUAGE_PROPERTIES_FILE_NAME, absolutePath);
 
 		if (Validator.isNull(portalLanguagePropertiesFileName)) {
-			return _portalLanguageProperties;
+			return _portalLanguageKeys;
 		}
 
 		String propertiesContent = getPortalContent(
@@ -492,17 +470,14 @@ public class LanguageKeysCheck extends BaseFileCheck {
 
 		properties.load(new StringReader(propertiesContent));
 
-		_portalLanguageProperties.putAll(properties);
+		_portalLanguageKeys = LanguageKeysIndex.getLanguageKeys(properties);
 
-		return _portalLanguageProperties;
+		return _portalLanguageKeys;
 	}
 
 	private static final String _PORTAL_LANGUAGE_PROPERTIES_FILE_NAME =
 		"portalLanguagePropertiesFileName";
 
-	private static final Log _log = LogFactoryUtil.getLog(
-		LanguageKeysCheck.class);
-
 	private static final Pattern _applyLangMergerPluginPattern =
 		Pattern.compile(
 			"^apply[ \t]+plugin[ \t]*:[ \t]+\"com.liferay.lang.merger\"$",
@@ -515,6 +490,6 @@ public class LanguageKeysCheck extends BaseFileCheck {
 	private static final Pattern _metaAnnotationNameParameterPattern =
 		Pattern.compile("@Meta\\.(?:AD|OCD)\\([^\\{]*?name\\s*=\\s*\"(.+?)\"");
 
-	private Properties _portalLanguageProperties;
+	private Set<String> _portalLanguageKeys;
 
 }
\ No newline at end of file
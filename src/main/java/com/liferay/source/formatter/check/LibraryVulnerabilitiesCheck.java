@@ -7,15 +7,19 @@ package com.liferay.source.formatter.check;
 
 import com.liferay.petra.string.StringBundler;
 import com.liferay.petra.string.StringPool;
+import com.liferay.portal.json.JSONArrayImpl;
 import com.liferay.portal.json.JSONObjectImpl;
 import com.liferay.portal.kernel.json.JSONArray;
 import com.liferay.portal.kernel.json.JSONException;
 import com.liferay.portal.kernel.json.JSONObject;
 import com.liferay.portal.kernel.log.Log;
 import com.liferay.portal.kernel.log.LogFactoryUtil;
+import com.liferay.portal.kernel.util.GetterUtil;
 import com.liferay.portal.kernel.util.StringUtil;
+import com.liferay.portal.kernel.util.SystemProperties;
 import com.liferay.portal.kernel.util.Validator;
 import com.liferay.source.formatter.SourceFormatterArgs;
+import com.liferay.source.formatter.check.util.LibraryVulnerabilitiesCache;
 import com.liferay.source.formatter.check.util.SourceUtil;
 import com.liferay.source.formatter.processor.SourceProcessor;
 import com.liferay.source.formatter.util.FileUtil;
@@ -37,12 +41,13 @@ import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Enumeration;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Properties;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.http.HttpStatus;
 import org.apache.http.StatusLine;
@@ -65,6 +70,19 @@ import org.dom4j.Element;
  */
 public class LibraryVulnerabilitiesCheck extends BaseFileCheck {
 
+	public static void saveVulnerabilitiesCache() {
+		try {
+			_libraryVulnerabilitiesCache.save();
+		}
+		catch (IOException ioException) {
+			if (_log.isWarnEnabled()) {
+				_log.warn(
+					"Unable to save the library vulnerabilities cache",
+					ioException);
+			}
+		}
+	}
+
 	@Override
 	public boolean isLiferaySourceCheck() {
 		return true;
@@ -84,8 +102,6 @@ public class LibraryVulnerabilitiesCheck extends BaseFileCheck {
 			return content;
 		}
 
-		_githubAccessToken = _getGithubAccessToken(sourceFormatterArgs);
-
 		if (fileName.endsWith(".gradle")) {
 			_checkGradleLibraryVulnerabilities(fileName, absolutePath, content);
 		}
@@ -106,6 +122,69 @@ public class LibraryVulnerabilitiesCheck extends BaseFileCheck {
 		return content;
 	}
 
+	private static void _cacheSecurityVulnerabilityNodes(
+		String key, List<String> severities,
+		List<SecurityVulnerabilityNode> securityVulnerabilityNodes) {
+
+		JSONArray nodesJSONArray = new JSONArrayImpl();
+
+		for (SecurityVulnerabilityNode securityVulnerabilityNode :
+				securityVulnerabilityNodes) {
+
+			JSONObject nodeJSONObject = new JSONObjectImpl();
+
+			nodeJSONObject.put(
+				"permalink", securityVulnerabilityNode.getPermalink()
+			).put(
+				"summary", securityVulnerabilityNode.getSummary()
+			).put(
+				"vulnerableVersionRange",
+				securityVulnerabilityNode.getVulnerableVersionRange()
+			);
+
+			nodesJSONArray.put(nodeJSONObject);
+		}
+
+		_libraryVulnerabilitiesCache.put(key, severities, nodesJSONArray);
+	}
+
+	private static List<SecurityVulnerabilityNode>
+			_getCachedSecurityVulnerabilityNodes(
+				String key, List<String> severities, long cacheMaxAge)
+		throws Exception {
+
+		JSONArray nodesJSONArray =
+			_libraryVulnerabilitiesCache.getNodesJSONArray(
+				key, severities, cacheMaxAge);
+
+		if (nodesJSONArray == null) {
+			return null;
+		}
+
+		List<SecurityVulnerabilityNode> securityVulnerabilityNodes =
+			new ArrayList<>();
+
+		Iterator<JSONObject> iterator = nodesJSONArray.iterator();
+
+		while (iterator.hasNext()) {
+			JSONObject nodeJSONObject = iterator.next();
+
+			SecurityVulnerabilityNode securityVulnerabilityNode =
+				new SecurityVulnerabilityNode();
+
+			securityVulnerabilityNode.setPermalink(
+				nodeJSONObject.getString("permalink"));
+			securityVulnerabilityNode.setSummary(
+				nodeJSONObject.getString("summary"));
+			securityVulnerabilityNode.setVersionRange(
+				nodeJSONObject.getString("vulnerableVersionRange"));
+
+			securityVulnerabilityNodes.add(securityVulnerabilityNode);
+		}
+
+		return securityVulnerabilityNodes;
+	}
+
 	private static boolean _isGenerateVulnerableLibrariesCacheFile() {
 		if (Validator.isNull(System.getenv("JENKINS_HOME"))) {
 			return false;
@@ -353,14 +432,13 @@ public class LibraryVulnerabilitiesCheck extends BaseFileCheck {
 		}
 	}
 
-	private void _checkVulnerabilities(
-		String fileName, String packageName,
-		SecurityAdvisoryEcosystemEnum securityAdvisoryEcosystemEnum,
-		DefaultArtifactVersion version) {
+	private boolean _checkVulnerabilities(
+		String fileName, String packageName, DefaultArtifactVersion version,
+		List<SecurityVulnerabilityNode> securityVulnerabilityNodes) {
 
-		List<SecurityVulnerabilityNode> securityVulnerabilityNodes =
-			_cachedVulnerableVersionMap.get(
-				securityAdvisoryEcosystemEnum + ":" + packageName);
+		if (securityVulnerabilityNodes == null) {
+			return false;
+		}
 
 		for (SecurityVulnerabilityNode securityVulnerabilityNode :
 				securityVulnerabilityNodes) {
@@ -377,9 +455,11 @@ public class LibraryVulnerabilitiesCheck extends BaseFileCheck {
 						securityVulnerabilityNode.getSummary(), ", ",
 						securityVulnerabilityNode.getPermalink(), ")"));
 
-				return;
+				return true;
 			}
 		}
+
+		return false;
 	}
 
 	private void _checkVulnerabilities(
@@ -398,59 +478,69 @@ public class LibraryVulnerabilitiesCheck extends BaseFileCheck {
 			return;
 		}
 
-		for (String line :
-				StringUtil.splitLines(_getCachedKnownVulnerabilities())) {
+		DefaultArtifactVersion defaultArtifactVersion =
+			new DefaultArtifactVersion(version);
 
-			String[] parts = StringUtil.split(line, StringPool.SEMICOLON);
-
-			VersionRange versionRange = VersionRange.createFromVersionSpec(
-				parts[2]);
+		String key = securityAdvisoryEcosystemEnum + ":" + packageName;
 
-			DefaultArtifactVersion defaultArtifactVersion =
-				new DefaultArtifactVersion(version);
+		Map<String, List<SecurityVulnerabilityNode>> knownVulnerabilitiesMap =
+			_getKnownVulnerabilitiesMap();
 
-			if ((parts.length == 5) &&
-				Objects.equals(
-					securityAdvisoryEcosystemEnum.name(), parts[0]) &&
-				packageName.equals(parts[1]) &&
-				versionRange.containsVersion(defaultArtifactVersion)) {
-
-				addMessage(
-					fileName,
-					StringBundler.concat(
-						"Library '", packageName, ":", version,
-						"' contains known vulnerabilities(", parts[3], ", ",
-						parts[4], ")"));
+		if (_checkVulnerabilities(
+				fileName, packageName, defaultArtifactVersion,
+				knownVulnerabilitiesMap.get(key))) {
 
-				return;
-			}
-		}
-
-		if (Validator.isNull(_githubAccessToken)) {
 			return;
 		}
 
-		if (!_cachedVulnerableVersionMap.containsKey(
-				securityAdvisoryEcosystemEnum + ":" + packageName)) {
-
+		if (!_cachedVulnerableVersionMap.containsKey(key)) {
 			_generateVulnerableVersionMap(
 				packageName, securityAdvisoryEcosystemEnum,
-				getAttributeValues(_SEVERITIES_KEY, absolutePath));
+				getAttributeValues(_SEVERITIES_KEY, absolutePath),
+				TimeUnit.HOURS.toMillis(
+					GetterUtil.getLong(
+						getAttributeValue(
+							_CACHE_MAX_AGE_HOURS_KEY, absolutePath),
+						_CACHE_MAX_AGE_HOURS)));
 		}
 
 		_checkVulnerabilities(
-			fileName, packageName, securityAdvisoryEcosystemEnum,
-			new DefaultArtifactVersion(version));
+			fileName, packageName, defaultArtifactVersion,
+			_cachedVulnerableVersionMap.get(key));
 	}
 
 	private void _generateVulnerableVersionMap(
 			String packageName,
 			SecurityAdvisoryEcosystemEnum securityAdvisoryEcosystemEnum,
-			List<String> severities)
+			List<String> severities, long cacheMaxAge)
 		throws Exception {
 
-		if (_cachedVulnerableVersionMap.containsKey(
-				securityAdvisoryEcosystemEnum + ":" + packageName)) {
+		String key = securityAdvisoryEcosystemEnum + ":" + packageName;
+
+		if (_cachedVulnerableVersionMap.containsKey(key)) {
+			return;
+		}
+
+		if (!_isGenerateVulnerableLibrariesCacheFile()) {
+			List<SecurityVulnerabilityNode> securityVulnerabilityNodes =
+				_getCachedSecurityVulnerabilityNodes(
+					key, severities, cacheMaxAge);
+
+			if (securityVulnerabilityNodes != null) {
+				_cachedVulnerableVersionMap.put(
+					key, securityVulnerabilityNodes);
+
+				return;
+			}
+		}
+
+		// Only retrieve the access token when the vulnerabilities are not
+		// cached, so that cached runs do not need network access
+
+		String githubAccessToken = _getGithubAccessToken();
+
+		if (Validator.isNull(githubAccessToken)) {
+			_cachedVulnerableVersionMap.put(key, Collections.emptyList());
 
 			return;
 		}
@@ -458,13 +548,20 @@ public class LibraryVulnerabilitiesCheck extends BaseFileCheck {
 		List<SecurityVulnerabilityNode> securityVulnerabilityNodes =
 			_getSecurityVulnerabilityNodes(
 				packageName, null, securityAdvisoryEcosystemEnum, severities,
-				_githubAccessToken);
+				githubAccessToken);
+
+		if (securityVulnerabilityNodes == null) {
+			_cachedVulnerableVersionMap.put(key, Collections.emptyList());
 
-		_cachedVulnerableVersionMap.put(
-			securityAdvisoryEcosystemEnum + ":" + packageName,
-			securityVulnerabilityNodes);
+			return;
+		}
+
+		_cachedVulnerableVersionMap.put(key, securityVulnerabilityNodes);
 
 		if (!_isGenerateVulnerableLibrariesCacheFile()) {
+			_cacheSecurityVulnerabilityNodes(
+				key, severities, securityVulnerabilityNodes);
+
 			return;
 		}
 
@@ -489,29 +586,6 @@ public class LibraryVulnerabilitiesCheck extends BaseFileCheck {
 		}
 	}
 
-	private synchronized String _getCachedKnownVulnerabilities()
-		throws Exception {
-
-		if (Validator.isNotNull(_cachedKnownVulnerabilities)) {
-			return _cachedKnownVulnerabilities;
-		}
-
-		_cachedKnownVulnerabilities = StringPool.BLANK;
-
-		if (!_isGenerateVulnerableLibrariesCacheFile()) {
-			File vulnerableLibrariesFile = new File(
-				getPortalDir(),
-				"../liferay-binaries-cache-2020/vulnerable_libraries.txt");
-
-			if (vulnerableLibrariesFile.exists()) {
-				_cachedKnownVulnerabilities = FileUtil.read(
-					vulnerableLibrariesFile);
-			}
-		}
-
-		return _cachedKnownVulnerabilities;
-	}
-
 	private String _getCiGithubAccessToken() {
 		Properties properties = new Properties();
 
@@ -533,14 +607,18 @@ public class LibraryVulnerabilitiesCheck extends BaseFileCheck {
 		return properties.getProperty("github.access.token");
 	}
 
-	private synchronized String _getGithubAccessToken(
-			SourceFormatterArgs sourceFormatterArgs)
-		throws Exception {
-
-		if (Validator.isNotNull(_githubAccessToken)) {
+	private synchronized String _getGithubAccessToken() throws Exception {
+		if (_githubAccessTokenRetrieved) {
 			return _githubAccessToken;
 		}
 
+		_githubAccessTokenRetrieved = true;
+
+		SourceProcessor sourceProcessor = getSourceProcessor();
+
+		SourceFormatterArgs sourceFormatterArgs =
+			sourceProcessor.getSourceFormatterArgs();
+
 		if (sourceFormatterArgs.isUseCiGithubAccessToken() ||
 			_isGenerateVulnerableLibrariesCacheFile()) {
 
@@ -553,6 +631,55 @@ public class LibraryVulnerabilitiesCheck extends BaseFileCheck {
 		return _githubAccessToken;
 	}
 
+	private synchronized Map<String, List<SecurityVulnerabilityNode>>
+			_getKnownVulnerabilitiesMap()
+		throws Exception {
+
+		if (_knownVulnerabilitiesMap != null) {
+			return _knownVulnerabilitiesMap;
+		}
+
+		_knownVulnerabilitiesMap = new HashMap<>();
+
+		if (_isGenerateVulnerableLibrariesCacheFile()) {
+			return _knownVulnerabilitiesMap;
+		}
+
+		File vulnerableLibrariesFile = new File(
+			getPortalDir(),
+			"../liferay-binaries-cache-2020/vulnerable_libraries.txt");
+
+		if (!vulnerableLibrariesFile.exists()) {
+			return _knownVulnerabilitiesMap;
+		}
+
+		for (String line :
+				StringUtil.splitLines(FileUtil.read(vulnerableLibrariesFile))) {
+
+			String[] parts = StringUtil.split(line, StringPool.SEMICOLON);
+
+			if (parts.length != 5) {
+				continue;
+			}
+
+			SecurityVulnerabilityNode securityVulnerabilityNode =
+				new SecurityVulnerabilityNode();
+
+			securityVulnerabilityNode.setPermalink(parts[4]);
+			securityVulnerabilityNode.setSummary(parts[3]);
+			securityVulnerabilityNode.setVersionRange(
+				VersionRange.createFromVersionSpec(parts[2]));
+
+			List<SecurityVulnerabilityNode> securityVulnerabilityNodes =
+				_knownVulnerabilitiesMap.computeIfAbsent(
+					parts[0] + ":" + parts[1], key -> new ArrayList<>());
+
+			securityVulnerabilityNodes.add(securityVulnerabilityNode);
+		}
+
+		return _knownVulnerabilitiesMap;
+	}
+
 	private String _getLocalGithubAccessToken() throws Exception {
 		File file = getPortalDir();
 
@@ -616,7 +743,7 @@ public class LibraryVulnerabilitiesCheck extends BaseFileCheck {
 			StatusLine statusLine = closeableHttpResponse.getStatusLine();
 
 			if (statusLine.getStatusCode() != HttpStatus.SC_OK) {
-				return Collections.emptyList();
+				return null;
 			}
 
 			JSONObject jsonObject = new JSONObjectImpl(
@@ -626,14 +753,14 @@ public class LibraryVulnerabilitiesCheck extends BaseFileCheck {
 			JSONObject dataJSONObject = jsonObject.getJSONObject("data");
 
 			if (dataJSONObject == null) {
-				return Collections.emptyList();
+				return null;
 			}
 
 			JSONObject securityVulnerabilitiesJSONObject =
 				dataJSONObject.getJSONObject("securityVulnerabilities");
 
 			if (securityVulnerabilitiesJSONObject == null) {
-				return Collections.emptyList();
+				return null;
 			}
 
 			int totalCount = securityVulnerabilitiesJSONObject.getInt(
@@ -675,22 +802,29 @@ public class LibraryVulnerabilitiesCheck extends BaseFileCheck {
 				securityVulnerabilitiesJSONObject.getJSONObject("pageInfo");
 
 			if (pageInfoJSONObject.getBoolean("hasNextPage")) {
+				List<SecurityVulnerabilityNode>
+					nextSecurityVulnerabilityNodes =
+						_getSecurityVulnerabilityNodes(
+							packageName,
+							pageInfoJSONObject.getString("endCursor"),
+							securityAdvisoryEcosystemEnum, severities,
+							githubToken);
+
+				if (nextSecurityVulnerabilityNodes == null) {
+					return null;
+				}
+
 				securityVulnerabilityNodes.addAll(
-					_getSecurityVulnerabilityNodes(
-						packageName, pageInfoJSONObject.getString("endCursor"),
-						securityAdvisoryEcosystemEnum, severities,
-						githubToken));
+					nextSecurityVulnerabilityNodes);
 			}
 
-			if (!securityVulnerabilityNodes.isEmpty()) {
-				return securityVulnerabilityNodes;
-			}
+			return securityVulnerabilityNodes;
 		}
 		catch (Exception exception) {
 			_log.error(exception);
 		}
 
-		return Collections.emptyList();
+		return null;
 	}
 
 	private void _write(File file, String content) throws Exception {
@@ -708,6 +842,10 @@ public class LibraryVulnerabilitiesCheck extends BaseFileCheck {
 	private static final String _BUILD_PROPERTIES_FILE_NAME =
 		"build." + System.getProperty("user.name") + ".properties";
 
+	private static final long _CACHE_MAX_AGE_HOURS = 24;
+
+	private static final String _CACHE_MAX_AGE_HOURS_KEY = "cacheMaxAgeHours";
+
 	private static final String _CI_PROPERTIES_URL =
 		"http://mirrors.lax.liferay.com/github.com/liferay/liferay-jenkins-" +
 			"ee/commands/build.properties";
@@ -717,10 +855,18 @@ public class LibraryVulnerabilitiesCheck extends BaseFileCheck {
 	private static final Log _log = LogFactoryUtil.getLog(
 		LibraryVulnerabilitiesCheck.class);
 
-	private String _cachedKnownVulnerabilities;
+	private static final LibraryVulnerabilitiesCache
+		_libraryVulnerabilitiesCache = new LibraryVulnerabilitiesCache(
+			new File(
+				SystemProperties.get(SystemProperties.TMP_DIR),
+				"library-vulnerabilities-cache.json"));
+
 	private final Map<String, List<SecurityVulnerabilityNode>>
 		_cachedVulnerableVersionMap = new ConcurrentHashMap<>();
 	private String _githubAccessToken;
+	private boolean _githubAccessTokenRetrieved;
+	private Map<String, List<SecurityVulnerabilityNode>>
+		_knownVulnerabilitiesMap;
 
 	private static class SecurityVulnerabilityNode {
 
@@ -736,6 +882,10 @@ public class LibraryVulnerabilitiesCheck extends BaseFileCheck {
 			return _versionRange;
 		}
 
+		public String getVulnerableVersionRange() {
+			return _vulnerableVersionRange;
+		}
+
 		public void setPermalink(String permalink) {
 			_permalink = permalink;
 		}
@@ -747,6 +897,8 @@ public class LibraryVulnerabilitiesCheck extends BaseFileCheck {
 		public void setVersionRange(String vulnerableVersionRange)
 			throws InvalidVersionSpecificationException {
 
+			_vulnerableVersionRange = vulnerableVersionRange;
+
 			if (!vulnerableVersionRange.contains(StringPool.COMMA)) {
 				String[] versionArray = vulnerableVersionRange.split(
 					StringPool.SPACE, 2);
@@ -797,9 +949,14 @@ public class LibraryVulnerabilitiesCheck extends BaseFileCheck {
 			}
 		}
 
+		public void setVersionRange(VersionRange versionRange) {
+			_versionRange = versionRange;
+		}
+
 		private String _permalink;
 		private String _summary;
 		private VersionRange _versionRange;
+		private String _vulnerableVersionRange;
 
 	}
 
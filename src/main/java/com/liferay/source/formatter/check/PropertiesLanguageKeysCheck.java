@@ -114,11 +114,12 @@ public class PropertiesLanguageKeysCheck extends BaseFileCheck {
 
 		Properties portalLanguageProperties = new Properties();
 
-		InputStream inputStream = getPortalInputStream(
-			portalLanguagePropertiesFileName, absolutePath);
+		try (InputStream inputStream = getPortalInputStream(
+				portalLanguagePropertiesFileName, absolutePath)) {
 
-		if (inputStream != null) {
-			portalLanguageProperties.load(inputStream);
+			if (inputStream != null) {
+				portalLanguageProperties.load(inputStream);
+			}
 		}
 
 		_portalLanguageProperties = portalLanguageProperties;
@@ -25,7 +25,10 @@ import com.liferay.source.formatter.parser.JavaVariable;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -101,24 +104,32 @@ public class UpgradeCatchAllCheck extends BaseFileCheck {
 			}
 		}
 
-		JSONArray jsonArray = _getReplacementsJSONArray("replacements.json");
-
-		for (int i = 0; i < jsonArray.length(); i++) {
-			JSONObject jsonObject = jsonArray.getJSONObject(i);
+		JavaClass javaClass = null;
+		String javaClassContent = null;
 
-			if (!_hasValidExtension(fileName, jsonObject)) {
-				continue;
-			}
+		for (Replacement replacement : _getReplacements(fileName)) {
+			JSONObject jsonObject = replacement.getJSONObject();
 
 			String oldContent = content;
 
 			_newMessage = false;
 
-			if (fileName.endsWith(".java")) {
-				content = _formatJava(content, fileName, jsonObject);
-			}
-			else {
-				content = _formatGeneral(content, fileName, jsonObject);
+			if (replacement.isApplicable(content)) {
+				if (fileName.endsWith(".java")) {
+					if ((javaClass == null) ||
+						!content.equals(javaClassContent)) {
+
+						javaClass = JavaClassParser.parseJavaClass(
+							fileName, content);
+						javaClassContent = content;
+					}
+
+					content = _formatJava(
+						content, fileName, javaClass, replacement);
+				}
+				else {
+					content = _formatGeneral(content, fileName, replacement);
+				}
 			}
 
 			if (_testMode && oldContent.equals(content)) {
@@ -140,6 +151,41 @@ public class UpgradeCatchAllCheck extends BaseFileCheck {
 		return content;
 	}
 
+	private static String _getAnchor(String from) {
+		if (from.startsWith("regex:")) {
+			return null;
+		}
+
+		// Only the part before the parameters is kept in the pattern, see
+		// _getPattern
+
+		int x = from.indexOf(CharPool.OPEN_PARENTHESIS);
+
+		if (x != -1) {
+			from = from.substring(0, x);
+		}
+
+		x = from.indexOf(CharPool.LESS_THAN);
+
+		if (x != -1) {
+			from = from.substring(0, x);
+		}
+
+		String anchor = null;
+
+		Matcher matcher = _anchorPattern.matcher(from);
+
+		while (matcher.find()) {
+			String s = matcher.group();
+
+			if ((anchor == null) || (s.length() > anchor.length())) {
+				anchor = s;
+			}
+		}
+
+		return anchor;
+	}
+
 	private static List<String> _getInterpolatedNewParameterNames(
 		List<String> parameterNames, List<String> newParameterNames,
 		String prefix) {
@@ -267,6 +313,22 @@ public class UpgradeCatchAllCheck extends BaseFileCheck {
 		return Pattern.compile("\\w+\\.[\\w\\(\\)\\s\\.]*" + regex);
 	}
 
+	private static List<Replacement> _getReplacements(String fileName)
+		throws Exception {
+
+		Map<String, List<Replacement>> replacementsMap = _replacementsMap;
+
+		if (replacementsMap == null) {
+			replacementsMap = _loadReplacementsMap();
+		}
+
+		String extension = fileName.substring(
+			fileName.lastIndexOf(CharPool.PERIOD) + 1);
+
+		return replacementsMap.getOrDefault(
+			extension, Collections.emptyList());
+	}
+
 	private static JSONArray _getReplacementsJSONArray(String fileName)
 		throws Exception {
 
@@ -277,6 +339,45 @@ public class UpgradeCatchAllCheck extends BaseFileCheck {
 				classLoader.getResourceAsStream("dependencies/" + fileName)));
 	}
 
+	private static synchronized Map<String, List<Replacement>>
+			_loadReplacementsMap()
+		throws Exception {
+
+		if (_replacementsMap == null) {
+			Map<String, List<Replacement>> replacementsMap = new HashMap<>();
+
+			JSONArray jsonArray = _getReplacementsJSONArray(
+				"replacements.json");
+
+			for (int i = 0; i < jsonArray.length(); i++) {
+				JSONObject jsonObject = jsonArray.getJSONObject(i);
+
+				String[] validExtensions = JSONUtil.toStringArray(
+					jsonObject.getJSONArray("validExtensions"));
+
+				if (validExtensions.length == 0) {
+					validExtensions = new String[] {"java"};
+				}
+
+				Replacement replacement = new Replacement(
+					jsonObject, _getAnchor(jsonObject.getString("from")),
+					_getPattern(jsonObject));
+
+				for (String validExtension : validExtensions) {
+					List<Replacement> replacements =
+						replacementsMap.computeIfAbsent(
+							validExtension, key -> new ArrayList<>());
+
+					replacements.add(replacement);
+				}
+			}
+
+			_replacementsMap = replacementsMap;
+		}
+
+		return _replacementsMap;
+	}
+
 	private String _addNewReference(String content, String newReference) {
 		if (!newReference.equals(StringPool.BLANK)) {
 			content = JavaSourceUtil.addImports(
@@ -349,11 +450,13 @@ public class UpgradeCatchAllCheck extends BaseFileCheck {
 	}
 
 	private String _formatGeneral(
-		String content, String fileName, JSONObject jsonObject) {
+		String content, String fileName, Replacement replacement) {
+
+		JSONObject jsonObject = replacement.getJSONObject();
 
 		String newContent = content;
 
-		Pattern pattern = _getPattern(jsonObject);
+		Pattern pattern = replacement.getPattern();
 
 		Matcher matcher = pattern.matcher(content);
 
@@ -364,7 +467,9 @@ public class UpgradeCatchAllCheck extends BaseFileCheck {
 			String to = jsonObject.getString("to");
 
 			if (from.startsWith("regex:")) {
-				newContent = newContent.replaceAll(pattern.toString(), to);
+				Matcher newContentMatcher = pattern.matcher(newContent);
+
+				newContent = newContentMatcher.replaceAll(to);
 			}
 			else if (from.contains(StringPool.OPEN_PARENTHESIS)) {
 				newContent = _formatMethodCall(
@@ -397,12 +502,15 @@ public class UpgradeCatchAllCheck extends BaseFileCheck {
 	}
 
 	private String _formatJava(
-			String content, String fileName, JSONObject jsonObject)
+			String content, String fileName, JavaClass javaClass,
+			Replacement replacement)
 		throws Exception {
 
+		JSONObject jsonObject = replacement.getJSONObject();
+
 		String newContent = content;
 
-		JavaClass javaClass = JavaClassParser.parseJavaClass(fileName, content);
+		Pattern pattern = replacement.getPattern();
 
 		for (JavaTerm childJavaTerm : javaClass.getChildJavaTerms()) {
 			String javaContent = null;
@@ -422,8 +530,6 @@ public class UpgradeCatchAllCheck extends BaseFileCheck {
 				continue;
 			}
 
-			Pattern pattern = _getPattern(jsonObject);
-
 			Matcher matcher = pattern.matcher(javaContent);
 
 			while (matcher.find()) {
@@ -444,7 +550,9 @@ public class UpgradeCatchAllCheck extends BaseFileCheck {
 				String to = jsonObject.getString("to");
 
 				if (from.startsWith("regex:")) {
-					newContent = newContent.replaceAll(pattern.toString(), to);
+					Matcher newContentMatcher = pattern.matcher(newContent);
+
+					newContent = newContentMatcher.replaceAll(to);
 				}
 				else if (from.contains(StringPool.OPEN_PARENTHESIS)) {
 					newContent = _formatMethodCall(
@@ -471,8 +579,6 @@ public class UpgradeCatchAllCheck extends BaseFileCheck {
 			Set<String> keys = jsonObject.keySet();
 
 			if (!keys.contains("to")) {
-				Pattern pattern = _getPattern(jsonObject);
-
 				Matcher matcher = pattern.matcher(content);
 
 				if (matcher.find()) {
@@ -592,23 +698,6 @@ public class UpgradeCatchAllCheck extends BaseFileCheck {
 		return false;
 	}
 
-	private boolean _hasValidExtension(String fileName, JSONObject jsonObject) {
-		String[] validExtensions = JSONUtil.toStringArray(
-			jsonObject.getJSONArray("validExtensions"));
-
-		if (validExtensions.length == 0) {
-			validExtensions = new String[] {"java"};
-		}
-
-		for (String validExtension : validExtensions) {
-			if (fileName.endsWith(CharPool.PERIOD + validExtension)) {
-				return true;
-			}
-		}
-
-		return false;
-	}
-
 	private boolean _hasValidMethodCall(
 		String fileName, String from, String javaMethodContent,
 		JSONObject jsonObject, String newContent, List<String> parameterNames) {
@@ -670,10 +759,44 @@ public class UpgradeCatchAllCheck extends BaseFileCheck {
 	private static final String _CONSTRUCTOR_REGEX =
 		"n?e?w? ?(:?[A-Z][a-z]*)+\\(.*\\)";
 
+	private static final Pattern _anchorPattern = Pattern.compile("\\w+");
 	private static final Pattern _parameterNamePattern = Pattern.compile(
 		"\\w+#(\\d+)#");
+	private static volatile Map<String, List<Replacement>> _replacementsMap;
 	private static boolean _testMode;
 
 	private boolean _newMessage;
 
+	private static class Replacement {
+
+		public Replacement(
+			JSONObject jsonObject, String anchor, Pattern pattern) {
+
+			_jsonObject = jsonObject;
+			_anchor = anchor;
+			_pattern = pattern;
+		}
+
+		public JSONObject getJSONObject() {
+			return _jsonObject;
+		}
+
+		public Pattern getPattern() {
+			return _pattern;
+		}
+
+		public boolean isApplicable(String content) {
+			if ((_anchor == null) || content.contains(_anchor)) {
+				return true;
+			}
+
+			return false;
+		}
+
+		private final String _anchor;
+		private final JSONObject _jsonObject;
+		private final Pattern _pattern;
+
+	}
+
 }
\ No newline at end of file
@@ -6,19 +6,16 @@
 package com.liferay.source.formatter.check;
 
 import com.liferay.petra.string.StringBundler;
-import com.liferay.portal.json.JSONObjectImpl;
 import com.liferay.portal.kernel.json.JSONArray;
 import com.liferay.portal.kernel.json.JSONObject;
 import com.liferay.portal.kernel.util.StringUtil;
 import com.liferay.source.formatter.check.util.SourceUtil;
-import com.liferay.source.formatter.util.PortalJSONObjectUtil;
+import com.liferay.source.formatter.util.PortalAPIIndex;
 import com.liferay.source.formatter.util.SourceFormatterUtil;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -66,11 +63,11 @@ public class XMLUpgradeRemovedDefinitionsCheck extends BaseFileCheck {
 		String upgradeFromVersion = getAttributeValue(
 			SourceFormatterUtil.UPGRADE_FROM_VERSION, absolutePath);
 
-		JSONObject upgradeFromXMLDefinitionsJSONObject =
-			_getXMLDefinitionsJSONObject(upgradeFromVersion);
+		PortalAPIIndex upgradeFromPortalAPIIndex =
+			PortalAPIIndex.getPortalAPIIndexByVersion(upgradeFromVersion);
 
 		JSONObject upgradeFromXMLDefinitionJSONObject =
-			upgradeFromXMLDefinitionsJSONObject.getJSONObject(dtdFileName);
+			upgradeFromPortalAPIIndex.getXMLDefinitionJSONObject(dtdFileName);
 
 		if (upgradeFromXMLDefinitionJSONObject == null) {
 			return content;
@@ -86,11 +83,11 @@ public class XMLUpgradeRemovedDefinitionsCheck extends BaseFileCheck {
 			return content;
 		}
 
-		JSONObject upgradeToXMLDefinitionsJSONObject =
-			_getXMLDefinitionsJSONObject(upgradeToVersion);
+		PortalAPIIndex upgradeToPortalAPIIndex =
+			PortalAPIIndex.getPortalAPIIndexByVersion(upgradeToVersion);
 
 		JSONObject upgradeToXMLDefinitionJSONObject =
-			upgradeToXMLDefinitionsJSONObject.getJSONObject(
+			upgradeToPortalAPIIndex.getXMLDefinitionJSONObject(
 				upgradeToVersionDTDFileName);
 
 		if (upgradeToXMLDefinitionJSONObject != null) {
@@ -196,38 +193,9 @@ public class XMLUpgradeRemovedDefinitionsCheck extends BaseFileCheck {
 		return null;
 	}
 
-	private synchronized JSONObject _getXMLDefinitionsJSONObject(String version)
-		throws Exception {
-
-		JSONObject xmlDefinitionsJSONObject = _xmlDefinitionsJSONObjectMap.get(
-			version);
-
-		if (xmlDefinitionsJSONObject != null) {
-			return xmlDefinitionsJSONObject;
-		}
-
-		JSONObject portalJSONObject =
-			PortalJSONObjectUtil.getPortalJSONObjectByVersion(version);
-
-		if (portalJSONObject.has("xmlDefinitions")) {
-			xmlDefinitionsJSONObject = portalJSONObject.getJSONObject(
-				"xmlDefinitions");
-		}
-		else {
-			xmlDefinitionsJSONObject = new JSONObjectImpl();
-		}
-
-		_xmlDefinitionsJSONObjectMap.put(version, xmlDefinitionsJSONObject);
-
-		return xmlDefinitionsJSONObject;
-	}
-
 	private static final Pattern _dtdFileNamePattern = Pattern.compile(
 		"_(\\d+)_(\\d+)_\\d+\\.dtd");
 	private static final Pattern _versionPattern = Pattern.compile(
 		"^(\\d+)\\.(\\d+)\\.");
 
-	private final Map<String, JSONObject> _xmlDefinitionsJSONObjectMap =
-		new HashMap<>();
-
 }
\ No newline at end of file
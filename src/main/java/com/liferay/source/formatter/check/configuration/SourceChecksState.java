@@ -0,0 +1,42 @@
+/**
+ * SPDX-FileCopyrightText: (c) 2000 Liferay, Inc. https://liferay.com
+ * SPDX-License-Identifier: LGPL-2.1-or-later OR LicenseRef-Liferay-DXP-EULA-2.0.0-2023-06
+ */
+
+package com.liferay.source.formatter.check.configuration;
+
+import com.liferay.source.formatter.check.SourceCheck;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Keeps track of the source checks of a single file across the iterations that
+ * are needed to format it. Whether a check applies to the file only depends on
+ * the path of the file, so it is determined once instead of in every
+ * iteration.
+ *
+ * @author Hugo Huijser
+ */
+public class SourceChecksState {
+
+	public Boolean getApplicable(SourceCheck sourceCheck) {
+		return _applicableMap.get(sourceCheck);
+	}
+
+	public int getIterationCount() {
+		return _iterationCount;
+	}
+
+	public void increaseIterationCount() {
+		_iterationCount++;
+	}
+
+	public void setApplicable(SourceCheck sourceCheck, boolean applicable) {
+		_applicableMap.put(sourceCheck, applicable);
+	}
+
+	private final Map<SourceCheck, Boolean> _applicableMap = new HashMap<>();
+	private int _iterationCount;
+
+}
@@ -14,6 +14,8 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * @author Hugo Huijser
@@ -47,15 +49,17 @@ public class SourceFormatterSuppressions {
 	}
 
 	public boolean isSuppressed(String sourceCheckName, String absolutePath) {
-		List<String> fileNameRegexes = _sourceChecksSuppressionsMap.get(
+		List<Pattern> fileNamePatterns = _sourceChecksSuppressionsMap.get(
 			sourceCheckName);
 
-		if (fileNameRegexes == null) {
+		if (fileNamePatterns == null) {
 			return false;
 		}
 
-		for (String fileNameRegex : fileNameRegexes) {
-			if (absolutePath.matches(".*" + fileNameRegex)) {
+		for (Pattern fileNamePattern : fileNamePatterns) {
+			Matcher matcher = fileNamePattern.matcher(absolutePath);
+
+			if (matcher.matches()) {
 				return true;
 			}
 		}
@@ -74,20 +78,20 @@ public class SourceFormatterSuppressions {
 	private void _addSourceCheckSuppression(
 		String checkName, String fileNameRegex) {
 
-		List<String> fileNameRegexes = _sourceChecksSuppressionsMap.get(
+		List<Pattern> fileNamePatterns = _sourceChecksSuppressionsMap.get(
 			checkName);
 
-		if (fileNameRegexes == null) {
-			fileNameRegexes = new ArrayList<>();
+		if (fileNamePatterns == null) {
+			fileNamePatterns = new ArrayList<>();
 		}
 
-		fileNameRegexes.add(fileNameRegex);
+		fileNamePatterns.add(Pattern.compile(".*" + fileNameRegex));
 
-		_sourceChecksSuppressionsMap.put(checkName, fileNameRegexes);
+		_sourceChecksSuppressionsMap.put(checkName, fileNamePatterns);
 	}
 
 	private final FilterSet _checkstyleFilterSet = new FilterSet();
-	private final Map<String, List<String>> _sourceChecksSuppressionsMap =
+	private final Map<String, List<Pattern>> _sourceChecksSuppressionsMap =
 		new HashMap<>();
 
 }
\ No newline at end of file
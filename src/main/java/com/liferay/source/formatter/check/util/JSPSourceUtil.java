@@ -33,6 +33,7 @@ public class JSPSourceUtil {
 		List<String> fileNames, Set<String> checkedFileNames,
 		Map<String, String> contentsMap, String referencedFileNameRegex) {
 
+		Set<String> fileNamesSet = new HashSet<>(fileNames);
 		Set<String> includedAndReferencedFileNames = new HashSet<>();
 
 		for (String fileName : fileNames) {
@@ -44,10 +45,12 @@ public class JSPSourceUtil {
 				fileName, CharPool.BACK_SLASH, CharPool.SLASH);
 
 			includedAndReferencedFileNames.addAll(
-				getJSPIncludeFileNames(fileName, fileNames, contentsMap, true));
+				getJSPIncludeFileNames(
+					fileName, fileNamesSet, contentsMap, true));
 			includedAndReferencedFileNames.addAll(
 				getJSPReferenceFileNames(
-					fileName, fileNames, contentsMap, referencedFileNameRegex));
+					fileName, fileNamesSet, contentsMap,
+					referencedFileNameRegex));
 		}
 
 		if (includedAndReferencedFileNames.isEmpty()) {
@@ -58,7 +61,7 @@ public class JSPSourceUtil {
 			fileName = StringUtil.replace(
 				fileName, CharPool.SLASH, CharPool.BACK_SLASH);
 
-			if (!fileNames.contains(fileName)) {
+			if (fileNamesSet.add(fileName)) {
 				fileNames.add(fileName);
 			}
 		}
@@ -0,0 +1,131 @@
+/**
+ * SPDX-FileCopyrightText: (c) 2000 Liferay, Inc. https://liferay.com
+ * SPDX-License-Identifier: LGPL-2.1-or-later OR LicenseRef-Liferay-DXP-EULA-2.0.0-2023-06
+ */
+
+package com.liferay.source.formatter.check.util;
+
+import com.liferay.portal.kernel.log.Log;
+import com.liferay.portal.kernel.log.LogFactoryUtil;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Holds the language keys of the language properties files in the workspace,
+ * so that checks can look up whether a language key exists without loading
+ * the same properties files for every file they process.
+ *
+ * <p>
+ * Every set of language keys is immutable. Threads that request the same set
+ * at the same time can each build it, but all of them get the set that is
+ * stored first. The keys are interned, because the same keys are defined in
+ * many modules. All language keys are cleared when a run starts while no other
+ * run of Source Formatter is active in the same JVM.
+ * </p>
+ *
+ * @author Hugo Huijser
+ */
+public class LanguageKeysIndex {
+
+	public static void clear() {
+		_languageKeysMap.clear();
+	}
+
+	public static Set<String> getLanguageKeys(Properties properties) {
+		if (properties.isEmpty()) {
+			return Collections.emptySet();
+		}
+
+		Set<String> languageKeys = new HashSet<>(
+			(int)(properties.size() / 0.75F) + 1);
+
+		for (String languageKey : properties.stringPropertyNames()) {
+			languageKeys.add(languageKey.intern());
+		}
+
+		return Collections.unmodifiableSet(languageKeys);
+	}
+
+	/**
+	 * Returns the language keys of the given language properties file, or an
+	 * empty set if the file does not exist.
+	 */
+	public static Set<String> getLanguageKeys(
+		String languagePropertiesFileName) {
+
+		return getLanguageKeys(
+			languagePropertiesFileName,
+			() -> getLanguageKeys(
+				_readProperties(languagePropertiesFileName)));
+	}
+
+	/**
+	 * Returns the language keys stored under the given key, such as the name
+	 * of the file the language keys were read from. The supplier is only
+	 * called when no language keys are stored under the key yet, and must
+	 * return an immutable set. When the supplier is called by multiple threads
+	 * at the same time, the set that is stored first is returned to all of
+	 * them.
+	 */
+	public static Set<String> getLanguageKeys(
+		String key, Supplier<Set<String>> supplier) {
+
+		Set<String> languageKeys = _languageKeysMap.get(key);
+
+		if (languageKeys != null) {
+			return languageKeys;
+		}
+
+		// The supplier can request other language keys, so it cannot be called
+		// from within ConcurrentHashMap.computeIfAbsent
+
+		languageKeys = supplier.get();
+
+		Set<String> previousLanguageKeys = _languageKeysMap.putIfAbsent(
+			key, languageKeys);
+
+		if (previousLanguageKeys != null) {
+			return previousLanguageKeys;
+		}
+
+		return languageKeys;
+	}
+
+	private static Properties _readProperties(String fileName) {
+		Properties properties = new Properties();
+
+		File file = new File(fileName);
+
+		if (!file.exists()) {
+			return properties;
+		}
+
+		try (InputStream inputStream = new FileInputStream(file)) {
+			properties.load(inputStream);
+		}
+		catch (Exception exception) {
+			if (_log.isDebugEnabled()) {
+				_log.debug(exception);
+			}
+		}
+
+		return properties;
+	}
+
+	private static final Log _log = LogFactoryUtil.getLog(
+		LanguageKeysIndex.class);
+
+	private static final Map<String, Set<String>> _languageKeysMap =
+		new ConcurrentHashMap<>();
+
+}
@@ -0,0 +1,156 @@
+/**
+ * SPDX-FileCopyrightText: (c) 2000 Liferay, Inc. https://liferay.com
+ * SPDX-License-Identifier: LGPL-2.1-or-later OR LicenseRef-Liferay-DXP-EULA-2.0.0-2023-06
+ */
+
+package com.liferay.source.formatter.check.util;
+
+import com.liferay.portal.json.JSONObjectImpl;
+import com.liferay.portal.kernel.json.JSONArray;
+import com.liferay.portal.kernel.json.JSONException;
+import com.liferay.portal.kernel.json.JSONObject;
+import com.liferay.portal.kernel.log.Log;
+import com.liferay.portal.kernel.log.LogFactoryUtil;
+import com.liferay.source.formatter.util.FileUtil;
+
+import java.io.File;
+import java.io.IOException;
+
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Stores the security vulnerabilities that were retrieved from the GitHub
+ * GraphQL API in a JSON file, so that repeated runs do not need network access
+ * for packages that were looked up before.
+ *
+ * <p>
+ * Every entry is keyed by ecosystem and package name, and holds the nodes of
+ * the vulnerabilities, the severities they were retrieved for and the time
+ * they were retrieved at. The file is read the first time an entry is
+ * requested, and is only written when entries were added.
+ * </p>
+ *
+ * @author Hugo Huijser
+ */
+public class LibraryVulnerabilitiesCache {
+
+	public LibraryVulnerabilitiesCache(File cacheFile) {
+		_cacheFile = cacheFile;
+	}
+
+	/**
+	 * Returns the nodes of the vulnerabilities stored under the given key, or
+	 * <code>null</code> if there is no entry for the given severities, or if
+	 * the entry is older than <code>maxAge</code> milliseconds. Entries never
+	 * expire when <code>maxAge</code> is not positive.
+	 */
+	public synchronized JSONArray getNodesJSONArray(
+		String key, List<String> severities, long maxAge) {
+
+		JSONObject cacheJSONObject = _getCacheJSONObject();
+
+		JSONObject entryJSONObject = cacheJSONObject.getJSONObject(key);
+
+		if ((entryJSONObject == null) ||
+			!Objects.equals(
+				String.valueOf(severities),
+				entryJSONObject.getString("severities"))) {
+
+			return null;
+		}
+
+		if ((maxAge > 0) &&
+			((System.currentTimeMillis() - entryJSONObject.getLong("time")) >
+				maxAge)) {
+
+			return null;
+		}
+
+		return entryJSONObject.getJSONArray("nodes");
+	}
+
+	public synchronized void put(
+		String key, List<String> severities, JSONArray nodesJSONArray) {
+
+		JSONObject cacheJSONObject = _getCacheJSONObject();
+
+		JSONObject entryJSONObject = new JSONObjectImpl();
+
+		entryJSONObject.put(
+			"nodes", nodesJSONArray
+		).put(
+			"severities", String.valueOf(severities)
+		).put(
+			"time", System.currentTimeMillis()
+		);
+
+		cacheJSONObject.put(key, entryJSONObject);
+
+		_modified = true;
+	}
+
+	/**
+	 * Writes the cache file when entries were added since it was read. The
+	 * file is written to a temporary file first and then moved, so that other
+	 * processes never read a partially written cache.
+	 */
+	public synchronized void save() throws IOException {
+		if (!_modified) {
+			return;
+		}
+
+		File tempFile = File.createTempFile(
+			"library-vulnerabilities-cache-", ".json",
+			_cacheFile.getParentFile());
+
+		try {
+			FileUtil.write(tempFile, _cacheJSONObject.toString());
+
+			Files.move(
+				tempFile.toPath(), _cacheFile.toPath(),
+				StandardCopyOption.ATOMIC_MOVE,
+				StandardCopyOption.REPLACE_EXISTING);
+		}
+		finally {
+			Files.deleteIfExists(tempFile.toPath());
+		}
+
+		_modified = false;
+	}
+
+	private JSONObject _getCacheJSONObject() {
+		if (_cacheJSONObject != null) {
+			return _cacheJSONObject;
+		}
+
+		_cacheJSONObject = new JSONObjectImpl();
+
+		if (!_cacheFile.exists()) {
+			return _cacheJSONObject;
+		}
+
+		try {
+			_cacheJSONObject = new JSONObjectImpl(
+				FileUtil.read(_cacheFile, false));
+		}
+		catch (JSONException jsonException) {
+			if (_log.isDebugEnabled()) {
+				_log.debug(jsonException);
+			}
+		}
+
+		return _cacheJSONObject;
+	}
+
+	private static final Log _log = LogFactoryUtil.getLog(
+		LibraryVulnerabilitiesCache.class);
+
+	private final File _cacheFile;
+	private JSONObject _cacheJSONObject;
+	private boolean _modified;
+
+}
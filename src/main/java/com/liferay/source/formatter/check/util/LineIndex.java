@@ -0,0 +1,103 @@
+/**
+ * SPDX-FileCopyrightText: (c) 2000 Liferay, Inc. https://liferay.com
+ * SPDX-License-Identifier: LGPL-2.1-or-later OR LicenseRef-Liferay-DXP-EULA-2.0.0-2023-06
+ */
+
+package com.liferay.source.formatter.check.util;
+
+import com.liferay.petra.string.CharPool;
+
+import java.util.Arrays;
+
+/**
+ * Holds the start position of every line of a content string, so that line
+ * numbers and line start positions can be looked up without scanning the
+ * content from the start.
+ *
+ * <p>
+ * Building the index requires a full scan, which is why an index is only
+ * created for content that the current thread looks up more than once.
+ * </p>
+ *
+ * @author Hugo Huijser
+ */
+public class LineIndex {
+
+	public static LineIndex getLineIndex(String content) {
+		if (content.length() < _MIN_CONTENT_LENGTH) {
+			return null;
+		}
+
+		Object[] entries = _entriesThreadLocal.get();
+
+		for (int i = 0; i < entries.length; i += 2) {
+			if (entries[i] != content) {
+				continue;
+			}
+
+			LineIndex lineIndex = (LineIndex)entries[i + 1];
+
+			if (lineIndex == null) {
+				lineIndex = new LineIndex(content);
+
+				entries[i + 1] = lineIndex;
+			}
+
+			return lineIndex;
+		}
+
+		System.arraycopy(entries, 0, entries, 2, entries.length - 2);
+
+		entries[0] = content;
+		entries[1] = null;
+
+		return null;
+	}
+
+	public int getLineNumber(int pos) {
+		int i = Arrays.binarySearch(_lineStartPositions, pos);
+
+		if (i >= 0) {
+			return i + 1;
+		}
+
+		return -i - 1;
+	}
+
+	public int getLineStartPos(int lineNumber) {
+		if ((lineNumber <= 0) || (lineNumber > _lineStartPositions.length)) {
+			return -1;
+		}
+
+		return _lineStartPositions[lineNumber - 1];
+	}
+
+	private LineIndex(String content) {
+		int count = 1;
+
+		for (int i = 0; i < content.length(); i++) {
+			if (content.charAt(i) == CharPool.NEW_LINE) {
+				count++;
+			}
+		}
+
+		_lineStartPositions = new int[count];
+
+		int index = 1;
+
+		for (int i = 0; i < content.length(); i++) {
+			if (content.charAt(i) == CharPool.NEW_LINE) {
+				_lineStartPositions[index++] = i + 1;
+			}
+		}
+	}
+
+	private static final int _MAX_ENTRIES = 4;
+	private static final int _MIN_CONTENT_LENGTH = 1024;
+
+	private static final ThreadLocal<Object[]> _entriesThreadLocal =
+		ThreadLocal.withInitial(() -> new Object[_MAX_ENTRIES * 2]);
+
+	private final int[] _lineStartPositions;
+
+}
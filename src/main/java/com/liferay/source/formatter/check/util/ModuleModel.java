@@ -0,0 +1,380 @@
+/**
+ * SPDX-FileCopyrightText: (c) 2000 Liferay, Inc. https://liferay.com
+ * SPDX-License-Identifier: LGPL-2.1-or-later OR LicenseRef-Liferay-DXP-EULA-2.0.0-2023-06
+ */
+
+package com.liferay.source.formatter.check.util;
+
+import com.liferay.petra.string.CharPool;
+import com.liferay.petra.string.StringPool;
+import com.liferay.portal.kernel.log.Log;
+import com.liferay.portal.kernel.log.LogFactoryUtil;
+import com.liferay.portal.kernel.util.StringUtil;
+import com.liferay.source.formatter.BNDSettings;
+import com.liferay.source.formatter.SourceFormatterExcludes;
+import com.liferay.source.formatter.util.FileUtil;
+import com.liferay.source.formatter.util.SourceFormatterUtil;
+
+import java.io.File;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import org.dom4j.Document;
+
+/**
+ * Holds the module level information that checks look up for the files they
+ * process, such as the <code>bnd.bnd</code> settings, the
+ * <code>build.gradle</code> content, the <code>service.xml</code> file and the
+ * language properties file. Every directory walk, file lookup and read is done
+ * once and shared by all checks of all source processors.
+ *
+ * <p>
+ * Module models are keyed by their root directory name, including the trailing
+ * slash. The values are read the first time they are requested, and are not
+ * updated when the underlying files are formatted afterwards. All module models
+ * are cleared when a run starts while no other run of Source Formatter is
+ * active in the same JVM.
+ * </p>
+ *
+ * @author Hugo Huijser
+ */
+public class ModuleModel {
+
+	/**
+	 * Removes all module models and lookups, so that the next run of Source
+	 * Formatter in the same JVM reads the module files again.
+	 */
+	public static void clear() {
+		_bundleSymbolicNamesMaps.clear();
+		_moduleDirNamesMap.clear();
+		_moduleModelsMap.clear();
+		_subdirectoryPathsMap.clear();
+
+		_hitCount.reset();
+		_missCount.reset();
+	}
+
+	public static ModuleModel getBNDModuleModel(String fileName) {
+		return _getModuleModel(fileName, "bnd.bnd");
+	}
+
+	public static ModuleModel getBuildGradleModuleModel(String fileName) {
+		return _getModuleModel(fileName, "build.gradle");
+	}
+
+	public static Map<String, String> getBundleSymbolicNamesMap(
+		String rootDirName) {
+
+		return _getValue(
+			_bundleSymbolicNamesMaps, rootDirName,
+			BNDSourceUtil::getBundleSymbolicNamesMap);
+	}
+
+	public static long getHitCount() {
+		return _hitCount.sum();
+	}
+
+	public static long getMissCount() {
+		return _missCount.sum();
+	}
+
+	public static ModuleModel getModuleModel(String dirName) {
+		return _moduleModelsMap.computeIfAbsent(dirName, ModuleModel::new);
+	}
+
+	public static ModuleModel getServiceXMLModuleModel(String fileName) {
+		return _getModuleModel(fileName, "service.xml");
+	}
+
+	/**
+	 * Returns the absolute paths of the subdirectories of the given directory,
+	 * or an empty list if the directory does not exist.
+	 */
+	public static List<String> getSubdirectoryPaths(String dirName) {
+		return _getValue(
+			_subdirectoryPathsMap, dirName, ModuleModel::_getSubdirectoryPaths);
+	}
+
+	public BNDSettings getBNDSettings() {
+		return _getValue(
+			_valuesMap, "bnd.bnd",
+			key -> {
+				File file = new File(_dirName + key);
+
+				if (!file.exists()) {
+					return null;
+				}
+
+				return new BNDSettings(_dirName + key, FileUtil.read(file));
+			});
+	}
+
+	public String getBuildGradleContent() {
+		return _getValue(
+			_valuesMap, "build.gradle",
+			key -> {
+				File file = new File(_dirName + key);
+
+				if (!file.exists()) {
+					return null;
+				}
+
+				return FileUtil.read(file);
+			});
+	}
+
+	public String getBundleSymbolicName() {
+		BNDSettings bndSettings = getBNDSettings();
+
+		if (bndSettings == null) {
+			return null;
+		}
+
+		return BNDSourceUtil.getDefinitionValue(
+			bndSettings.getContent(), "Bundle-SymbolicName");
+	}
+
+	/**
+	 * Returns the parsed custom SQL file of this module, or <code>null</code>
+	 * if there is none. The returned document is shared and must not be
+	 * modified.
+	 */
+	public Document getCustomSQLDocument() {
+		return _getValue(
+			_valuesMap, "custom-sql-document",
+			key -> {
+				File customSQLFile = getCustomSQLFile();
+
+				if (customSQLFile == null) {
+					return null;
+				}
+
+				return SourceUtil.readXML(customSQLFile);
+			});
+	}
+
+	public File getCustomSQLFile() {
+		return _getValue(
+			_valuesMap, "custom-sql",
+			key -> {
+				for (String customSQLFileName : _CUSTOM_SQL_FILE_NAMES) {
+					File file = new File(_dirName + customSQLFileName);
+
+					if (file.exists()) {
+						return file;
+					}
+				}
+
+				return null;
+			});
+	}
+
+	public String getDirName() {
+		return _dirName;
+	}
+
+	/**
+	 * Returns the name of the first
+	 * <code>resources/content/Language.properties</code> file of this module,
+	 * or <code>null</code> if there is none.
+	 */
+	public String getLanguagePropertiesFileName() {
+		return _getValue(
+			_valuesMap, "Language.properties",
+			key -> {
+				try {
+					List<String> languagePropertiesFileNames =
+						SourceFormatterUtil.scanForFileNames(
+							StringUtil.replaceLast(
+								_dirName, CharPool.SLASH, StringPool.BLANK),
+							new String[0],
+							new String[] {"**/resources/content/" + key},
+							new SourceFormatterExcludes(), true);
+
+					if (!languagePropertiesFileNames.isEmpty()) {
+						return languagePropertiesFileNames.get(0);
+					}
+				}
+				catch (Exception exception) {
+					if (_log.isDebugEnabled()) {
+						_log.debug(exception);
+					}
+				}
+
+				return null;
+			});
+	}
+
+	/**
+	 * Returns the parsed <code>service.xml</code> file of this module, or
+	 * <code>null</code> if there is none. The returned document is shared and
+	 * must not be modified.
+	 */
+	public Document getServiceXMLDocument() {
+		return _getValue(
+			_valuesMap, "service-xml-document",
+			key -> {
+				File serviceXMLFile = getServiceXMLFile();
+
+				if (serviceXMLFile == null) {
+					return null;
+				}
+
+				return SourceUtil.readXML(serviceXMLFile);
+			});
+	}
+
+	public File getServiceXMLFile() {
+		return _getValue(
+			_valuesMap, "service.xml",
+			key -> {
+				File file = new File(_dirName + key);
+
+				if (!file.exists()) {
+					return null;
+				}
+
+				return file;
+			});
+	}
+
+	private static ModuleModel _getModuleModel(
+		String fileName, String moduleFileName) {
+
+		List<String> keys = new ArrayList<>();
+
+		String moduleDirName = null;
+
+		int x = fileName.length();
+
+		while (true) {
+			x = fileName.lastIndexOf(CharPool.SLASH, x - 1);
+
+			if (x == -1) {
+				moduleDirName = StringPool.BLANK;
+
+				break;
+			}
+
+			String dirName = fileName.substring(0, x + 1);
+
+			String key = dirName + moduleFileName;
+
+			moduleDirName = _moduleDirNamesMap.get(key);
+
+			if (moduleDirName != null) {
+				break;
+			}
+
+			keys.add(key);
+
+			if (FileUtil.exists(key)) {
+				moduleDirName = dirName;
+
+				break;
+			}
+		}
+
+		if (keys.isEmpty()) {
+			_hitCount.increment();
+		}
+		else {
+			_missCount.increment();
+
+			for (String key : keys) {
+				_moduleDirNamesMap.put(key, moduleDirName);
+			}
+		}
+
+		if (moduleDirName.isEmpty()) {
+			return null;
+		}
+
+		return getModuleModel(moduleDirName);
+	}
+
+	private static List<String> _getSubdirectoryPaths(String dirName) {
+		File dir = new File(dirName);
+
+		File[] subdirs = dir.listFiles(File::isDirectory);
+
+		if (subdirs == null) {
+			return Collections.emptyList();
+		}
+
+		List<String> subdirectoryPaths = new ArrayList<>(subdirs.length);
+
+		for (File subdir : subdirs) {
+			subdirectoryPaths.add(SourceUtil.getAbsolutePath(subdir));
+		}
+
+		return subdirectoryPaths;
+	}
+
+	private static <T> T _getValue(
+		Map<String, Object> valuesMap, String key,
+		Function<String, T> function) {
+
+		Object value = valuesMap.get(key);
+
+		if (value != null) {
+			_hitCount.increment();
+		}
+		else {
+			_missCount.increment();
+
+			value = valuesMap.computeIfAbsent(
+				key,
+				curKey -> {
+					T curValue = function.apply(curKey);
+
+					if (curValue == null) {
+						return _NULL_VALUE;
+					}
+
+					return curValue;
+				});
+		}
+
+		if (value == _NULL_VALUE) {
+			return null;
+		}
+
+		return (T)value;
+	}
+
+	private ModuleModel(String dirName) {
+		_dirName = dirName;
+	}
+
+	private static final String[] _CUSTOM_SQL_FILE_NAMES = {
+		"src/custom-sql/default.xml",
+		"src/main/resources/META-INF/custom-sql/default.xml",
+		"src/main/resources/custom-sql/default.xml"
+	};
+
+	private static final Object _NULL_VALUE = new Object();
+
+	private static final Log _log = LogFactoryUtil.getLog(ModuleModel.class);
+
+	private static final Map<String, Object> _bundleSymbolicNamesMaps =
+		new ConcurrentHashMap<>();
+	private static final LongAdder _hitCount = new LongAdder();
+	private static final Map<String, String> _moduleDirNamesMap =
+		new ConcurrentHashMap<>();
+	private static final Map<String, ModuleModel> _moduleModelsMap =
+		new ConcurrentHashMap<>();
+	private static final LongAdder _missCount = new LongAdder();
+	private static final Map<String, Object> _subdirectoryPathsMap =
+		new ConcurrentHashMap<>();
+
+	private final String _dirName;
+	private final Map<String, Object> _valuesMap = new ConcurrentHashMap<>();
+
+}
@@ -20,6 +20,7 @@ import com.liferay.source.formatter.check.SourceCheck;
 import com.liferay.source.formatter.check.UpgradeCatchAllJavaTermOrderCheck;
 import com.liferay.source.formatter.check.configuration.SourceCheckConfiguration;
 import com.liferay.source.formatter.check.configuration.SourceChecksResult;
+import com.liferay.source.formatter.check.configuration.SourceChecksState;
 import com.liferay.source.formatter.check.configuration.SourceFormatterConfiguration;
 import com.liferay.source.formatter.check.configuration.SourceFormatterSuppressions;
 import com.liferay.source.formatter.parser.GradleFile;
@@ -76,6 +77,7 @@ public class SourceChecksUtil {
 			File file, String fileName, String absolutePath, String content,
 			SourceProcessor sourceProcessor, Set<String> modifiedMessages,
 			boolean modulesFile, List<SourceCheck> sourceChecks,
+			SourceChecksState sourceChecksState,
 			SourceFormatterSuppressions sourceFormatterSuppressions,
 			boolean showDebugInformation)
 		throws Exception {
@@ -91,17 +93,19 @@ public class SourceChecksUtil {
 		List<JavaClass> anonymousClasses = null;
 
 		for (SourceCheck sourceCheck : sourceChecks) {
-			if (!sourceCheck.isEnabled(absolutePath) ||
-				(sourceCheck.isModuleSourceCheck() && !modulesFile)) {
+			Class<?> clazz = sourceCheck.getClass();
 
-				continue;
-			}
+			Boolean applicable = sourceChecksState.getApplicable(sourceCheck);
 
-			Class<?> clazz = sourceCheck.getClass();
+			if (applicable == null) {
+				applicable = _isApplicable(
+					sourceCheck, absolutePath, modulesFile,
+					sourceFormatterSuppressions);
 
-			if (sourceFormatterSuppressions.isSuppressed(
-					clazz.getSimpleName(), absolutePath)) {
+				sourceChecksState.setApplicable(sourceCheck, applicable);
+			}
 
+			if (!applicable) {
 				continue;
 			}
 
@@ -129,13 +133,11 @@ public class SourceChecksUtil {
 				if (javaClass == null) {
 					try {
 						javaClass = JavaClassParser.parseJavaClass(
-							fileName, sourceChecksResult.getContent());
+							fileName, content);
 
 						anonymousClasses =
 							JavaClassParser.parseAnonymousClasses(
-								sourceChecksResult.getContent(),
-								javaClass.getPackageName(),
-								javaClass.getImportNames());
+								fileName, content);
 					}
 					catch (ParseException parseException) {
 						sourceChecksResult.addSourceFormatterMessage(
@@ -344,6 +346,27 @@ public class SourceChecksUtil {
 		return sourceChecks;
 	}
 
+	private static boolean _isApplicable(
+		SourceCheck sourceCheck, String absolutePath, boolean modulesFile,
+		SourceFormatterSuppressions sourceFormatterSuppressions) {
+
+		if (!sourceCheck.isEnabled(absolutePath) ||
+			(sourceCheck.isModuleSourceCheck() && !modulesFile)) {
+
+			return false;
+		}
+
+		Class<?> clazz = sourceCheck.getClass();
+
+		if (sourceFormatterSuppressions.isSuppressed(
+				clazz.getSimpleName(), absolutePath)) {
+
+			return false;
+		}
+
+		return true;
+	}
+
 	private static SourceChecksResult _processFileCheck(
 			SourceProcessor sourceProcessor,
 			SourceChecksResult sourceChecksResult, FileCheck fileCheck,
@@ -26,8 +26,10 @@ import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -172,6 +174,14 @@ public class SourceUtil {
 	}
 
 	public static int getLineNumber(String content, int pos) {
+		if ((pos >= 0) && (pos <= content.length())) {
+			LineIndex lineIndex = LineIndex.getLineIndex(content);
+
+			if (lineIndex != null) {
+				return lineIndex.getLineNumber(pos);
+			}
+		}
+
 		return StringUtil.count(content, 0, pos, CharPool.NEW_LINE) + 1;
 	}
 
@@ -184,6 +194,12 @@ public class SourceUtil {
 			return 0;
 		}
 
+		LineIndex lineIndex = LineIndex.getLineIndex(content);
+
+		if (lineIndex != null) {
+			return lineIndex.getLineStartPos(lineNumber);
+		}
+
 		int x = -1;
 
 		for (int i = 1; i < lineNumber; i++) {
@@ -230,6 +246,14 @@ public class SourceUtil {
 		}
 	}
 
+	public static long getXMLDocumentHitCount() {
+		return _xmlDocumentHitCount.sum();
+	}
+
+	public static long getXMLDocumentMissCount() {
+		return _xmlDocumentMissCount.sum();
+	}
+
 	public static boolean hasTypo(String s1, String s2) {
 		if (Validator.isNull(s1) || Validator.isNull(s2) || s1.equals(s2) ||
 			(s1.charAt(0) != s2.charAt(0)) ||
@@ -311,6 +335,22 @@ public class SourceUtil {
 	}
 
 	public static boolean isXML(String content) {
+		// Only whitespace is allowed before the first tag, so most content
+		// that is not XML is recognized without parsing it. Other content is
+		// parsed with readXML, which caches the document for the checks.
+
+		for (int i = 0; i < content.length(); i++) {
+			char c = content.charAt(i);
+
+			if (c == CharPool.LESS_THAN) {
+				break;
+			}
+
+			if (!Character.isWhitespace(c)) {
+				return false;
+			}
+		}
+
 		if (readXML(content) != null) {
 			return true;
 		}
@@ -319,7 +359,7 @@ public class SourceUtil {
 	}
 
 	public static Document readXML(File file) {
-		SAXReader saxReader = SAXReaderFactory.getSAXReader(null, false, false);
+		SAXReader saxReader = _saxReaderThreadLocal.get();
 
 		try {
 			return saxReader.read(file);
@@ -329,15 +369,52 @@ public class SourceUtil {
 		}
 	}
 
+	/**
+	 * Returns the parsed document of the given content, or <code>null</code>
+	 * if the content is not valid XML. Documents are cached by content, so
+	 * that all checks of the same version of a file share one parsed
+	 * document.
+	 *
+	 * <p>
+	 * The returned document is shared between callers and threads, and must
+	 * be treated as read-only. This includes the lists returned by
+	 * <code>Element.elements()</code>, which are backed by the document and
+	 * must not be sorted or modified. Callers that need to modify the document
+	 * must call <code>createCopy()</code> first, and modify the copy.
+	 * </p>
+	 */
 	public static Document readXML(String content) {
-		SAXReader saxReader = SAXReaderFactory.getSAXReader(null, false, false);
+		Object document = null;
 
-		try {
-			return saxReader.read(new UnsyncStringReader(content));
+		synchronized (_documentsMap) {
+			document = _documentsMap.get(content);
 		}
-		catch (DocumentException documentException) {
+
+		if (document != null) {
+			_xmlDocumentHitCount.increment();
+		}
+		else {
+			_xmlDocumentMissCount.increment();
+
+			SAXReader saxReader = _saxReaderThreadLocal.get();
+
+			try {
+				document = saxReader.read(new UnsyncStringReader(content));
+			}
+			catch (DocumentException documentException) {
+				document = _NULL_DOCUMENT;
+			}
+
+			synchronized (_documentsMap) {
+				_documentsMap.put(content, document);
+			}
+		}
+
+		if (document == _NULL_DOCUMENT) {
 			return null;
 		}
+
+		return (Document)document;
 	}
 
 	public static List<String> splitAnnotations(
@@ -455,9 +532,33 @@ public class SourceUtil {
 		return tablesSQLContent.substring(matcher.start(), x + 1);
 	}
 
+	private static final int _MAX_DOCUMENTS_COUNT = 100;
+
+	private static final Object _NULL_DOCUMENT = new Object();
+
 	private static final Pattern _annotationMemberValuePairPattern =
 		Pattern.compile("(\\w+) = (\".*?\"|.*(?=[,\\)\\s]))");
+	private static final Map<String, Object> _documentsMap =
+		new LinkedHashMap<String, Object>(16, 0.75F, true) {
+
+			@Override
+			protected boolean removeEldestEntry(
+				Map.Entry<String, Object> entry) {
+
+				if (size() > _MAX_DOCUMENTS_COUNT) {
+					return true;
+				}
+
+				return false;
+			}
+
+		};
 	private static final Pattern _modifierPattern = Pattern.compile(
 		"[^\n]\n(\t*)(public|protected|private)");
+	private static final ThreadLocal<SAXReader> _saxReaderThreadLocal =
+		ThreadLocal.withInitial(
+			() -> SAXReaderFactory.getSAXReader(null, false, false));
+	private static final LongAdder _xmlDocumentHitCount = new LongAdder();
+	private static final LongAdder _xmlDocumentMissCount = new LongAdder();
 
 }
\ No newline at end of file
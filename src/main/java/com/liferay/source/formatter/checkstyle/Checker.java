@@ -23,26 +23,36 @@ import com.puppycrawl.tools.checkstyle.TreeWalker;
 import com.puppycrawl.tools.checkstyle.api.AbstractCheck;
 import com.puppycrawl.tools.checkstyle.api.AuditEvent;
 import com.puppycrawl.tools.checkstyle.api.AuditListener;
+import com.puppycrawl.tools.checkstyle.api.BeforeExecutionFileFilter;
+import com.puppycrawl.tools.checkstyle.api.BeforeExecutionFileFilterSet;
 import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
 import com.puppycrawl.tools.checkstyle.api.Configuration;
 import com.puppycrawl.tools.checkstyle.api.DetailAST;
 import com.puppycrawl.tools.checkstyle.api.FileContents;
+import com.puppycrawl.tools.checkstyle.api.FileSetCheck;
 import com.puppycrawl.tools.checkstyle.api.FileText;
 import com.puppycrawl.tools.checkstyle.api.FilterSet;
 import com.puppycrawl.tools.checkstyle.api.LocalizedMessage;
+import com.puppycrawl.tools.checkstyle.utils.CommonUtil;
 import com.puppycrawl.tools.checkstyle.utils.TokenUtil;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.UnsupportedEncodingException;
 
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.WeakHashMap;
 
 /**
  * @author Hugo Huijser
@@ -80,6 +90,23 @@ public class Checker extends com.puppycrawl.tools.checkstyle.Checker {
 		configure(_configuration);
 	}
 
+	@Override
+	public void addBeforeExecutionFileFilter(
+		BeforeExecutionFileFilter beforeExecutionFileFilter) {
+
+		super.addBeforeExecutionFileFilter(beforeExecutionFileFilter);
+
+		_beforeExecutionFileFilterSet.addBeforeExecutionFileFilter(
+			beforeExecutionFileFilter);
+	}
+
+	@Override
+	public void addFileSetCheck(FileSetCheck fileSetCheck) {
+		super.addFileSetCheck(fileSetCheck);
+
+		_fileSetChecks.add(fileSetCheck);
+	}
+
 	@Override
 	public void fireErrors(
 		String fileName, SortedSet<LocalizedMessage> errors) {
@@ -116,7 +143,11 @@ public class Checker extends com.puppycrawl.tools.checkstyle.Checker {
 
 			TreeWalker treeWalker = (TreeWalker)childModule;
 
-			_processFileContents(fileContents, _getChecks(childConfiguration));
+			List<AbstractCheck> checks = _getChecks(childConfiguration);
+
+			_processFileContents(
+				fileContents, checks,
+				_getTokenTypeCheckIndexes(childConfiguration, checks));
 
 			treeWalker.finishProcessing();
 
@@ -126,10 +157,96 @@ public class Checker extends com.puppycrawl.tools.checkstyle.Checker {
 		_fireAuditStarted();
 	}
 
+	public void processFileTexts(List<FileText> fileTexts)
+		throws CheckstyleException {
+
+		_fireAuditStarted();
+
+		for (FileSetCheck fileSetCheck : _fileSetChecks) {
+			fileSetCheck.beginProcessing(_charset);
+		}
+
+		for (FileText fileText : fileTexts) {
+			File file = fileText.getFile();
+
+			String fileName = file.getAbsolutePath();
+
+			// Apply the same file filters as Checker.process does for files
+			// that are read from disk
+
+			String relativeFileName = CommonUtil.relativizeAndNormalizePath(
+				_basedir, fileName);
+
+			if (!_beforeExecutionFileFilterSet.accept(relativeFileName)) {
+				continue;
+			}
+
+			fireFileStarted(fileName);
+
+			SortedSet<LocalizedMessage> messages = new TreeSet<>();
+
+			for (FileSetCheck fileSetCheck : _fileSetChecks) {
+				messages.addAll(fileSetCheck.process(file, fileText));
+			}
+
+			fireErrors(fileName, messages);
+
+			fireFileFinished(fileName);
+		}
+
+		for (FileSetCheck fileSetCheck : _fileSetChecks) {
+			fileSetCheck.finishProcessing();
+
+			fileSetCheck.destroy();
+		}
+
+		_fireAuditFinished();
+	}
+
+	@Override
+	public void removeBeforeExecutionFileFilter(
+		BeforeExecutionFileFilter beforeExecutionFileFilter) {
+
+		super.removeBeforeExecutionFileFilter(beforeExecutionFileFilter);
+
+		_beforeExecutionFileFilterSet.removeBeforeExecutionFileFilter(
+			beforeExecutionFileFilter);
+	}
+
+	@Override
+	public void setBasedir(String basedir) {
+		super.setBasedir(basedir);
+
+		_basedir = basedir;
+	}
+
+	@Override
+	public void setCharset(String charset)
+		throws UnsupportedEncodingException {
+
+		super.setCharset(charset);
+
+		_charset = charset;
+	}
+
+	private void _fireAuditFinished() {
+		_auditListener.auditFinished(new AuditEvent(this));
+	}
+
 	private void _fireAuditStarted() {
 		_auditListener.auditStarted(new AuditEvent(this));
 	}
 
+	private int[] _getCheckIndexes(
+		int[][] tokenTypeCheckIndexes, int tokenType) {
+
+		if ((tokenType < 0) || (tokenType >= tokenTypeCheckIndexes.length)) {
+			return _EMPTY_CHECK_INDEXES;
+		}
+
+		return tokenTypeCheckIndexes[tokenType];
+	}
+
 	private List<AbstractCheck> _getChecks(Configuration configuration)
 		throws CheckstyleException {
 
@@ -151,24 +268,71 @@ public class Checker extends com.puppycrawl.tools.checkstyle.Checker {
 		return checks;
 	}
 
-	private boolean _isRegisteredCheck(AbstractCheck check, int tokenType) {
+	private int[] _getRegisteredTokenTypes(AbstractCheck check) {
 		Set<String> tokenNames = check.getTokenNames();
 
 		if (tokenNames.isEmpty()) {
-			return ArrayUtil.contains(check.getDefaultTokens(), tokenType);
+			return check.getDefaultTokens();
 		}
 
-		if (!ArrayUtil.contains(check.getAcceptableTokens(), tokenType)) {
-			return false;
-		}
+		int[] acceptableTokenTypes = check.getAcceptableTokens();
+
+		List<Integer> tokenTypes = new ArrayList<>();
 
 		for (String tokenName : tokenNames) {
-			if (tokenType == TokenUtil.getTokenId(tokenName)) {
-				return true;
+			int tokenType = TokenUtil.getTokenId(tokenName);
+
+			if (ArrayUtil.contains(acceptableTokenTypes, tokenType) &&
+				!tokenTypes.contains(tokenType)) {
+
+				tokenTypes.add(tokenType);
 			}
 		}
 
-		return false;
+		return ArrayUtil.toIntArray(tokenTypes);
+	}
+
+	private int[][] _getTokenTypeCheckIndexes(
+		Configuration configuration, List<AbstractCheck> checks) {
+
+		// The checks of a configuration are always created in the same order,
+		// so the table only has to be built once per configuration
+
+		return _tokenTypeCheckIndexesMap.computeIfAbsent(
+			configuration, key -> _getTokenTypeCheckIndexes(checks));
+	}
+
+	private int[][] _getTokenTypeCheckIndexes(List<AbstractCheck> checks) {
+		Map<Integer, List<Integer>> tokenTypeCheckIndexesMap = new HashMap<>();
+
+		int maxTokenType = -1;
+
+		for (int i = 0; i < checks.size(); i++) {
+			for (int tokenType : _getRegisteredTokenTypes(checks.get(i))) {
+				List<Integer> checkIndexes =
+					tokenTypeCheckIndexesMap.computeIfAbsent(
+						tokenType, key -> new ArrayList<>());
+
+				checkIndexes.add(i);
+
+				maxTokenType = Math.max(maxTokenType, tokenType);
+			}
+		}
+
+		int[][] tokenTypeCheckIndexes = new int[maxTokenType + 1][];
+
+		for (int i = 0; i < tokenTypeCheckIndexes.length; i++) {
+			List<Integer> checkIndexes = tokenTypeCheckIndexesMap.get(i);
+
+			if (checkIndexes == null) {
+				tokenTypeCheckIndexes[i] = _EMPTY_CHECK_INDEXES;
+			}
+			else {
+				tokenTypeCheckIndexes[i] = ArrayUtil.toIntArray(checkIndexes);
+			}
+		}
+
+		return tokenTypeCheckIndexes;
 	}
 
 	private String _normalizeFileName(String fileName) {
@@ -181,7 +345,8 @@ public class Checker extends com.puppycrawl.tools.checkstyle.Checker {
 	}
 
 	private SortedSet<LocalizedMessage> _processContent(
-			String fileName, String content, List<AbstractCheck> checks)
+			String fileName, String content, List<AbstractCheck> checks,
+			int[][] tokenTypeCheckIndexes)
 		throws IOException {
 
 		FileText fileText = new FileText(
@@ -192,7 +357,8 @@ public class Checker extends com.puppycrawl.tools.checkstyle.Checker {
 		try {
 			DetailAST rootDetailAST = JavaParser.parse(fileContents);
 
-			return _walk(rootDetailAST, fileContents, checks);
+			return _walk(
+				rootDetailAST, fileContents, checks, tokenTypeCheckIndexes);
 		}
 		catch (CheckstyleException checkstyleException) {
 			if (_log.isDebugEnabled()) {
@@ -204,7 +370,8 @@ public class Checker extends com.puppycrawl.tools.checkstyle.Checker {
 	}
 
 	private void _processFileContents(
-			List<String[]> fileContents, List<AbstractCheck> checks)
+			List<String[]> fileContents, List<AbstractCheck> checks,
+			int[][] tokenTypeCheckIndexes)
 		throws IOException {
 
 		for (String[] fileContentArray : fileContents) {
@@ -214,7 +381,10 @@ public class Checker extends com.puppycrawl.tools.checkstyle.Checker {
 
 			fireFileStarted(fileName);
 
-			fireErrors(fileName, _processContent(fileName, content, checks));
+			fireErrors(
+				fileName,
+				_processContent(
+					fileName, content, checks, tokenTypeCheckIndexes));
 
 			fireFileFinished(fileName);
 		}
@@ -222,7 +392,7 @@ public class Checker extends com.puppycrawl.tools.checkstyle.Checker {
 
 	private SortedSet<LocalizedMessage> _walk(
 		DetailAST rootDetailAST, FileContents fileContents,
-		List<AbstractCheck> checks) {
+		List<AbstractCheck> checks, int[][] tokenTypeCheckIndexes) {
 
 		SortedSet<LocalizedMessage> messages = new TreeSet<>();
 
@@ -236,19 +406,25 @@ public class Checker extends com.puppycrawl.tools.checkstyle.Checker {
 		DetailAST detailAST = rootDetailAST;
 
 		while (detailAST != null) {
-			for (AbstractCheck check : checks) {
-				if (_isRegisteredCheck(check, detailAST.getType())) {
-					check.visitToken(detailAST);
-				}
+			for (int checkIndex :
+					_getCheckIndexes(
+						tokenTypeCheckIndexes, detailAST.getType())) {
+
+				AbstractCheck check = checks.get(checkIndex);
+
+				check.visitToken(detailAST);
 			}
 
 			DetailAST firstChildDetailAST = detailAST.getFirstChild();
 
 			while ((detailAST != null) && (firstChildDetailAST == null)) {
-				for (AbstractCheck check : checks) {
-					if (_isRegisteredCheck(check, detailAST.getType())) {
-						check.leaveToken(detailAST);
-					}
+				for (int checkIndex :
+						_getCheckIndexes(
+							tokenTypeCheckIndexes, detailAST.getType())) {
+
+					AbstractCheck check = checks.get(checkIndex);
+
+					check.leaveToken(detailAST);
 				}
 
 				firstChildDetailAST = detailAST.getNextSibling();
@@ -268,12 +444,23 @@ public class Checker extends com.puppycrawl.tools.checkstyle.Checker {
 		return messages;
 	}
 
+	private static final int[] _EMPTY_CHECK_INDEXES = new int[0];
+
 	private static final Log _log = LogFactoryUtil.getLog(Checker.class);
+	private static final Map<Configuration, int[][]>
+		_tokenTypeCheckIndexesMap = Collections.synchronizedMap(
+			new WeakHashMap<>());
 
 	private final AuditListener _auditListener;
+	private String _basedir;
+	private final BeforeExecutionFileFilterSet _beforeExecutionFileFilterSet =
+		new BeforeExecutionFileFilterSet();
+	private String _charset = System.getProperty(
+		"file.encoding", StandardCharsets.UTF_8.name());
 	private final CheckstyleLogger _checkstyleLogger;
 	private final ClassLoader _classLoader;
 	private final Configuration _configuration;
+	private final List<FileSetCheck> _fileSetChecks = new ArrayList<>();
 	private final FilterSet _filterSet;
 	private final ModuleFactory _moduleFactory;
 
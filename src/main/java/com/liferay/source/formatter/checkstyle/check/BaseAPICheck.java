@@ -6,14 +6,13 @@
 package com.liferay.source.formatter.checkstyle.check;
 
 import com.liferay.petra.string.StringBundler;
-import com.liferay.portal.json.JSONObjectImpl;
 import com.liferay.portal.kernel.json.JSONArray;
 import com.liferay.portal.kernel.json.JSONObject;
 import com.liferay.portal.kernel.util.ArrayUtil;
 import com.liferay.portal.kernel.util.StringUtil;
 import com.liferay.portal.kernel.util.Validator;
 import com.liferay.source.formatter.check.util.JavaSourceUtil;
-import com.liferay.source.formatter.util.PortalJSONObjectUtil;
+import com.liferay.source.formatter.util.PortalAPIIndex;
 
 import com.puppycrawl.tools.checkstyle.api.DetailAST;
 import com.puppycrawl.tools.checkstyle.api.FullIdent;
@@ -26,7 +25,6 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Set;
 
 /**
@@ -85,103 +83,27 @@ public abstract class BaseAPICheck extends BaseCheck {
 	}
 
 	protected List<JSONObject> getConstructorJSONObjects(
-		ConstructorCall constructorCall, JSONObject javaClassesJSONObject) {
-
-		List<JSONObject> constructorJSONObjects = new ArrayList<>();
-
-		JSONObject classJSONObject = javaClassesJSONObject.getJSONObject(
-			constructorCall.getTypeName());
-
-		if (classJSONObject == null) {
-			return constructorJSONObjects;
-		}
-
-		JSONArray constructorsJSONArray = classJSONObject.getJSONArray(
-			"constructors");
-
-		if (constructorsJSONArray == null) {
-			return constructorJSONObjects;
-		}
+		ConstructorCall constructorCall, PortalAPIIndex portalAPIIndex) {
 
 		List<String> parameterTypeNames =
 			constructorCall.getParameterTypeNames();
 
-		Iterator<JSONObject> iterator = constructorsJSONArray.iterator();
-
-		outerLoop:
-		while (iterator.hasNext()) {
-			JSONObject constructorJSONObject = iterator.next();
-
-			JSONArray parametersJSONArray = constructorJSONObject.getJSONArray(
-				"parameters");
-
-			if (parametersJSONArray == null) {
-				if (parameterTypeNames.isEmpty()) {
-					constructorJSONObjects.add(constructorJSONObject);
-				}
-
-				continue;
-			}
-
-			if (parametersJSONArray.length() != parameterTypeNames.size()) {
-				continue;
-			}
+		List<JSONObject> constructorJSONObjects = new ArrayList<>();
 
-			for (int i = 0; i < parameterTypeNames.size(); i++) {
-				String actualTypeName = parameterTypeNames.get(i);
-				String methodTypeName = parametersJSONArray.getString(i);
+		for (JSONObject constructorJSONObject :
+				portalAPIIndex.getConstructorJSONObjects(
+					constructorCall.getTypeName(), parameterTypeNames.size())) {
 
-				if (Validator.isNotNull(actualTypeName) &&
-					!StringUtil.equalsIgnoreCase(
-						actualTypeName, methodTypeName) &&
-					!methodTypeName.equals("Object") &&
-					(!_isNumeric(actualTypeName) ||
-					 !_isNumeric(methodTypeName))) {
+			if (_hasMatchingParameters(
+					constructorJSONObject, parameterTypeNames)) {
 
-					continue outerLoop;
-				}
+				constructorJSONObjects.add(constructorJSONObject);
 			}
-
-			constructorJSONObjects.add(constructorJSONObject);
 		}
 
 		return constructorJSONObjects;
 	}
 
-	protected synchronized JSONObject getJavaClassesJSONObject(String version)
-		throws Exception {
-
-		JSONObject javaClassesJSONObject = _javaClassesJSONObjectMap.get(
-			version);
-
-		if (javaClassesJSONObject != null) {
-			return javaClassesJSONObject;
-		}
-
-		JSONObject portalJSONObject = null;
-
-		if (version.equals(getBaseDirName())) {
-			portalJSONObject = PortalJSONObjectUtil.getPortalJSONObject(
-				version);
-		}
-		else {
-			portalJSONObject =
-				PortalJSONObjectUtil.getPortalJSONObjectByVersion(version);
-		}
-
-		if (portalJSONObject.has("javaClasses")) {
-			javaClassesJSONObject = portalJSONObject.getJSONObject(
-				"javaClasses");
-		}
-		else {
-			javaClassesJSONObject = new JSONObjectImpl();
-		}
-
-		_javaClassesJSONObjectMap.put(version, javaClassesJSONObject);
-
-		return javaClassesJSONObject;
-	}
-
 	protected List<MethodCall> getMethodCalls(
 		DetailAST detailAST, List<String> excludeImportNames,
 		boolean skipDeprecated) {
@@ -248,64 +170,25 @@ public abstract class BaseAPICheck extends BaseCheck {
 	}
 
 	protected List<JSONObject> getMethodJSONObjects(
-		MethodCall methodCall, JSONObject javaClassesJSONObject) {
-
-		List<JSONObject> methodJSONObjects = new ArrayList<>();
+		MethodCall methodCall, PortalAPIIndex portalAPIIndex) {
 
-		JSONObject classJSONObject = javaClassesJSONObject.getJSONObject(
+		JSONObject classJSONObject = portalAPIIndex.getClassJSONObject(
 			methodCall.getVariableTypeName());
 
 		if (classJSONObject == null) {
-			return methodJSONObjects;
+			return new ArrayList<>();
 		}
 
-		JSONArray methodsJSONArray = classJSONObject.getJSONArray("methods");
-
-		if (methodsJSONArray != null) {
-			String methodName = methodCall.getName();
-			List<String> parameterTypeNames =
-				methodCall.getParameterTypeNames();
-
-			Iterator<JSONObject> iterator = methodsJSONArray.iterator();
-
-			outerLoop:
-			while (iterator.hasNext()) {
-				JSONObject methodJSONObject = iterator.next();
-
-				if (!methodName.equals(methodJSONObject.getString("name"))) {
-					continue;
-				}
-
-				JSONArray parametersJSONArray = methodJSONObject.getJSONArray(
-					"parameters");
+		List<String> parameterTypeNames = methodCall.getParameterTypeNames();
 
-				if (parametersJSONArray == null) {
-					if (parameterTypeNames.isEmpty()) {
-						methodJSONObjects.add(methodJSONObject);
-					}
-
-					continue;
-				}
-
-				if (parametersJSONArray.length() != parameterTypeNames.size()) {
-					continue;
-				}
-
-				for (int i = 0; i < parameterTypeNames.size(); i++) {
-					String actualTypeName = parameterTypeNames.get(i);
-					String methodTypeName = parametersJSONArray.getString(i);
-
-					if (Validator.isNotNull(actualTypeName) &&
-						!StringUtil.equalsIgnoreCase(
-							actualTypeName, methodTypeName) &&
-						!methodTypeName.equals("Object") &&
-						(!_isNumeric(actualTypeName) ||
-						 !_isNumeric(methodTypeName))) {
+		List<JSONObject> methodJSONObjects = new ArrayList<>();
 
-						continue outerLoop;
-					}
-				}
+		for (JSONObject methodJSONObject :
+				portalAPIIndex.getMethodJSONObjects(
+					methodCall.getVariableTypeName(), methodCall.getName(),
+					parameterTypeNames.size())) {
 
+			if (_hasMatchingParameters(methodJSONObject, parameterTypeNames)) {
 				methodJSONObjects.add(methodJSONObject);
 			}
 		}
@@ -326,7 +209,7 @@ public abstract class BaseAPICheck extends BaseCheck {
 								methodCall.getName(), extendedClassName,
 								methodCall.getParameterTypeNames(),
 								methodCall.getLineNumber()),
-							javaClassesJSONObject));
+							portalAPIIndex));
 				}
 			}
 		}
@@ -334,6 +217,16 @@ public abstract class BaseAPICheck extends BaseCheck {
 		return methodJSONObjects;
 	}
 
+	protected PortalAPIIndex getPortalAPIIndex(String version)
+		throws Exception {
+
+		if (version.equals(getBaseDirName())) {
+			return PortalAPIIndex.getPortalAPIIndex(version);
+		}
+
+		return PortalAPIIndex.getPortalAPIIndexByVersion(version);
+	}
+
 	protected Map<String, Set<Integer>> getTypeNamesMap(
 		DetailAST detailAST, List<String> excludeImportNames,
 		boolean skipDeprecated) {
@@ -452,36 +345,10 @@ public abstract class BaseAPICheck extends BaseCheck {
 	}
 
 	protected JSONObject getVariableJSONObject(
-		VariableCall variableCall, JSONObject javaClassesJSONObject) {
-
-		JSONObject classJSONObject = javaClassesJSONObject.getJSONObject(
-			variableCall.getTypeName());
-
-		if (classJSONObject == null) {
-			return null;
-		}
+		VariableCall variableCall, PortalAPIIndex portalAPIIndex) {
 
-		JSONArray variablesJSONArray = classJSONObject.getJSONArray(
-			"variables");
-
-		if (variablesJSONArray == null) {
-			return null;
-		}
-
-		Iterator<JSONObject> iterator = variablesJSONArray.iterator();
-
-		while (iterator.hasNext()) {
-			JSONObject variableJSONObject = iterator.next();
-
-			if (Objects.equals(
-					variableCall.getName(),
-					variableJSONObject.getString("name"))) {
-
-				return variableJSONObject;
-			}
-		}
-
-		return null;
+		return portalAPIIndex.getVariableJSONObject(
+			variableCall.getTypeName(), variableCall.getName());
 	}
 
 	protected boolean hasDeprecatedParent(DetailAST detailAST) {
@@ -843,6 +710,31 @@ public abstract class BaseAPICheck extends BaseCheck {
 		return parameterTypeNames;
 	}
 
+	private boolean _hasMatchingParameters(
+		JSONObject jsonObject, List<String> parameterTypeNames) {
+
+		JSONArray parametersJSONArray = jsonObject.getJSONArray("parameters");
+
+		if (parametersJSONArray == null) {
+			return parameterTypeNames.isEmpty();
+		}
+
+		for (int i = 0; i < parameterTypeNames.size(); i++) {
+			String actualTypeName = parameterTypeNames.get(i);
+			String methodTypeName = parametersJSONArray.getString(i);
+
+			if (Validator.isNotNull(actualTypeName) &&
+				!StringUtil.equalsIgnoreCase(actualTypeName, methodTypeName) &&
+				!methodTypeName.equals("Object") &&
+				(!_isNumeric(actualTypeName) || !_isNumeric(methodTypeName))) {
+
+				return false;
+			}
+		}
+
+		return true;
+	}
+
 	private boolean _isNumeric(String typeName) {
 		if (typeName.equals("double") || typeName.equals("float") ||
 			typeName.equals("int") || typeName.equals("long")) {
@@ -853,7 +745,4 @@ public abstract class BaseAPICheck extends BaseCheck {
 		return false;
 	}
 
-	private final Map<String, JSONObject> _javaClassesJSONObjectMap =
-		new HashMap<>();
-
 }
\ No newline at end of file
@@ -8,6 +8,7 @@ package com.liferay.source.formatter.checkstyle.check;
 import com.liferay.petra.string.StringBundler;
 import com.liferay.portal.kernel.json.JSONObject;
 import com.liferay.source.formatter.check.util.SourceUtil;
+import com.liferay.source.formatter.util.PortalAPIIndex;
 
 import com.puppycrawl.tools.checkstyle.api.DetailAST;
 import com.puppycrawl.tools.checkstyle.api.FileContents;
@@ -44,11 +45,10 @@ public class DeprecatedAPICheck extends BaseAPICheck {
 		}
 
 		try {
-			JSONObject javaClassesJSONObject = getJavaClassesJSONObject(
-				getBaseDirName());
+			PortalAPIIndex portalAPIIndex = getPortalAPIIndex(getBaseDirName());
 
 			List<String> deprecatedImportNames = getDeprecatedImportNames(
-				detailAST, javaClassesJSONObject);
+				detailAST, portalAPIIndex);
 
 			for (String deprecatedImportName : deprecatedImportNames) {
 				if (hasUndeprecatedReference(detailAST, deprecatedImportName)) {
@@ -59,13 +59,13 @@ public class DeprecatedAPICheck extends BaseAPICheck {
 			}
 
 			_checkDeprecatedConstructors(
-				detailAST, deprecatedImportNames, javaClassesJSONObject);
+				detailAST, deprecatedImportNames, portalAPIIndex);
 			_checkDeprecatedMethods(
-				detailAST, deprecatedImportNames, javaClassesJSONObject);
+				detailAST, deprecatedImportNames, portalAPIIndex);
 			_checkDeprecatedTypes(
-				detailAST, deprecatedImportNames, javaClassesJSONObject);
+				detailAST, deprecatedImportNames, portalAPIIndex);
 			_checkDeprecatedVariables(
-				detailAST, deprecatedImportNames, javaClassesJSONObject);
+				detailAST, deprecatedImportNames, portalAPIIndex);
 		}
 		catch (Exception exception) {
 		}
@@ -73,7 +73,7 @@ public class DeprecatedAPICheck extends BaseAPICheck {
 
 	protected List<ConstructorCall> getDeprecatedConstructorCalls(
 		DetailAST detailAST, List<String> deprecatedImportNames,
-		JSONObject javaClassesJSONObject) {
+		PortalAPIIndex portalAPIIndex) {
 
 		List<ConstructorCall> deprecatedConstructorCalls = new ArrayList<>();
 
@@ -83,7 +83,7 @@ public class DeprecatedAPICheck extends BaseAPICheck {
 		outerLoop:
 		for (ConstructorCall constructorCall : constructorCalls) {
 			List<JSONObject> constructorJSONObjects = getConstructorJSONObjects(
-				constructorCall, javaClassesJSONObject);
+				constructorCall, portalAPIIndex);
 
 			if (constructorJSONObjects.isEmpty()) {
 				continue;
@@ -102,14 +102,14 @@ public class DeprecatedAPICheck extends BaseAPICheck {
 	}
 
 	protected List<String> getDeprecatedImportNames(
-		DetailAST detailAST, JSONObject javaClassesJSONObject) {
+		DetailAST detailAST, PortalAPIIndex portalAPIIndex) {
 
 		List<String> deprecatedImportNames = new ArrayList<>();
 
 		List<String> importNames = getImportNames(detailAST);
 
 		for (String importName : importNames) {
-			JSONObject classJSONObject = javaClassesJSONObject.getJSONObject(
+			JSONObject classJSONObject = portalAPIIndex.getClassJSONObject(
 				importName);
 
 			if ((classJSONObject != null) &&
@@ -124,7 +124,7 @@ public class DeprecatedAPICheck extends BaseAPICheck {
 
 	protected List<MethodCall> getDeprecatedMethodCalls(
 		DetailAST detailAST, List<String> deprecatedImportNames,
-		JSONObject javaClassesJSONObject) {
+		PortalAPIIndex portalAPIIndex) {
 
 		List<MethodCall> deprecatedMethodCalls = new ArrayList<>();
 
@@ -134,7 +134,7 @@ public class DeprecatedAPICheck extends BaseAPICheck {
 		outerLoop:
 		for (MethodCall methodCall : methodCalls) {
 			List<JSONObject> methodJSONObjects = getMethodJSONObjects(
-				methodCall, javaClassesJSONObject);
+				methodCall, portalAPIIndex);
 
 			if (methodJSONObjects.isEmpty()) {
 				continue;
@@ -154,7 +154,7 @@ public class DeprecatedAPICheck extends BaseAPICheck {
 
 	protected Map<String, Set<Integer>> getDeprecatedTypeNamesMap(
 		DetailAST detailAST, List<String> deprecatedImportNames,
-		JSONObject javaClassesJSONObject) {
+		PortalAPIIndex portalAPIIndex) {
 
 		Map<String, Set<Integer>> deprecatedTypeNamesMap = new HashMap<>();
 
@@ -164,7 +164,7 @@ public class DeprecatedAPICheck extends BaseAPICheck {
 		for (Map.Entry<String, Set<Integer>> entry : typeNamesMap.entrySet()) {
 			String typeName = entry.getKey();
 
-			JSONObject classJSONObject = javaClassesJSONObject.getJSONObject(
+			JSONObject classJSONObject = portalAPIIndex.getClassJSONObject(
 				typeName);
 
 			if ((classJSONObject != null) &&
@@ -184,7 +184,7 @@ public class DeprecatedAPICheck extends BaseAPICheck {
 
 	protected List<VariableCall> getDeprecatedVariableCalls(
 		DetailAST detailAST, List<String> deprecatedImportNames,
-		JSONObject javaClassesJSONObject) {
+		PortalAPIIndex portalAPIIndex) {
 
 		List<VariableCall> deprecatedVariableCalls = new ArrayList<>();
 
@@ -193,7 +193,7 @@ public class DeprecatedAPICheck extends BaseAPICheck {
 
 		for (VariableCall variableCall : variableCalls) {
 			JSONObject variableJSONObject = getVariableJSONObject(
-				variableCall, javaClassesJSONObject);
+				variableCall, portalAPIIndex);
 
 			if ((variableJSONObject != null) &&
 				variableJSONObject.has("deprecated")) {
@@ -246,11 +246,11 @@ public class DeprecatedAPICheck extends BaseAPICheck {
 
 	private void _checkDeprecatedConstructors(
 		DetailAST detailAST, List<String> deprecatedImportNames,
-		JSONObject javaClassesJSONObject) {
+		PortalAPIIndex portalAPIIndex) {
 
 		List<ConstructorCall> deprecatedConstructorCalls =
 			getDeprecatedConstructorCalls(
-				detailAST, deprecatedImportNames, javaClassesJSONObject);
+				detailAST, deprecatedImportNames, portalAPIIndex);
 
 		for (ConstructorCall deprecatedConstructorCall :
 				deprecatedConstructorCalls) {
@@ -264,10 +264,10 @@ public class DeprecatedAPICheck extends BaseAPICheck {
 
 	private void _checkDeprecatedMethods(
 		DetailAST detailAST, List<String> deprecatedImportNames,
-		JSONObject javaClassesJSONObject) {
+		PortalAPIIndex portalAPIIndex) {
 
 		List<MethodCall> deprecatedMethodCalls = getDeprecatedMethodCalls(
-			detailAST, deprecatedImportNames, javaClassesJSONObject);
+			detailAST, deprecatedImportNames, portalAPIIndex);
 
 		for (MethodCall deprecatedMethodCall : deprecatedMethodCalls) {
 			log(
@@ -278,11 +278,11 @@ public class DeprecatedAPICheck extends BaseAPICheck {
 
 	private void _checkDeprecatedTypes(
 		DetailAST detailAST, List<String> deprecatedImportNames,
-		JSONObject javaClassesJSONObject) {
+		PortalAPIIndex portalAPIIndex) {
 
 		Map<String, Set<Integer>> deprecatedTypeNamesMap =
 			getDeprecatedTypeNamesMap(
-				detailAST, deprecatedImportNames, javaClassesJSONObject);
+				detailAST, deprecatedImportNames, portalAPIIndex);
 
 		for (Map.Entry<String, Set<Integer>> entry :
 				deprecatedTypeNamesMap.entrySet()) {
@@ -299,10 +299,10 @@ public class DeprecatedAPICheck extends BaseAPICheck {
 
 	private void _checkDeprecatedVariables(
 		DetailAST detailAST, List<String> deprecatedImportNames,
-		JSONObject javaClassesJSONObject) {
+		PortalAPIIndex portalAPIIndex) {
 
 		List<VariableCall> deprecatedVariableCalls = getDeprecatedVariableCalls(
-			detailAST, deprecatedImportNames, javaClassesJSONObject);
+			detailAST, deprecatedImportNames, portalAPIIndex);
 
 		for (VariableCall deprecatedVariableCall : deprecatedVariableCalls) {
 			log(
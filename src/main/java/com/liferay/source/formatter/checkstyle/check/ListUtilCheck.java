@@ -5,23 +5,16 @@
 
 package com.liferay.source.formatter.checkstyle.check;
 
-import com.liferay.petra.string.CharPool;
-import com.liferay.petra.string.StringPool;
 import com.liferay.portal.kernel.util.ListUtil;
-import com.liferay.portal.kernel.util.StringUtil;
 import com.liferay.portal.kernel.util.Validator;
-import com.liferay.source.formatter.util.FileUtil;
+import com.liferay.source.formatter.check.util.ModuleModel;
 
 import com.puppycrawl.tools.checkstyle.api.DetailAST;
 import com.puppycrawl.tools.checkstyle.api.FullIdent;
 import com.puppycrawl.tools.checkstyle.api.TokenTypes;
 
-import java.io.File;
-
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * @author Hugo Huijser
@@ -243,38 +236,14 @@ public class ListUtilCheck extends BaseCheck {
 	}
 
 	private String _getBuildGradleContent(String absolutePath) {
-		String buildGradleLocation = absolutePath;
-
-		while (true) {
-			int pos = buildGradleLocation.lastIndexOf(StringPool.SLASH);
-
-			if (pos == -1) {
-				return null;
-			}
-
-			buildGradleLocation = buildGradleLocation.substring(0, pos + 1);
-
-			String buildGradleContent = _buildGradleContentsMap.get(
-				buildGradleLocation);
-
-			if (buildGradleContent != null) {
-				return buildGradleContent;
-			}
-
-			File file = new File(buildGradleLocation + "build.gradle");
-
-			if (file.exists()) {
-				buildGradleContent = FileUtil.read(file);
-
-				_buildGradleContentsMap.put(
-					buildGradleLocation, buildGradleContent);
+		ModuleModel moduleModel = ModuleModel.getBuildGradleModuleModel(
+			absolutePath);
 
-				return buildGradleContent;
-			}
-
-			buildGradleLocation = StringUtil.replaceLast(
-				buildGradleLocation, CharPool.SLASH, StringPool.BLANK);
+		if (moduleModel == null) {
+			return null;
 		}
+
+		return moduleModel.getBuildGradleContent();
 	}
 
 	private List<DetailAST> _getIdentDetailASTList(
@@ -345,7 +314,4 @@ public class ListUtilCheck extends BaseCheck {
 	private static final String _MSG_USE_LIST_UTIL_IS_EMPTY =
 		"list.util.is.empty.use";
 
-	private final Map<String, String> _buildGradleContentsMap =
-		new ConcurrentHashMap<>();
-
 }
\ No newline at end of file
@@ -8,8 +8,8 @@ package com.liferay.source.formatter.checkstyle.check;
 import com.liferay.portal.kernel.log.Log;
 import com.liferay.portal.kernel.log.LogFactoryUtil;
 import com.liferay.portal.kernel.util.StringUtil;
-import com.liferay.source.formatter.check.util.BNDSourceUtil;
 import com.liferay.source.formatter.check.util.JavaSourceUtil;
+import com.liferay.source.formatter.check.util.ModuleModel;
 import com.liferay.source.formatter.check.util.SourceUtil;
 import com.liferay.source.formatter.parser.JavaClass;
 import com.liferay.source.formatter.parser.JavaClassParser;
@@ -283,7 +283,7 @@ public class RESTDTOSetCallCheck extends BaseCheck {
 		String absolutePath) {
 
 		if (_bundleSymbolicNamesMap == null) {
-			_bundleSymbolicNamesMap = BNDSourceUtil.getBundleSymbolicNamesMap(
+			_bundleSymbolicNamesMap = ModuleModel.getBundleSymbolicNamesMap(
 				_getRootDirName(absolutePath));
 		}
 
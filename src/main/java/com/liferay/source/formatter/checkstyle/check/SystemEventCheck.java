@@ -8,15 +8,13 @@ package com.liferay.source.formatter.checkstyle.check;
 import com.liferay.portal.kernel.util.GetterUtil;
 import com.liferay.portal.kernel.util.StringUtil;
 import com.liferay.portal.kernel.util.Validator;
-import com.liferay.source.formatter.check.util.SourceUtil;
+import com.liferay.source.formatter.check.util.ModuleModel;
 
 import com.puppycrawl.tools.checkstyle.api.DetailAST;
 import com.puppycrawl.tools.checkstyle.api.FullIdent;
 import com.puppycrawl.tools.checkstyle.api.TokenTypes;
 import com.puppycrawl.tools.checkstyle.utils.AnnotationUtil;
 
-import java.io.File;
-
 import java.util.List;
 import java.util.Objects;
 
@@ -175,28 +173,14 @@ public class SystemEventCheck extends BaseCheck {
 			return _entityElement;
 		}
 
-		String absolutePath = getAbsolutePath();
-
-		File serviceXMLFile = null;
-
-		int pos = absolutePath.length();
-
-		while (true) {
-			pos = absolutePath.lastIndexOf("/", pos - 1);
-
-			if (pos == -1) {
-				return null;
-			}
-
-			serviceXMLFile = new File(
-				absolutePath.substring(0, pos + 1) + "service.xml");
+		ModuleModel moduleModel = ModuleModel.getServiceXMLModuleModel(
+			getAbsolutePath());
 
-			if (serviceXMLFile.exists()) {
-				break;
-			}
+		if (moduleModel == null) {
+			return null;
 		}
 
-		Document document = SourceUtil.readXML(serviceXMLFile);
+		Document document = moduleModel.getServiceXMLDocument();
 
 		if (document == null) {
 			return null;
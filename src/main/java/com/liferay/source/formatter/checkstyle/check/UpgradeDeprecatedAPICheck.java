@@ -5,7 +5,7 @@
 
 package com.liferay.source.formatter.checkstyle.check;
 
-import com.liferay.portal.kernel.json.JSONObject;
+import com.liferay.source.formatter.util.PortalAPIIndex;
 import com.liferay.source.formatter.util.SourceFormatterUtil;
 
 import com.puppycrawl.tools.checkstyle.api.DetailAST;
@@ -44,17 +44,15 @@ public class UpgradeDeprecatedAPICheck extends DeprecatedAPICheck {
 			SourceFormatterUtil.UPGRADE_TO_RELEASE_VERSION);
 
 		try {
-			JSONObject upgradeFromJavaClassesJSONObject =
-				getJavaClassesJSONObject(upgradeFromVersion);
-			JSONObject upgradeToJavaClassesJSONObject =
-				getJavaClassesJSONObject(upgradeToVersion);
+			PortalAPIIndex upgradeFromPortalAPIIndex = getPortalAPIIndex(
+				upgradeFromVersion);
+			PortalAPIIndex upgradeToPortalAPIIndex = getPortalAPIIndex(
+				upgradeToVersion);
 
 			List<String> upgradeFromDeprecatedImportNames =
-				getDeprecatedImportNames(
-					detailAST, upgradeFromJavaClassesJSONObject);
+				getDeprecatedImportNames(detailAST, upgradeFromPortalAPIIndex);
 			List<String> upgradeToDeprecatedImportNames =
-				getDeprecatedImportNames(
-					detailAST, upgradeToJavaClassesJSONObject);
+				getDeprecatedImportNames(detailAST, upgradeToPortalAPIIndex);
 
 			for (String upgradeToDeprecatedImportName :
 					upgradeToDeprecatedImportNames) {
@@ -74,24 +72,20 @@ public class UpgradeDeprecatedAPICheck extends DeprecatedAPICheck {
 
 			_checkDeprecatedConstructors(
 				detailAST, upgradeFromDeprecatedImportNames,
-				upgradeFromJavaClassesJSONObject,
-				upgradeToDeprecatedImportNames, upgradeToJavaClassesJSONObject,
-				upgradeToVersion);
+				upgradeFromPortalAPIIndex, upgradeToDeprecatedImportNames,
+				upgradeToPortalAPIIndex, upgradeToVersion);
 			_checkDeprecatedMethods(
 				detailAST, upgradeFromDeprecatedImportNames,
-				upgradeFromJavaClassesJSONObject,
-				upgradeToDeprecatedImportNames, upgradeToJavaClassesJSONObject,
-				upgradeToVersion);
+				upgradeFromPortalAPIIndex, upgradeToDeprecatedImportNames,
+				upgradeToPortalAPIIndex, upgradeToVersion);
 			_checkDeprecatedTypes(
 				detailAST, upgradeFromDeprecatedImportNames,
-				upgradeFromJavaClassesJSONObject,
-				upgradeToDeprecatedImportNames, upgradeToJavaClassesJSONObject,
-				upgradeToVersion);
+				upgradeFromPortalAPIIndex, upgradeToDeprecatedImportNames,
+				upgradeToPortalAPIIndex, upgradeToVersion);
 			_checkDeprecatedVariables(
 				detailAST, upgradeFromDeprecatedImportNames,
-				upgradeFromJavaClassesJSONObject,
-				upgradeToDeprecatedImportNames, upgradeToJavaClassesJSONObject,
-				upgradeToVersion);
+				upgradeFromPortalAPIIndex, upgradeToDeprecatedImportNames,
+				upgradeToPortalAPIIndex, upgradeToVersion);
 		}
 		catch (Exception exception) {
 		}
@@ -99,18 +93,18 @@ public class UpgradeDeprecatedAPICheck extends DeprecatedAPICheck {
 
 	private void _checkDeprecatedConstructors(
 		DetailAST detailAST, List<String> upgradeFromDeprecatedImportNames,
-		JSONObject upgradeFromJavaClassesJSONObject,
+		PortalAPIIndex upgradeFromPortalAPIIndex,
 		List<String> upgradeToDeprecatedImportNames,
-		JSONObject upgradeToJavaClassesJSONObject, String upgradeToVersion) {
+		PortalAPIIndex upgradeToPortalAPIIndex, String upgradeToVersion) {
 
 		List<ConstructorCall> upgradeFromDeprecatedConstructorCalls =
 			getDeprecatedConstructorCalls(
 				detailAST, upgradeFromDeprecatedImportNames,
-				upgradeFromJavaClassesJSONObject);
+				upgradeFromPortalAPIIndex);
 		List<ConstructorCall> upgradeToDeprecatedConstructorCalls =
 			getDeprecatedConstructorCalls(
 				detailAST, upgradeToDeprecatedImportNames,
-				upgradeToJavaClassesJSONObject);
+				upgradeToPortalAPIIndex);
 
 		for (ConstructorCall upgradeToDeprecatedConstructorCall :
 				upgradeToDeprecatedConstructorCalls) {
@@ -129,18 +123,18 @@ public class UpgradeDeprecatedAPICheck extends DeprecatedAPICheck {
 
 	private void _checkDeprecatedMethods(
 		DetailAST detailAST, List<String> upgradeFromDeprecatedImportNames,
-		JSONObject upgradeFromJavaClassesJSONObject,
+		PortalAPIIndex upgradeFromPortalAPIIndex,
 		List<String> upgradeToDeprecatedImportNames,
-		JSONObject upgradeToJavaClassesJSONObject, String upgradeToVersion) {
+		PortalAPIIndex upgradeToPortalAPIIndex, String upgradeToVersion) {
 
 		List<MethodCall> upgradeFromDeprecatedMethodCalls =
 			getDeprecatedMethodCalls(
 				detailAST, upgradeFromDeprecatedImportNames,
-				upgradeFromJavaClassesJSONObject);
+				upgradeFromPortalAPIIndex);
 		List<MethodCall> upgradeToDeprecatedMethodCalls =
 			getDeprecatedMethodCalls(
 				detailAST, upgradeToDeprecatedImportNames,
-				upgradeToJavaClassesJSONObject);
+				upgradeToPortalAPIIndex);
 
 		for (MethodCall upgradeToDeprecatedMethodCall :
 				upgradeToDeprecatedMethodCalls) {
@@ -158,18 +152,18 @@ public class UpgradeDeprecatedAPICheck extends DeprecatedAPICheck {
 
 	private void _checkDeprecatedTypes(
 		DetailAST detailAST, List<String> upgradeFromDeprecatedImportNames,
-		JSONObject upgradeFromJavaClassesJSONObject,
+		PortalAPIIndex upgradeFromPortalAPIIndex,
 		List<String> upgradeToDeprecatedImportNames,
-		JSONObject upgradeToJavaClassesJSONObject, String upgradeToVersion) {
+		PortalAPIIndex upgradeToPortalAPIIndex, String upgradeToVersion) {
 
 		Map<String, Set<Integer>> upgradeFromDeprecatedTypeNamesMap =
 			getDeprecatedTypeNamesMap(
 				detailAST, upgradeFromDeprecatedImportNames,
-				upgradeFromJavaClassesJSONObject);
+				upgradeFromPortalAPIIndex);
 		Map<String, Set<Integer>> upgradeToDeprecatedTypeNamesMap =
 			getDeprecatedTypeNamesMap(
 				detailAST, upgradeToDeprecatedImportNames,
-				upgradeToJavaClassesJSONObject);
+				upgradeToPortalAPIIndex);
 
 		for (Map.Entry<String, Set<Integer>> entry :
 				upgradeToDeprecatedTypeNamesMap.entrySet()) {
@@ -194,18 +188,18 @@ public class UpgradeDeprecatedAPICheck extends DeprecatedAPICheck {
 
 	private void _checkDeprecatedVariables(
 		DetailAST detailAST, List<String> upgradeFromDeprecatedImportNames,
-		JSONObject upgradeFromJavaClassesJSONObject,
+		PortalAPIIndex upgradeFromPortalAPIIndex,
 		List<String> upgradeToDeprecatedImportNames,
-		JSONObject upgradeToJavaClassesJSONObject, String upgradeToVersion) {
+		PortalAPIIndex upgradeToPortalAPIIndex, String upgradeToVersion) {
 
 		List<VariableCall> upgradeFromDeprecatedVariableCalls =
 			getDeprecatedVariableCalls(
 				detailAST, upgradeFromDeprecatedImportNames,
-				upgradeFromJavaClassesJSONObject);
+				upgradeFromPortalAPIIndex);
 		List<VariableCall> upgradeToDeprecatedVariableCalls =
 			getDeprecatedVariableCalls(
 				detailAST, upgradeToDeprecatedImportNames,
-				upgradeToJavaClassesJSONObject);
+				upgradeToPortalAPIIndex);
 
 		for (VariableCall upgradeToDeprecatedVariableCall :
 				upgradeToDeprecatedVariableCalls) {
@@ -8,6 +8,7 @@ package com.liferay.source.formatter.checkstyle.check;
 import com.liferay.petra.string.StringPool;
 import com.liferay.portal.kernel.json.JSONObject;
 import com.liferay.portal.kernel.util.StringUtil;
+import com.liferay.source.formatter.util.PortalAPIIndex;
 import com.liferay.source.formatter.util.SourceFormatterUtil;
 
 import com.puppycrawl.tools.checkstyle.api.DetailAST;
@@ -47,27 +48,27 @@ public class UpgradeRemovedAPICheck extends BaseAPICheck {
 			SourceFormatterUtil.UPGRADE_TO_RELEASE_VERSION);
 
 		try {
-			JSONObject upgradeFromJavaClassesJSONObject =
-				getJavaClassesJSONObject(upgradeFromVersion);
-			JSONObject upgradeToJavaClassesJSONObject =
-				getJavaClassesJSONObject(upgradeToVersion);
+			PortalAPIIndex upgradeFromPortalAPIIndex = getPortalAPIIndex(
+				upgradeFromVersion);
+			PortalAPIIndex upgradeToPortalAPIIndex = getPortalAPIIndex(
+				upgradeToVersion);
 
 			List<String> removedImportNames = _getRemovedImportNames(
-				detailAST, upgradeFromJavaClassesJSONObject,
-				upgradeToJavaClassesJSONObject, upgradeToVersion);
+				detailAST, upgradeFromPortalAPIIndex, upgradeToPortalAPIIndex,
+				upgradeToVersion);
 
 			_checkRemovedConstructors(
-				detailAST, removedImportNames, upgradeFromJavaClassesJSONObject,
-				upgradeToJavaClassesJSONObject, upgradeToVersion);
+				detailAST, removedImportNames, upgradeFromPortalAPIIndex,
+				upgradeToPortalAPIIndex, upgradeToVersion);
 			_checkRemovedMethods(
-				detailAST, removedImportNames, upgradeFromJavaClassesJSONObject,
-				upgradeToJavaClassesJSONObject, upgradeToVersion);
+				detailAST, removedImportNames, upgradeFromPortalAPIIndex,
+				upgradeToPortalAPIIndex, upgradeToVersion);
 			_checkRemovedTypes(
-				detailAST, removedImportNames, upgradeFromJavaClassesJSONObject,
-				upgradeToJavaClassesJSONObject, upgradeToVersion);
+				detailAST, removedImportNames, upgradeFromPortalAPIIndex,
+				upgradeToPortalAPIIndex, upgradeToVersion);
 			_checkRemovedVariables(
-				detailAST, removedImportNames, upgradeFromJavaClassesJSONObject,
-				upgradeToJavaClassesJSONObject, upgradeToVersion);
+				detailAST, removedImportNames, upgradeFromPortalAPIIndex,
+				upgradeToPortalAPIIndex, upgradeToVersion);
 		}
 		catch (Exception exception) {
 		}
@@ -75,8 +76,8 @@ public class UpgradeRemovedAPICheck extends BaseAPICheck {
 
 	private void _checkRemovedConstructors(
 		DetailAST detailAST, List<String> removedImportNames,
-		JSONObject upgradeFromJavaClassesJSONObject,
-		JSONObject upgradeToJavaClassesJSONObject, String upgradeToVersion) {
+		PortalAPIIndex upgradeFromPortalAPIIndex,
+		PortalAPIIndex upgradeToPortalAPIIndex, String upgradeToVersion) {
 
 		List<ConstructorCall> constructorCalls = getConstructorCalls(
 			detailAST, removedImportNames, false);
@@ -84,26 +85,26 @@ public class UpgradeRemovedAPICheck extends BaseAPICheck {
 		for (ConstructorCall constructorCall : constructorCalls) {
 			List<JSONObject> upgradeFromConstructorJSONObjects =
 				getConstructorJSONObjects(
-					constructorCall, upgradeFromJavaClassesJSONObject);
+					constructorCall, upgradeFromPortalAPIIndex);
 
 			if (upgradeFromConstructorJSONObjects.isEmpty()) {
 				continue;
 			}
 
 			JSONObject classJSONObject =
-				upgradeToJavaClassesJSONObject.getJSONObject(
+				upgradeToPortalAPIIndex.getClassJSONObject(
 					constructorCall.getTypeName());
 
 			if (classJSONObject == null) {
 				_logRemovedClass(
 					constructorCall.getTypeName(),
 					constructorCall.getLineNumber(), upgradeToVersion,
-					upgradeToJavaClassesJSONObject);
+					upgradeToPortalAPIIndex);
 			}
 			else {
 				List<JSONObject> upgradeToConstructorJSONObjects =
 					getConstructorJSONObjects(
-						constructorCall, upgradeToJavaClassesJSONObject);
+						constructorCall, upgradeToPortalAPIIndex);
 
 				if (upgradeToConstructorJSONObjects.isEmpty()) {
 					log(
@@ -117,35 +118,33 @@ public class UpgradeRemovedAPICheck extends BaseAPICheck {
 
 	private void _checkRemovedMethods(
 		DetailAST detailAST, List<String> removedImportNames,
-		JSONObject upgradeFromJavaClassesJSONObject,
-		JSONObject upgradeToJavaClassesJSONObject, String upgradeToVersion) {
+		PortalAPIIndex upgradeFromPortalAPIIndex,
+		PortalAPIIndex upgradeToPortalAPIIndex, String upgradeToVersion) {
 
 		List<MethodCall> methodCalls = getMethodCalls(
 			detailAST, removedImportNames, false);
 
 		for (MethodCall methodCall : methodCalls) {
 			List<JSONObject> upgradeFromMethodJSONObjects =
-				getMethodJSONObjects(
-					methodCall, upgradeFromJavaClassesJSONObject);
+				getMethodJSONObjects(methodCall, upgradeFromPortalAPIIndex);
 
 			if (upgradeFromMethodJSONObjects.isEmpty()) {
 				continue;
 			}
 
 			JSONObject classJSONObject =
-				upgradeToJavaClassesJSONObject.getJSONObject(
+				upgradeToPortalAPIIndex.getClassJSONObject(
 					methodCall.getVariableTypeName());
 
 			if (classJSONObject == null) {
 				_logRemovedClass(
 					methodCall.getVariableTypeName(),
 					methodCall.getLineNumber(), upgradeToVersion,
-					upgradeToJavaClassesJSONObject);
+					upgradeToPortalAPIIndex);
 			}
 			else {
 				List<JSONObject> upgradeToMethodJSONObjects =
-					getMethodJSONObjects(
-						methodCall, upgradeToJavaClassesJSONObject);
+					getMethodJSONObjects(methodCall, upgradeToPortalAPIIndex);
 
 				if (upgradeToMethodJSONObjects.isEmpty()) {
 					log(
@@ -159,8 +158,8 @@ public class UpgradeRemovedAPICheck extends BaseAPICheck {
 
 	private void _checkRemovedTypes(
 		DetailAST detailAST, List<String> removedImportNames,
-		JSONObject upgradeFromJavaClassesJSONObject,
-		JSONObject upgradeToJavaClassesJSONObject, String upgradeToVersion) {
+		PortalAPIIndex upgradeFromPortalAPIIndex,
+		PortalAPIIndex upgradeToPortalAPIIndex, String upgradeToVersion) {
 
 		Map<String, Set<Integer>> typeNamesMap = getTypeNamesMap(
 			detailAST, removedImportNames, false);
@@ -169,9 +168,9 @@ public class UpgradeRemovedAPICheck extends BaseAPICheck {
 			String typeName = entry.getKey();
 
 			JSONObject upgradeFromClassJSONObject =
-				upgradeFromJavaClassesJSONObject.getJSONObject(typeName);
+				upgradeFromPortalAPIIndex.getClassJSONObject(typeName);
 			JSONObject upgradeToClassJSONObject =
-				upgradeToJavaClassesJSONObject.getJSONObject(typeName);
+				upgradeToPortalAPIIndex.getClassJSONObject(typeName);
 
 			if ((upgradeFromClassJSONObject != null) &&
 				(upgradeToClassJSONObject == null)) {
@@ -181,7 +180,7 @@ public class UpgradeRemovedAPICheck extends BaseAPICheck {
 				for (int lineNumber : lineNumbers) {
 					_logRemovedClass(
 						typeName, lineNumber, upgradeToVersion,
-						upgradeToJavaClassesJSONObject);
+						upgradeToPortalAPIIndex);
 				}
 			}
 		}
@@ -189,32 +188,32 @@ public class UpgradeRemovedAPICheck extends BaseAPICheck {
 
 	private void _checkRemovedVariables(
 		DetailAST detailAST, List<String> removedImportNames,
-		JSONObject upgradeFromJavaClassesJSONObject,
-		JSONObject upgradeToJavaClassesJSONObject, String upgradeToVersion) {
+		PortalAPIIndex upgradeFromPortalAPIIndex,
+		PortalAPIIndex upgradeToPortalAPIIndex, String upgradeToVersion) {
 
 		List<VariableCall> variableCalls = getVariableCalls(
 			detailAST, removedImportNames, false);
 
 		for (VariableCall variableCall : variableCalls) {
 			JSONObject upgradeFromVariableJSONObject = getVariableJSONObject(
-				variableCall, upgradeFromJavaClassesJSONObject);
+				variableCall, upgradeFromPortalAPIIndex);
 
 			if (upgradeFromVariableJSONObject == null) {
 				continue;
 			}
 
 			JSONObject classJSONObject =
-				upgradeToJavaClassesJSONObject.getJSONObject(
+				upgradeToPortalAPIIndex.getClassJSONObject(
 					variableCall.getTypeName());
 
 			if (classJSONObject == null) {
 				_logRemovedClass(
 					variableCall.getTypeName(), variableCall.getLineNumber(),
-					upgradeToVersion, upgradeToJavaClassesJSONObject);
+					upgradeToVersion, upgradeToPortalAPIIndex);
 			}
 			else {
 				JSONObject upgradeToVariableJSONObject = getVariableJSONObject(
-					variableCall, upgradeToJavaClassesJSONObject);
+					variableCall, upgradeToPortalAPIIndex);
 
 				if (upgradeToVariableJSONObject == null) {
 					log(
@@ -227,8 +226,8 @@ public class UpgradeRemovedAPICheck extends BaseAPICheck {
 	}
 
 	private List<String> _getRemovedImportNames(
-		DetailAST detailAST, JSONObject upgradeFromJavaClassesJSONObject,
-		JSONObject upgradeToJavaClassesJSONObject, String upgradeToVersion) {
+		DetailAST detailAST, PortalAPIIndex upgradeFromPortalAPIIndex,
+		PortalAPIIndex upgradeToPortalAPIIndex, String upgradeToVersion) {
 
 		List<String> removedImportNames = new ArrayList<>();
 
@@ -236,16 +235,16 @@ public class UpgradeRemovedAPICheck extends BaseAPICheck {
 
 		for (String importName : importNames) {
 			JSONObject upgradeFromClassJSONObject =
-				upgradeFromJavaClassesJSONObject.getJSONObject(importName);
+				upgradeFromPortalAPIIndex.getClassJSONObject(importName);
 			JSONObject upgradeToClassJSONObject =
-				upgradeToJavaClassesJSONObject.getJSONObject(importName);
+				upgradeToPortalAPIIndex.getClassJSONObject(importName);
 
 			if ((upgradeFromClassJSONObject != null) &&
 				(upgradeToClassJSONObject == null)) {
 
 				_logRemovedClass(
 					importName, detailAST.getLineNo(), upgradeToVersion,
-					upgradeToJavaClassesJSONObject);
+					upgradeToPortalAPIIndex);
 
 				removedImportNames.add(importName);
 			}
@@ -256,7 +255,7 @@ public class UpgradeRemovedAPICheck extends BaseAPICheck {
 
 	private void _logRemovedClass(
 		String typeName, int lineNumber, String upgradeToVersion,
-		JSONObject upgradeToJavaClassesJSONObject) {
+		PortalAPIIndex upgradeToPortalAPIIndex) {
 
 		int x = typeName.lastIndexOf(".");
 
@@ -264,7 +263,7 @@ public class UpgradeRemovedAPICheck extends BaseAPICheck {
 
 		List<String> classNames = new ArrayList<>();
 
-		for (String className : upgradeToJavaClassesJSONObject.keySet()) {
+		for (String className : upgradeToPortalAPIIndex.getClassNames()) {
 			if (className.endsWith(s)) {
 				classNames.add(className);
 			}
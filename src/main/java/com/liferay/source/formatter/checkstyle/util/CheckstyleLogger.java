@@ -6,7 +6,6 @@
 package com.liferay.source.formatter.checkstyle.util;
 
 import com.liferay.petra.string.CharPool;
-import com.liferay.portal.kernel.io.unsync.UnsyncByteArrayOutputStream;
 import com.liferay.portal.kernel.log.Log;
 import com.liferay.portal.kernel.log.LogFactoryUtil;
 import com.liferay.portal.kernel.util.StringUtil;
@@ -22,11 +21,14 @@ import com.puppycrawl.tools.checkstyle.api.AuditEvent;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.TreeSet;
 
+import org.apache.commons.io.output.NullOutputStream;
 import org.dom4j.Document;
 import org.dom4j.Element;
 
@@ -36,7 +38,7 @@ import org.dom4j.Element;
 public class CheckstyleLogger extends DefaultLogger {
 
 	public CheckstyleLogger(String baseDirName) {
-		super(new UnsyncByteArrayOutputStream(), OutputStreamOptions.CLOSE);
+		super(NullOutputStream.NULL_OUTPUT_STREAM, OutputStreamOptions.NONE);
 
 		_baseDirName = baseDirName;
 	}
@@ -85,72 +87,84 @@ public class CheckstyleLogger extends DefaultLogger {
 		return _baseDirName + relativizedPathString;
 	}
 
-	private Path _getAbsoluteNormalizedPath(String pathName) {
-		Path path = Paths.get(pathName);
+	private static synchronized Map<String, String>
+		_getCheckstyleDocumentationURLStringsMap() {
 
-		path = path.toAbsolutePath();
+		if (_checkstyleDocumentationURLStringsMap != null) {
+			return _checkstyleDocumentationURLStringsMap;
+		}
 
-		return path.normalize();
-	}
+		Map<String, String> checkstyleDocumentationURLStringsMap =
+			new HashMap<>();
 
-	private String _getCheckstyleDocumentationURLString(
-		Element element, String checkName) {
+		ClassLoader classLoader = CheckstyleLogger.class.getClassLoader();
 
-		if (checkName.equals(element.attributeValue("name"))) {
-			for (Element propertyElement :
-					(List<Element>)element.elements("property")) {
+		for (String fileName :
+				new String[] {"checkstyle.xml", "checkstyle-jsp.xml"}) {
 
-				if (Objects.equals(
-						propertyElement.attributeValue("name"),
-						"documentationLocation")) {
+			try {
+				Document document = SourceUtil.readXML(
+					StringUtil.read(classLoader.getResourceAsStream(fileName)));
 
-					return SourceFormatterUtil.
-						CHECKSTYLE_DOCUMENTATION_URL_BASE +
-							propertyElement.attributeValue("value");
+				_populateCheckstyleDocumentationURLStringsMap(
+					checkstyleDocumentationURLStringsMap,
+					document.getRootElement());
+			}
+			catch (Exception exception) {
+				if (_log.isDebugEnabled()) {
+					_log.debug(exception);
 				}
 			}
 		}
 
-		for (Element moduleElement :
-				(List<Element>)element.elements("module")) {
+		_checkstyleDocumentationURLStringsMap =
+			checkstyleDocumentationURLStringsMap;
+
+		return _checkstyleDocumentationURLStringsMap;
+	}
+
+	private static void _populateCheckstyleDocumentationURLStringsMap(
+		Map<String, String> checkstyleDocumentationURLStringsMap,
+		Element element) {
 
-			String checkstyleURLFilePath = _getCheckstyleDocumentationURLString(
-				moduleElement, checkName);
+		for (Element propertyElement :
+				(List<Element>)element.elements("property")) {
 
-			if (checkstyleURLFilePath != null) {
-				return checkstyleURLFilePath;
+			if (Objects.equals(
+					propertyElement.attributeValue("name"),
+					"documentationLocation")) {
+
+				checkstyleDocumentationURLStringsMap.putIfAbsent(
+					element.attributeValue("name"),
+					SourceFormatterUtil.CHECKSTYLE_DOCUMENTATION_URL_BASE +
+						propertyElement.attributeValue("value"));
 			}
 		}
 
-		return null;
-	}
+		for (Element moduleElement :
+				(List<Element>)element.elements("module")) {
 
-	private String _getCheckstyleDocumentationURLString(String checkName) {
-		try {
-			ClassLoader classLoader =
-				SourceFormatterMessage.class.getClassLoader();
+			_populateCheckstyleDocumentationURLStringsMap(
+				checkstyleDocumentationURLStringsMap, moduleElement);
+		}
+	}
 
-			Document document = SourceUtil.readXML(
-				StringUtil.read(
-					classLoader.getResourceAsStream("checkstyle.xml")));
+	private Path _getAbsoluteNormalizedPath(String pathName) {
+		Path path = Paths.get(pathName);
 
-			return _getCheckstyleDocumentationURLString(
-				document.getRootElement(), checkName);
-		}
-		catch (Exception exception) {
-			if (_log.isDebugEnabled()) {
-				_log.debug(exception);
-			}
+		path = path.toAbsolutePath();
 
-			return null;
-		}
+		return path.normalize();
 	}
 
 	private String _getDocumentationURLString(
 		String checkName, String simpleCheckName) {
 
 		if (!checkName.startsWith("com.liferay.")) {
-			return _getCheckstyleDocumentationURLString(simpleCheckName);
+			Map<String, String> checkstyleDocumentationURLStringsMap =
+				_getCheckstyleDocumentationURLStringsMap();
+
+			return checkstyleDocumentationURLStringsMap.get(simpleCheckName);
 		}
 
 		ClassLoader classLoader = CheckstyleLogger.class.getClassLoader();
@@ -171,9 +185,10 @@ public class CheckstyleLogger extends DefaultLogger {
 	private static final Log _log = LogFactoryUtil.getLog(
 		CheckstyleLogger.class);
 
-	private static final Set<SourceFormatterMessage> _sourceFormatterMessages =
-		new TreeSet<>();
+	private static Map<String, String> _checkstyleDocumentationURLStringsMap;
 
 	private final String _baseDirName;
+	private final Set<SourceFormatterMessage> _sourceFormatterMessages =
+		new TreeSet<>();
 
 }
\ No newline at end of file
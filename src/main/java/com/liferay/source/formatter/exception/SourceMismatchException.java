@@ -7,10 +7,30 @@ package com.liferay.source.formatter.exception;
 
 import com.liferay.petra.string.StringPool;
 import com.liferay.portal.kernel.exception.PortalException;
+import com.liferay.portal.kernel.util.ListUtil;
+import com.liferay.portal.kernel.util.StringUtil;
+
+import difflib.DiffUtils;
+import difflib.Patch;
+
+import java.io.ByteArrayOutputStream;
+
+import java.nio.charset.StandardCharsets;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
 
 import org.junit.Assert;
 
 /**
+ * Only the patch from the original source to the formatted source and the
+ * compressed formatted source are kept, since a large run can create many of
+ * these exceptions. Both sources are rebuilt when they are requested. When the
+ * file was deleted, the compressed original source is kept instead.
+ *
  * @author André de Oliveira
  * @author Hugo Huijser
  */
@@ -19,9 +39,59 @@ public class SourceMismatchException extends PortalException {
 	public SourceMismatchException(
 		String fileName, String originalSource, String formattedSource) {
 
+		this(
+			fileName, originalSource, formattedSource,
+			Collections.emptyList());
+	}
+
+	public SourceMismatchException(
+		String fileName, String originalSource, String formattedSource,
+		List<String> checkNames) {
+
 		_fileName = fileName;
-		_originalSource = originalSource;
-		_formattedSource = formattedSource;
+		_checkNames = checkNames;
+
+		if (formattedSource == null) {
+			_patch = null;
+			_sourceBytes = _deflate(originalSource);
+		}
+		else {
+			_patch = DiffUtils.diff(
+				_getLines(originalSource), _getLines(formattedSource));
+			_sourceBytes = _deflate(formattedSource);
+		}
+	}
+
+	@Override
+	public synchronized Throwable fillInStackTrace() {
+		return this;
+	}
+
+	/**
+	 * Returns the names of the checks that modified the source, such as
+	 * <code>SourceCheck:JavaStylingCheck</code>.
+	 */
+	public List<String> getCheckNames() {
+		return _checkNames;
+	}
+
+	/**
+	 * Returns the unified diff from the original source to the formatted
+	 * source.
+	 */
+	public String getDiff() {
+		List<String> originalLines = _getLines(getOriginalSource());
+
+		Patch<String> patch = _patch;
+
+		if (patch == null) {
+			patch = DiffUtils.diff(originalLines, Collections.emptyList());
+		}
+
+		return StringUtil.merge(
+			DiffUtils.generateUnifiedDiff(
+				_fileName, _fileName, originalLines, patch, 3),
+			StringPool.NEW_LINE);
 	}
 
 	public String getFileName() {
@@ -29,13 +99,21 @@ public class SourceMismatchException extends PortalException {
 	}
 
 	public String getFormattedSource() {
-		return _formattedSource;
+		if (_patch == null) {
+			return null;
+		}
+
+		return _inflate(_sourceBytes);
 	}
 
 	@Override
 	public String getMessage() {
+		String formattedSource = getFormattedSource();
+
+		String originalSource = _getOriginalSource(formattedSource);
+
 		try {
-			Assert.assertEquals(_fileName, _formattedSource, _originalSource);
+			Assert.assertEquals(_fileName, formattedSource, originalSource);
 		}
 		catch (AssertionError ae) {
 			String message = ae.getMessage();
@@ -53,13 +131,83 @@ public class SourceMismatchException extends PortalException {
 	}
 
 	public String getOriginalSource() {
-		return _originalSource;
+		return _getOriginalSource(getFormattedSource());
+	}
+
+	private byte[] _deflate(String s) {
+		Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+
+		deflater.setInput(s.getBytes(StandardCharsets.UTF_8));
+
+		deflater.finish();
+
+		ByteArrayOutputStream byteArrayOutputStream =
+			new ByteArrayOutputStream();
+
+		byte[] buffer = new byte[8192];
+
+		while (!deflater.finished()) {
+			int length = deflater.deflate(buffer);
+
+			byteArrayOutputStream.write(buffer, 0, length);
+		}
+
+		deflater.end();
+
+		return byteArrayOutputStream.toByteArray();
+	}
+
+	private List<String> _getLines(String s) {
+		return ListUtil.fromArray(s.split(StringPool.NEW_LINE, -1));
+	}
+
+	private String _getOriginalSource(String formattedSource) {
+		if (_patch == null) {
+			return _inflate(_sourceBytes);
+		}
+
+		List<String> originalLines = DiffUtils.unpatch(
+			_getLines(formattedSource), _patch);
+
+		return StringUtil.merge(originalLines, StringPool.NEW_LINE);
+	}
+
+	private String _inflate(byte[] bytes) {
+		Inflater inflater = new Inflater();
+
+		inflater.setInput(bytes);
+
+		ByteArrayOutputStream byteArrayOutputStream =
+			new ByteArrayOutputStream();
+
+		byte[] buffer = new byte[8192];
+
+		try {
+			while (!inflater.finished()) {
+				int length = inflater.inflate(buffer);
+
+				byteArrayOutputStream.write(buffer, 0, length);
+			}
+		}
+		catch (DataFormatException dataFormatException) {
+
+			// The bytes were deflated by this class
+
+			throw new IllegalStateException(dataFormatException);
+		}
+		finally {
+			inflater.end();
+		}
+
+		return new String(
+			byteArrayOutputStream.toByteArray(), StandardCharsets.UTF_8);
 	}
 
 	private static final int _MAX_MESSAGE_SIZE = 10000;
 
+	private final List<String> _checkNames;
 	private final String _fileName;
-	private final String _formattedSource;
-	private final String _originalSource;
+	private final Patch<String> _patch;
+	private final byte[] _sourceBytes;
 
 }
\ No newline at end of file
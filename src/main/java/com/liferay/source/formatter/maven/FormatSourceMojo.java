@@ -148,6 +148,13 @@ public class FormatSourceMojo extends AbstractMojo {
 		_sourceFormatterArgs.setMaxLineLength(maxLineLength);
 	}
 
+	/**
+	 * @parameter
+	 */
+	public void setNDJSONOutputFileName(String ndjsonOutputFileName) {
+		_sourceFormatterArgs.setNDJSONOutputFileName(ndjsonOutputFileName);
+	}
+
 	/**
 	 * @parameter
 	 */
@@ -169,6 +176,13 @@ public class FormatSourceMojo extends AbstractMojo {
 		_sourceFormatterArgs.setProcessorThreadCount(processorThreadCount);
 	}
 
+	/**
+	 * @parameter
+	 */
+	public void setSARIFOutputFileName(String sarifOutputFileName) {
+		_sourceFormatterArgs.setSARIFOutputFileName(sarifOutputFileName);
+	}
+
 	/**
 	 * @parameter
 	 */
@@ -176,6 +190,13 @@ public class FormatSourceMojo extends AbstractMojo {
 		_sourceFormatterArgs.setShowDebugInformation(showDebugInformation);
 	}
 
+	/**
+	 * @parameter
+	 */
+	public void setUseResultCache(boolean useResultCache) {
+		_sourceFormatterArgs.setUseResultCache(useResultCache);
+	}
+
 	/**
 	 * @parameter
 	 */
@@ -88,6 +88,11 @@ public abstract class BaseJavaTerm implements JavaTerm {
 		return null;
 	}
 
+	@Override
+	public int getStartPos() {
+		return _startPos;
+	}
+
 	@Override
 	public boolean hasAnnotation() {
 		Pattern pattern = Pattern.compile(
@@ -224,6 +229,11 @@ public abstract class BaseJavaTerm implements JavaTerm {
 		_parentJavaClass = javaClass;
 	}
 
+	@Override
+	public void setStartPos(int startPos) {
+		_startPos = startPos;
+	}
+
 	private final String _accessModifier;
 	private final String _content;
 	private final boolean _isAbstract;
@@ -232,5 +242,6 @@ public abstract class BaseJavaTerm implements JavaTerm {
 	private final int _lineNumber;
 	private final String _name;
 	private JavaClass _parentJavaClass;
+	private int _startPos = -1;
 
 }
\ No newline at end of file
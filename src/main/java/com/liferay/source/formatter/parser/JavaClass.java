@@ -8,6 +8,7 @@ package com.liferay.source.formatter.parser;
 import com.liferay.portal.kernel.util.StringUtil;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -56,7 +57,7 @@ public class JavaClass extends BaseJavaTerm {
 	}
 
 	public List<JavaTerm> getChildJavaTerms() {
-		return _childJavaTerms;
+		return Collections.unmodifiableList(_childJavaTerms);
 	}
 
 	public List<String> getExtendedClassNames() {
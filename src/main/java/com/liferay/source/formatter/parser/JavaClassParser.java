@@ -17,22 +17,82 @@ import java.io.IOException;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 /**
+ * Parses the classes of Java files. The parsed classes of the most recently
+ * parsed files are cached by file name and content, so that all checks that
+ * request the class of the same version of a file share one parse. Parsed
+ * classes are shared, and must not be modified.
+ *
  * @author Hugo Huijser
  */
 public class JavaClassParser {
 
+	/**
+	 * Resets the cache statistics and parse counts of a previous run of Source
+	 * Formatter in the same JVM. Parse counts are only recorded when
+	 * <code>recordParseCounts</code> is <code>true</code>.
+	 */
+	public static void clearStatistics(boolean recordParseCounts) {
+		_hitCount.reset();
+		_missCount.reset();
+		_parseCountsMap.clear();
+
+		_recordParseCounts = recordParseCounts;
+	}
+
+	public static long getHitCount() {
+		return _hitCount.sum();
+	}
+
+	public static long getMissCount() {
+		return _missCount.sum();
+	}
+
+	/**
+	 * Returns the number of times the class of each file was parsed.
+	 */
+	public static Map<String, Integer> getParseCounts() {
+		Map<String, Integer> parseCounts = new HashMap<>();
+
+		for (Map.Entry<String, LongAdder> entry : _parseCountsMap.entrySet()) {
+			LongAdder parseCount = entry.getValue();
+
+			parseCounts.put(entry.getKey(), parseCount.intValue());
+		}
+
+		return parseCounts;
+	}
+
 	public static List<JavaClass> parseAnonymousClasses(String content)
 		throws IOException, ParseException {
 
 		return parseAnonymousClasses(content, null, Collections.emptyList());
 	}
 
+	/**
+	 * Returns the anonymous classes of the given file, using the package and
+	 * import names of the class of the file.
+	 */
+	public static List<JavaClass> parseAnonymousClasses(
+			String fileName, String content)
+		throws IOException, ParseException {
+
+		ParsedJavaContent parsedJavaContent = _getParsedJavaContent(
+			fileName, content);
+
+		return parsedJavaContent.getAnonymousClasses();
+	}
+
 	public static List<JavaClass> parseAnonymousClasses(
 			String content, String packageName, List<String> importNames)
 		throws IOException, ParseException {
@@ -47,13 +107,16 @@ public class JavaClassParser {
 				StringUtil.equals(matcher.group(1), "<"));
 
 			if (anonymousClassContent != null) {
-				anonymousClasses.add(
-					_parseJavaClass(
-						StringPool.BLANK, packageName, importNames,
-						anonymousClassContent,
-						SourceUtil.getLineNumber(content, matcher.start()),
-						JavaTerm.ACCESS_MODIFIER_PRIVATE, false, false, false,
-						false, false, true));
+				JavaClass anonymousClass = _parseJavaClass(
+					StringPool.BLANK, packageName, importNames,
+					anonymousClassContent,
+					SourceUtil.getLineNumber(content, matcher.start()),
+					JavaTerm.ACCESS_MODIFIER_PRIVATE, false, false, false,
+					false, false, true);
+
+				anonymousClass.setStartPos(matcher.start() + 1);
+
+				anonymousClasses.add(anonymousClass);
 			}
 		}
 
@@ -63,75 +126,10 @@ public class JavaClassParser {
 	public static JavaClass parseJavaClass(String fileName, String content)
 		throws IOException, ParseException {
 
-		String className = JavaSourceUtil.getClassName(fileName);
-
-		Pattern pattern = Pattern.compile(
-			StringBundler.concat(
-				"\n(public\\s+)?(abstract\\s+)?(final\\s+)?@?",
-				"(class|enum|interface)\\s+", className,
-				"([<|\\s][^\\{]*)\\{"));
-
-		Matcher matcher = pattern.matcher(content);
-
-		if (!matcher.find()) {
-			throw new ParseException("Parsing error");
-		}
-
-		int x = matcher.start() + 1;
-
-		int y = x + 1;
+		ParsedJavaContent parsedJavaContent = _getParsedJavaContent(
+			fileName, content);
 
-		while (true) {
-			y = content.lastIndexOf("\n\n", y - 1);
-
-			if (y == -1) {
-				throw new ParseException("Parsing error");
-			}
-
-			if (ToolsUtil.getLevel(content.substring(y, x)) == 0) {
-				break;
-			}
-		}
-
-		int lineNumber = SourceUtil.getLineNumber(content, y + 2);
-
-		String classContent = content.substring(y + 2);
-
-		boolean isAbstract = false;
-
-		if (matcher.group(2) != null) {
-			isAbstract = true;
-		}
-
-		boolean isEnum = false;
-
-		boolean isFinal = false;
-
-		if (matcher.group(3) != null) {
-			isFinal = true;
-		}
-
-		boolean isInterface = false;
-
-		if (matcher.group(4) != null) {
-			String token = matcher.group(4);
-
-			if (token.equals("enum")) {
-				isEnum = true;
-			}
-			else if (token.equals("interface")) {
-				isInterface = true;
-			}
-		}
-
-		JavaClass javaClass = _parseJavaClass(
-			className, JavaSourceUtil.getPackageName(content),
-			JavaSourceUtil.getImportNames(content), classContent, lineNumber,
-			JavaTerm.ACCESS_MODIFIER_PUBLIC, isAbstract, isFinal, false, isEnum,
-			isInterface, false);
-
-		return _parseExtendsImplements(
-			javaClass, StringUtil.trim(matcher.group(5)));
+		return parsedJavaContent.getJavaClass();
 	}
 
 	private static String _getAnonymousClassContent(
@@ -393,6 +391,34 @@ public class JavaClassParser {
 		}
 	}
 
+	private static ParsedJavaContent _getParsedJavaContent(
+		String fileName, String content) {
+
+		ParsedJavaContent parsedJavaContent = null;
+
+		synchronized (_parsedJavaContentsMap) {
+			parsedJavaContent = _parsedJavaContentsMap.get(fileName);
+		}
+
+		if ((parsedJavaContent != null) &&
+			content.equals(parsedJavaContent.getContent())) {
+
+			_hitCount.increment();
+
+			return parsedJavaContent;
+		}
+
+		_missCount.increment();
+
+		parsedJavaContent = new ParsedJavaContent(fileName, content);
+
+		synchronized (_parsedJavaContentsMap) {
+			_parsedJavaContentsMap.put(fileName, parsedJavaContent);
+		}
+
+		return parsedJavaContent;
+	}
+
 	private static String _getVariableName(String line) {
 		int x = line.indexOf(CharPool.EQUAL);
 		int y = line.lastIndexOf(CharPool.SPACE);
@@ -460,6 +486,82 @@ public class JavaClassParser {
 		return javaClass;
 	}
 
+	private static JavaClass _parseJavaClass(String fileName, String content)
+		throws IOException, ParseException {
+
+		String className = JavaSourceUtil.getClassName(fileName);
+
+		Pattern pattern = Pattern.compile(
+			StringBundler.concat(
+				"\n(public\\s+)?(abstract\\s+)?(final\\s+)?@?",
+				"(class|enum|interface)\\s+", className,
+				"([<|\\s][^\\{]*)\\{"));
+
+		Matcher matcher = pattern.matcher(content);
+
+		if (!matcher.find()) {
+			throw new ParseException("Parsing error");
+		}
+
+		int x = matcher.start() + 1;
+
+		int y = x + 1;
+
+		while (true) {
+			y = content.lastIndexOf("\n\n", y - 1);
+
+			if (y == -1) {
+				throw new ParseException("Parsing error");
+			}
+
+			if (ToolsUtil.getLevel(content.substring(y, x)) == 0) {
+				break;
+			}
+		}
+
+		int lineNumber = SourceUtil.getLineNumber(content, y + 2);
+
+		String classContent = content.substring(y + 2);
+
+		boolean isAbstract = false;
+
+		if (matcher.group(2) != null) {
+			isAbstract = true;
+		}
+
+		boolean isEnum = false;
+
+		boolean isFinal = false;
+
+		if (matcher.group(3) != null) {
+			isFinal = true;
+		}
+
+		boolean isInterface = false;
+
+		if (matcher.group(4) != null) {
+			String token = matcher.group(4);
+
+			if (token.equals("enum")) {
+				isEnum = true;
+			}
+			else if (token.equals("interface")) {
+				isInterface = true;
+			}
+		}
+
+		JavaClass javaClass = _parseJavaClass(
+			className, JavaSourceUtil.getPackageName(content),
+			JavaSourceUtil.getImportNames(content), classContent, lineNumber,
+			JavaTerm.ACCESS_MODIFIER_PUBLIC, isAbstract, isFinal, false, isEnum,
+			isInterface, false);
+
+		javaClass.setStartPos(y + 2);
+
+		return _parseExtendsImplements(
+			javaClass, StringUtil.trim(matcher.group(5)));
+	}
+
 	private static JavaClass _parseJavaClass(
 			String className, String packageName, List<String> importNames,
 			String classContent, int classLineNumber, String accessModifier,
@@ -584,6 +686,8 @@ public class JavaClassParser {
 							"'");
 				}
 
+				javaTerm.setStartPos(x);
+
 				javaClass.addChildJavaTerm(javaTerm);
 
 				javaTermLineNumber = -1;
@@ -592,13 +696,105 @@ public class JavaClassParser {
 		}
 	}
 
+	// Checkstyle processes the formatted files in batches, after the source
+	// checks, so keep enough classes to still share them at that point
+
+	private static final int _MAX_PARSED_JAVA_CONTENTS_COUNT = 1000;
+
 	private static final Pattern _anonymousClassPattern = Pattern.compile(
 		"\\snew [\\w\\.\t\n]+(\\(|\\<)");
+	private static final LongAdder _hitCount = new LongAdder();
 	private static final Pattern _implementsPattern = Pattern.compile(
 		"(\\A|\\s)implements\\s");
 	private static final Pattern _javaTermEndPattern = Pattern.compile(
 		"[;}]\\s*?\n");
 	private static final Pattern _javaTermStartLinePattern = Pattern.compile(
 		".*?[{;]\\s*?\n", Pattern.DOTALL);
+	private static final LongAdder _missCount = new LongAdder();
+	private static final Map<String, LongAdder> _parseCountsMap =
+		new ConcurrentHashMap<>();
+	private static final Map<String, ParsedJavaContent> _parsedJavaContentsMap =
+		new LinkedHashMap<String, ParsedJavaContent>(16, 0.75F, true) {
+
+			@Override
+			protected boolean removeEldestEntry(
+				Map.Entry<String, ParsedJavaContent> entry) {
+
+				if (size() > _MAX_PARSED_JAVA_CONTENTS_COUNT) {
+					return true;
+				}
+
+				return false;
+			}
+
+		};
+
+	private static volatile boolean _recordParseCounts;
+
+	private static class ParsedJavaContent {
+
+		public ParsedJavaContent(String fileName, String content) {
+			_fileName = fileName;
+			_content = content;
+		}
+
+		public synchronized List<JavaClass> getAnonymousClasses()
+			throws IOException, ParseException {
+
+			if (_anonymousClasses != null) {
+				return _anonymousClasses;
+			}
+
+			JavaClass javaClass = getJavaClass();
+
+			_anonymousClasses = Collections.unmodifiableList(
+				parseAnonymousClasses(
+					_content, javaClass.getPackageName(),
+					javaClass.getImportNames()));
+
+			return _anonymousClasses;
+		}
+
+		public String getContent() {
+			return _content;
+		}
+
+		public synchronized JavaClass getJavaClass()
+			throws IOException, ParseException {
+
+			if (_javaClass != null) {
+				return _javaClass;
+			}
+
+			if (_parseExceptionMessage != null) {
+				throw new ParseException(_parseExceptionMessage);
+			}
+
+			if (_recordParseCounts) {
+				LongAdder parseCount = _parseCountsMap.computeIfAbsent(
+					_fileName, key -> new LongAdder());
+
+				parseCount.increment();
+			}
+
+			try {
+				_javaClass = _parseJavaClass(_fileName, _content);
+			}
+			catch (ParseException parseException) {
+				_parseExceptionMessage = parseException.getMessage();
+
+				throw parseException;
+			}
+
+			return _javaClass;
+		}
+
+		private List<JavaClass> _anonymousClasses;
+		private final String _content;
+		private final String _fileName;
+		private JavaClass _javaClass;
+		private String _parseExceptionMessage;
+
+	}
 
 }
\ No newline at end of file
@@ -43,6 +43,12 @@ public interface JavaTerm {
 
 	public JavaSignature getSignature();
 
+	/**
+	 * Returns the position of this term in the content of its parent class, or
+	 * in the file content for the outer class, or <code>-1</code> if unknown.
+	 */
+	public int getStartPos();
+
 	public boolean hasAnnotation();
 
 	public boolean hasAnnotation(String... annotations);
@@ -73,4 +79,6 @@ public interface JavaTerm {
 
 	public void setParentJavaClass(JavaClass javaClass);
 
+	public void setStartPos(int startPos);
+
 }
\ No newline at end of file
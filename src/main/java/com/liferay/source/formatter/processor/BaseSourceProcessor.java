@@ -17,8 +17,11 @@ import com.liferay.portal.kernel.util.StringUtil;
 import com.liferay.source.formatter.SourceFormatterArgs;
 import com.liferay.source.formatter.SourceFormatterExcludes;
 import com.liferay.source.formatter.SourceFormatterMessage;
+import com.liferay.source.formatter.SourceFormatterResultCache;
+import com.liferay.source.formatter.SourceFormatterResultSink;
 import com.liferay.source.formatter.check.SourceCheck;
 import com.liferay.source.formatter.check.configuration.SourceChecksResult;
+import com.liferay.source.formatter.check.configuration.SourceChecksState;
 import com.liferay.source.formatter.check.configuration.SourceFormatterConfiguration;
 import com.liferay.source.formatter.check.configuration.SourceFormatterSuppressions;
 import com.liferay.source.formatter.check.util.SourceChecksUtil;
@@ -27,12 +30,16 @@ import com.liferay.source.formatter.checkstyle.Checker;
 import com.liferay.source.formatter.checkstyle.util.CheckstyleLogger;
 import com.liferay.source.formatter.exception.SourceMismatchException;
 import com.liferay.source.formatter.exception.UpgradeCatchAllException;
+import com.liferay.source.formatter.util.ContentFingerprint;
 import com.liferay.source.formatter.util.DebugUtil;
+import com.liferay.source.formatter.util.FileNamesIndex;
+import com.liferay.source.formatter.util.FileTaskScheduler;
 import com.liferay.source.formatter.util.FileUtil;
 import com.liferay.source.formatter.util.SourceFormatterUtil;
 
 import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
 import com.puppycrawl.tools.checkstyle.api.Configuration;
+import com.puppycrawl.tools.checkstyle.api.FileText;
 
 import java.io.File;
 import java.io.IOException;
@@ -45,18 +52,22 @@ import java.nio.charset.CodingErrorAction;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.Queue;
 import java.util.Set;
 import java.util.TreeSet;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListSet;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
 
 import org.apache.tools.ant.types.selectors.SelectorUtils;
 
@@ -80,6 +91,8 @@ public abstract class BaseSourceProcessor implements SourceProcessor {
 		}
 
 		if (fileNames.isEmpty()) {
+			_completeFiles();
+
 			return;
 		}
 
@@ -87,23 +100,39 @@ public abstract class BaseSourceProcessor implements SourceProcessor {
 
 		_sourceChecks = _getSourceChecks(fileNames);
 
-		ExecutorService executorService = Executors.newFixedThreadPool(
-			_sourceFormatterArgs.getProcessorThreadCount());
+		if (_sourceFormatterResultCache != null) {
+			_sourceChecksHash = _getSourceChecksHash();
+		}
+
+		ExecutorService executorService = null;
+
+		if (_fileTaskScheduler == null) {
+			executorService = Executors.newFixedThreadPool(
+				_sourceFormatterArgs.getProcessorThreadCount());
+		}
 
 		List<Future<Void>> futures = new ArrayList<>(fileNames.size());
 
 		for (final String fileName : fileNames) {
-			Future<Void> future = executorService.submit(
-				new Callable<Void>() {
+			Callable<Void> callable = new Callable<Void>() {
 
-					@Override
-					public Void call() throws Exception {
-						_performTask(fileName);
+				@Override
+				public Void call() throws Exception {
+					_performTask(fileName);
 
-						return null;
-					}
+					return null;
+				}
+
+			};
+
+			Future<Void> future = null;
 
-				});
+			if (_fileTaskScheduler != null) {
+				future = _fileTaskScheduler.submit(fileName, callable);
+			}
+			else {
+				future = executorService.submit(callable);
+			}
 
 			futures.add(future);
 		}
@@ -112,9 +141,15 @@ public abstract class BaseSourceProcessor implements SourceProcessor {
 			future.get();
 		}
 
-		executorService.shutdown();
+		if (executorService != null) {
+			executorService.shutdown();
+		}
 
 		postFormat();
+
+		_completeFiles();
+
+		_updateSourceFormatterResultCache();
 	}
 
 	public final List<String> getFileNames() throws Exception {
@@ -136,7 +171,7 @@ public abstract class BaseSourceProcessor implements SourceProcessor {
 
 	@Override
 	public List<String> getModifiedFileNames() {
-		return _modifiedFileNames;
+		return new ArrayList<>(_modifiedFileNames);
 	}
 
 	@Override
@@ -144,24 +179,6 @@ public abstract class BaseSourceProcessor implements SourceProcessor {
 		return _sourceFormatterArgs;
 	}
 
-	@Override
-	public Set<SourceFormatterMessage> getSourceFormatterMessages() {
-		Set<SourceFormatterMessage> sourceFormatterMessages = new TreeSet<>();
-
-		for (Map.Entry<String, Set<SourceFormatterMessage>> entry :
-				_sourceFormatterMessagesMap.entrySet()) {
-
-			sourceFormatterMessages.addAll(entry.getValue());
-		}
-
-		return sourceFormatterMessages;
-	}
-
-	@Override
-	public List<SourceMismatchException> getSourceMismatchExceptions() {
-		return _sourceMismatchExceptions;
-	}
-
 	@Override
 	public boolean isPortalSource() {
 		return _portalSource;
@@ -177,6 +194,16 @@ public abstract class BaseSourceProcessor implements SourceProcessor {
 		_allFileNames = allFileNames;
 	}
 
+	@Override
+	public void setAllFileNamesIndex(FileNamesIndex allFileNamesIndex) {
+		_allFileNamesIndex = allFileNamesIndex;
+	}
+
+	@Override
+	public void setFileTaskScheduler(FileTaskScheduler fileTaskScheduler) {
+		_fileTaskScheduler = fileTaskScheduler;
+	}
+
 	@Override
 	public void setPluginsInsideModulesDirectoryNames(
 		List<String> pluginsInsideModulesDirectoryNames) {
@@ -221,6 +248,20 @@ public abstract class BaseSourceProcessor implements SourceProcessor {
 		_sourceFormatterExcludes = sourceFormatterExcludes;
 	}
 
+	@Override
+	public void setSourceFormatterResultCache(
+		SourceFormatterResultCache sourceFormatterResultCache) {
+
+		_sourceFormatterResultCache = sourceFormatterResultCache;
+	}
+
+	@Override
+	public void setSourceFormatterResultSinks(
+		List<SourceFormatterResultSink> sourceFormatterResultSinks) {
+
+		_sourceFormatterResultSinks = sourceFormatterResultSinks;
+	}
+
 	@Override
 	public void setSourceFormatterSuppressions(
 		SourceFormatterSuppressions sourceFormatterSuppressions) {
@@ -262,7 +303,7 @@ public abstract class BaseSourceProcessor implements SourceProcessor {
 			File file, String fileName, String absolutePath, String content)
 		throws Exception {
 
-		Set<String> modifiedContents = new HashSet<>();
+		Set<ContentFingerprint> modifiedContents = new HashSet<>();
 		Set<String> modifiedMessages = new TreeSet<>();
 
 		String newContent = format(
@@ -270,19 +311,50 @@ public abstract class BaseSourceProcessor implements SourceProcessor {
 			new ArrayList<>(_sourceChecks), modifiedContents, modifiedMessages,
 			0);
 
-		return processFormattedFile(
+		file = processFormattedFile(
 			file, fileName, content, newContent, modifiedMessages);
+
+		if (newContent != null) {
+			processFormattedContent(absolutePath, newContent);
+		}
+
+		return file;
+	}
+
+	protected String format(
+			File file, String fileName, String absolutePath, String content,
+			String originalContent, List<SourceCheck> sourceChecks,
+			Set<ContentFingerprint> modifiedContents,
+			Set<String> modifiedMessages, int count)
+		throws Exception {
+
+		SourceChecksState sourceChecksState = new SourceChecksState();
+
+		String newContent = format(
+			file, fileName, absolutePath, content, originalContent,
+			sourceChecks, sourceChecksState, modifiedContents,
+			modifiedMessages, count);
+
+		if (_sourceFormatterArgs.isShowDebugInformation()) {
+			DebugUtil.addFileIterationCount(
+				fileName, sourceChecksState.getIterationCount());
+		}
+
+		return newContent;
 	}
 
 	protected String format(
 			File file, String fileName, String absolutePath, String content,
 			String originalContent, List<SourceCheck> sourceChecks,
-			Set<String> modifiedContents, Set<String> modifiedMessages,
-			int count)
+			SourceChecksState sourceChecksState,
+			Set<ContentFingerprint> modifiedContents,
+			Set<String> modifiedMessages, int count)
 		throws Exception {
 
 		_sourceFormatterMessagesMap.remove(fileName);
 
+		sourceChecksState.increaseIterationCount();
+
 		String newContent = content;
 
 		List<String> checkCategoryNames =
@@ -310,7 +382,7 @@ public abstract class BaseSourceProcessor implements SourceProcessor {
 
 		SourceChecksResult sourceChecksResult = _processSourceChecks(
 			file, fileName, absolutePath, newContent, sourceChecks,
-			modifiedMessages);
+			sourceChecksState, modifiedMessages);
 
 		newContent = sourceChecksResult.getContent();
 
@@ -318,7 +390,10 @@ public abstract class BaseSourceProcessor implements SourceProcessor {
 			return newContent;
 		}
 
-		if (!modifiedContents.add(newContent)) {
+		// Only store the fingerprints of the modified contents, since there can
+		// be thousands of iterations for a single file
+
+		if (!modifiedContents.add(new ContentFingerprint(newContent))) {
 			_sourceFormatterMessagesMap.remove(fileName);
 
 			processMessage(fileName, "Infinite loop in SourceFormatter");
@@ -352,7 +427,8 @@ public abstract class BaseSourceProcessor implements SourceProcessor {
 
 		return format(
 			file, fileName, absolutePath, newContent, originalContent,
-			sourceChecks, modifiedContents, modifiedMessages, count);
+			sourceChecks, sourceChecksState, modifiedContents,
+			modifiedMessages, count);
 	}
 
 	protected List<String> getAllFileNames() {
@@ -383,8 +459,14 @@ public abstract class BaseSourceProcessor implements SourceProcessor {
 				includes, _sourceFormatterExcludes);
 		}
 
+		List<String> allFileNames = _allFileNames;
+
+		if (_allFileNamesIndex != null) {
+			allFileNames = _allFileNamesIndex.getFileNames(includes);
+		}
+
 		return SourceFormatterUtil.filterFileNames(
-			_allFileNames, excludes, includes, _sourceFormatterExcludes,
+			allFileNames, excludes, includes, _sourceFormatterExcludes,
 			forceIncludeAllFiles);
 	}
 
@@ -454,11 +536,18 @@ public abstract class BaseSourceProcessor implements SourceProcessor {
 	}
 
 	protected Set<SourceFormatterMessage> processCheckstyle(
-			Configuration configuration, CheckstyleLogger checkstyleLogger,
-			Object object)
+			Configuration configuration, Object object)
 		throws CheckstyleException, IOException {
 
-		synchronized (BaseSourceProcessor.class) {
+		// Every batch gets its own checker and logger, so that batches from
+		// different threads and processors can run at the same time
+
+		_checkstyleSemaphore.acquireUninterruptibly();
+
+		try {
+			CheckstyleLogger checkstyleLogger = new CheckstyleLogger(
+				_sourceFormatterArgs.getBaseDirName());
+
 			Checker checker = new Checker(
 				configuration, checkstyleLogger, checkstyleLogger,
 				getSourceFormatterSuppressions());
@@ -466,12 +555,22 @@ public abstract class BaseSourceProcessor implements SourceProcessor {
 			if (object instanceof File[]) {
 				checker.process(Arrays.asList((File[])object));
 			}
+			else if (object instanceof FileText[]) {
+				checker.processFileTexts(Arrays.asList((FileText[])object));
+			}
 			else if (object instanceof List<?>) {
 				checker.processFileContents((List<String[]>)object);
 			}
 
 			return checker.getSourceFormatterMessages();
 		}
+		finally {
+			_checkstyleSemaphore.release();
+		}
+	}
+
+	protected void processFormattedContent(String absolutePath, String content)
+		throws Exception {
 	}
 
 	protected File processFormattedFile(
@@ -480,6 +579,8 @@ public abstract class BaseSourceProcessor implements SourceProcessor {
 		throws IOException, URISyntaxException {
 
 		if (!content.equals(newContent)) {
+			_sourceFormatterResultCacheKeysMap.remove(fileName);
+
 			if (_sourceFormatterArgs.isPrintErrors()) {
 				for (String modifiedMessage : modifiedMessages) {
 					SourceFormatterUtil.printError(fileName, modifiedMessage);
@@ -495,8 +596,17 @@ public abstract class BaseSourceProcessor implements SourceProcessor {
 				}
 			}
 
-			_sourceMismatchExceptions.add(
-				new SourceMismatchException(fileName, content, newContent));
+			SourceMismatchException sourceMismatchException =
+				new SourceMismatchException(
+					fileName, content, newContent,
+					_getCheckNames(modifiedMessages));
+
+			for (SourceFormatterResultSink sourceFormatterResultSink :
+					_sourceFormatterResultSinks) {
+
+				sourceFormatterResultSink.addSourceMismatchException(
+					sourceMismatchException);
+			}
 		}
 
 		if (_sourceFormatterArgs.isPrintErrors()) {
@@ -515,6 +625,8 @@ public abstract class BaseSourceProcessor implements SourceProcessor {
 
 		_modifiedFileNames.add(file.getAbsolutePath());
 
+		_completeFile(fileName);
+
 		return file;
 	}
 
@@ -522,15 +634,33 @@ public abstract class BaseSourceProcessor implements SourceProcessor {
 		String fileName, SourceFormatterMessage sourceFormatterMessage) {
 
 		Set<SourceFormatterMessage> sourceFormatterMessages =
-			_sourceFormatterMessagesMap.get(fileName);
+			_sourceFormatterMessagesMap.computeIfAbsent(
+				fileName, key -> new ConcurrentSkipListSet<>());
 
-		if (sourceFormatterMessages == null) {
-			sourceFormatterMessages = new TreeSet<>();
+		// Messages that are added after the file is completed, such as
+		// Checkstyle messages, are passed on to the sinks right away. The
+		// message set is locked, so that _completeFile does not pass on the
+		// same message.
+
+		synchronized (sourceFormatterMessages) {
+			if (!sourceFormatterMessages.add(sourceFormatterMessage) ||
+				!_completedFileNames.contains(fileName)) {
+
+				return;
+			}
+
+			if (_sourceFormatterResultCache == null) {
+				_sourceFormatterMessagesMap.remove(
+					fileName, sourceFormatterMessages);
+			}
 		}
 
-		sourceFormatterMessages.add(sourceFormatterMessage);
+		for (SourceFormatterResultSink sourceFormatterResultSink :
+				_sourceFormatterResultSinks) {
 
-		_sourceFormatterMessagesMap.put(fileName, sourceFormatterMessages);
+			sourceFormatterResultSink.addSourceFormatterMessage(
+				sourceFormatterMessage);
+		}
 	}
 
 	protected void processMessage(String fileName, String message) {
@@ -556,6 +686,48 @@ public abstract class BaseSourceProcessor implements SourceProcessor {
 		}
 	}
 
+	private void _completeFile(String fileName) {
+		Set<SourceFormatterMessage> sourceFormatterMessages =
+			_sourceFormatterMessagesMap.computeIfAbsent(
+				fileName, key -> new ConcurrentSkipListSet<>());
+
+		List<SourceFormatterMessage> completedSourceFormatterMessages = null;
+
+		synchronized (sourceFormatterMessages) {
+			if (!_completedFileNames.add(fileName)) {
+				return;
+			}
+
+			completedSourceFormatterMessages = new ArrayList<>(
+				sourceFormatterMessages);
+
+			// The messages of completed files are only kept when they need to
+			// be stored in the result cache
+
+			if (_sourceFormatterResultCache == null) {
+				_sourceFormatterMessagesMap.remove(
+					fileName, sourceFormatterMessages);
+			}
+		}
+
+		for (SourceFormatterResultSink sourceFormatterResultSink :
+				_sourceFormatterResultSinks) {
+
+			for (SourceFormatterMessage sourceFormatterMessage :
+					completedSourceFormatterMessages) {
+
+				sourceFormatterResultSink.addSourceFormatterMessage(
+					sourceFormatterMessage);
+			}
+		}
+	}
+
+	private void _completeFiles() {
+		for (String fileName : _sourceFormatterMessagesMap.keySet()) {
+			_completeFile(fileName);
+		}
+	}
+
 	private boolean _containsModuleFile(List<String> fileNames) {
 		if (_subrepository) {
 			return true;
@@ -598,9 +770,52 @@ public abstract class BaseSourceProcessor implements SourceProcessor {
 			return;
 		}
 
+		if (_sourceFormatterResultCache != null) {
+			String key = _sourceFormatterResultCache.getKey(
+				_sourceChecksHash, content);
+
+			Class<?> clazz = getClass();
+
+			List<SourceFormatterMessage> sourceFormatterMessages =
+				_sourceFormatterResultCache.getSourceFormatterMessages(
+					clazz.getSimpleName(), fileName, key);
+
+			if (sourceFormatterMessages != null) {
+				for (SourceFormatterMessage sourceFormatterMessage :
+						sourceFormatterMessages) {
+
+					processMessage(fileName, sourceFormatterMessage);
+
+					printError(fileName, sourceFormatterMessage.toString());
+				}
+
+				_completeFile(fileName);
+
+				return;
+			}
+
+			_sourceFormatterResultCacheKeysMap.put(fileName, key);
+		}
+
 		format(file, fileName, absolutePath, content);
 	}
 
+	private List<String> _getCheckNames(Set<String> modifiedMessages) {
+		Set<String> checkNames = new TreeSet<>();
+
+		for (String modifiedMessage : modifiedMessages) {
+			int x = modifiedMessage.lastIndexOf(" (");
+
+			if ((x != -1) && modifiedMessage.endsWith(")")) {
+				checkNames.add(
+					modifiedMessage.substring(
+						x + 2, modifiedMessage.length() - 1));
+			}
+		}
+
+		return new ArrayList<>(checkNames);
+	}
+
 	private Set<SourceCheck> _getSourceChecks(List<String> fileNames)
 		throws Exception {
 
@@ -620,6 +835,23 @@ public abstract class BaseSourceProcessor implements SourceProcessor {
 		return sourceChecks;
 	}
 
+	private String _getSourceChecksHash() {
+		List<String> values = new ArrayList<>();
+
+		Class<?> clazz = getClass();
+
+		values.add(clazz.getName());
+
+		for (SourceCheck sourceCheck : _sourceChecks) {
+			Class<?> sourceCheckClass = sourceCheck.getClass();
+
+			values.add(sourceCheckClass.getName());
+		}
+
+		return SourceFormatterResultCache.getHash(
+			values.toArray(new String[0]));
+	}
+
 	private void _initSourceCheck(SourceCheck sourceCheck) {
 		sourceCheck.setAllFileNames(_allFileNames);
 		sourceCheck.setBaseDirName(_sourceFormatterArgs.getBaseDirName());
@@ -722,13 +954,14 @@ public abstract class BaseSourceProcessor implements SourceProcessor {
 
 	private SourceChecksResult _processSourceChecks(
 			File file, String fileName, String absolutePath, String content,
-			List<SourceCheck> sourceChecks, Set<String> modifiedMessages)
+			List<SourceCheck> sourceChecks, SourceChecksState sourceChecksState,
+			Set<String> modifiedMessages)
 		throws Exception {
 
 		SourceChecksResult sourceChecksResult =
 			SourceChecksUtil.processSourceChecks(
 				file, fileName, absolutePath, content, this, modifiedMessages,
-				_isModulesFile(absolutePath), sourceChecks,
+				_isModulesFile(absolutePath), sourceChecks, sourceChecksState,
 				_sourceFormatterSuppressions,
 				_sourceFormatterArgs.isShowDebugInformation());
 
@@ -741,25 +974,56 @@ public abstract class BaseSourceProcessor implements SourceProcessor {
 		return sourceChecksResult;
 	}
 
+	private void _updateSourceFormatterResultCache() {
+		if (_sourceFormatterResultCache == null) {
+			return;
+		}
+
+		Class<?> clazz = getClass();
+
+		for (Map.Entry<String, String> entry :
+				_sourceFormatterResultCacheKeysMap.entrySet()) {
+
+			String fileName = entry.getKey();
+
+			_sourceFormatterResultCache.put(
+				clazz.getSimpleName(), fileName, entry.getValue(),
+				_sourceFormatterMessagesMap.get(fileName));
+		}
+
+		_sourceFormatterResultCacheKeysMap.clear();
+	}
+
+	private static final Semaphore _checkstyleSemaphore = new Semaphore(
+		Runtime.getRuntime(
+		).availableProcessors());
 	private static final Log _log = LogFactoryUtil.getLog(
 		BaseSourceProcessor.class);
 
 	private List<String> _allFileNames;
-	private final List<String> _modifiedFileNames =
-		new CopyOnWriteArrayList<>();
+	private FileNamesIndex _allFileNamesIndex;
+	private final Set<String> _completedFileNames =
+		Collections.newSetFromMap(new ConcurrentHashMap<>());
+	private FileTaskScheduler _fileTaskScheduler;
+	private final Queue<String> _modifiedFileNames =
+		new ConcurrentLinkedQueue<>();
 	private List<String> _pluginsInsideModulesDirectoryNames;
 	private boolean _portalSource;
 	private String _projectPathPrefix;
 	private Map<String, Properties> _propertiesMap;
 	private Set<SourceCheck> _sourceChecks;
+	private String _sourceChecksHash;
 	private SourceFormatterArgs _sourceFormatterArgs;
 	private SourceFormatterConfiguration _sourceFormatterConfiguration;
 	private SourceFormatterExcludes _sourceFormatterExcludes;
 	private final Map<String, Set<SourceFormatterMessage>>
 		_sourceFormatterMessagesMap = new ConcurrentHashMap<>();
+	private SourceFormatterResultCache _sourceFormatterResultCache;
+	private final Map<String, String> _sourceFormatterResultCacheKeysMap =
+		new ConcurrentHashMap<>();
+	private List<SourceFormatterResultSink> _sourceFormatterResultSinks =
+		Collections.emptyList();
 	private SourceFormatterSuppressions _sourceFormatterSuppressions;
-	private final List<SourceMismatchException> _sourceMismatchExceptions =
-		new ArrayList<>();
 	private boolean _subrepository;
 
 }
\ No newline at end of file
@@ -12,10 +12,8 @@ import com.liferay.source.formatter.SourceFormatterArgs;
 import com.liferay.source.formatter.SourceFormatterMessage;
 import com.liferay.source.formatter.check.util.JSPSourceUtil;
 import com.liferay.source.formatter.check.util.SourceUtil;
-import com.liferay.source.formatter.checkstyle.util.CheckstyleLogger;
 import com.liferay.source.formatter.checkstyle.util.CheckstyleUtil;
 import com.liferay.source.formatter.checkstyle.util.JSPCheckstyleUtil;
-import com.liferay.source.formatter.util.FileUtil;
 import com.liferay.source.formatter.util.SourceFormatterUtil;
 
 import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
@@ -117,16 +115,14 @@ public class JSPSourceProcessor extends BaseSourceProcessor {
 			}
 		}
 
-		file = super.format(file, fileName, absolutePath, content);
-
-		_processCheckstyle(absolutePath, FileUtil.read(file));
-
-		return file;
+		return super.format(file, fileName, absolutePath, content);
 	}
 
 	@Override
 	protected void postFormat() throws CheckstyleException, IOException {
-		_processCheckstyle();
+		_processCheckstyle(_ungeneratedFileContents);
+
+		_ungeneratedFileContents.clear();
 
 		for (SourceFormatterMessage sourceFormatterMessage :
 				_sourceFormatterMessages) {
@@ -143,12 +139,40 @@ public class JSPSourceProcessor extends BaseSourceProcessor {
 	protected void preFormat() throws CheckstyleException {
 		SourceFormatterArgs sourceFormatterArgs = getSourceFormatterArgs();
 
-		_checkstyleLogger = new CheckstyleLogger(
-			sourceFormatterArgs.getBaseDirName());
 		_checkstyleConfiguration = CheckstyleUtil.getConfiguration(
 			"checkstyle-jsp.xml", getPropertiesMap(), sourceFormatterArgs);
 	}
 
+	@Override
+	protected void processFormattedContent(String absolutePath, String content)
+		throws CheckstyleException, IOException {
+
+		String javaContent = JSPCheckstyleUtil.getJavaContent(
+			absolutePath, content);
+
+		if (javaContent != null) {
+			_processCheckstyle(
+				_addUngeneratedFileContent(absolutePath, javaContent));
+		}
+	}
+
+	private synchronized List<String[]> _addUngeneratedFileContent(
+		String absolutePath, String javaContent) {
+
+		_ungeneratedFileContents.add(new String[] {absolutePath, javaContent});
+
+		if (_ungeneratedFileContents.size() < CheckstyleUtil.BATCH_SIZE) {
+			return null;
+		}
+
+		List<String[]> fileContents = new ArrayList<>(
+			_ungeneratedFileContents);
+
+		_ungeneratedFileContents.clear();
+
+		return fileContents;
+	}
+
 	private Map<String, String> _getDeletedContentsMap(String[] excludes)
 		throws Exception {
 
@@ -210,34 +234,15 @@ public class JSPSourceProcessor extends BaseSourceProcessor {
 		return contentsMap;
 	}
 
-	private void _processCheckstyle() throws CheckstyleException, IOException {
-		if (_ungeneratedFileContents.isEmpty()) {
+	private void _processCheckstyle(List<String[]> fileContents)
+		throws CheckstyleException, IOException {
+
+		if ((fileContents == null) || fileContents.isEmpty()) {
 			return;
 		}
 
 		_sourceFormatterMessages.addAll(
-			processCheckstyle(
-				_checkstyleConfiguration, _checkstyleLogger,
-				_ungeneratedFileContents));
-
-		_ungeneratedFileContents.clear();
-	}
-
-	private synchronized void _processCheckstyle(
-			String absolutePath, String content)
-		throws CheckstyleException, IOException {
-
-		String javaContent = JSPCheckstyleUtil.getJavaContent(
-			absolutePath, content);
-
-		if (javaContent != null) {
-			_ungeneratedFileContents.add(
-				new String[] {absolutePath, javaContent});
-
-			if (_ungeneratedFileContents.size() == CheckstyleUtil.BATCH_SIZE) {
-				_processCheckstyle();
-			}
-		}
+			processCheckstyle(_checkstyleConfiguration, fileContents));
 	}
 
 	private static final String[] _INCLUDES = {
@@ -245,9 +250,8 @@ public class JSPSourceProcessor extends BaseSourceProcessor {
 	};
 
 	private Configuration _checkstyleConfiguration;
-	private CheckstyleLogger _checkstyleLogger;
 	private final Set<SourceFormatterMessage> _sourceFormatterMessages =
-		new TreeSet<>();
+		Collections.synchronizedSet(new TreeSet<>());
 	private final List<String[]> _ungeneratedFileContents = new ArrayList<>();
 
 }
\ No newline at end of file
@@ -10,19 +10,19 @@ import com.liferay.portal.kernel.util.ArrayUtil;
 import com.liferay.portal.tools.java.parser.JavaParser;
 import com.liferay.source.formatter.SourceFormatterArgs;
 import com.liferay.source.formatter.SourceFormatterMessage;
-import com.liferay.source.formatter.checkstyle.util.CheckstyleLogger;
 import com.liferay.source.formatter.checkstyle.util.CheckstyleUtil;
 import com.liferay.source.formatter.util.DebugUtil;
-import com.liferay.source.formatter.util.PortalJSONObjectUtil;
 
 import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
 import com.puppycrawl.tools.checkstyle.api.Configuration;
+import com.puppycrawl.tools.checkstyle.api.FileText;
 
 import java.io.File;
 import java.io.IOException;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 import java.util.TreeSet;
@@ -57,18 +57,6 @@ public class JavaSourceProcessor extends BaseSourceProcessor {
 		return _INCLUDES;
 	}
 
-	@Override
-	protected File format(
-			File file, String fileName, String absolutePath, String content)
-		throws Exception {
-
-		file = super.format(file, fileName, absolutePath, content);
-
-		_processCheckstyle(file);
-
-		return file;
-	}
-
 	@Override
 	protected String parse(
 			File file, String fileName, String content,
@@ -98,9 +86,9 @@ public class JavaSourceProcessor extends BaseSourceProcessor {
 
 	@Override
 	protected void postFormat() throws Exception {
-		_processCheckstyle(_ungeneratedFiles.toArray(new File[0]));
+		_processCheckstyle(_ungeneratedFileTexts.toArray(new FileText[0]));
 
-		_ungeneratedFiles.clear();
+		_ungeneratedFileTexts.clear();
 
 		for (SourceFormatterMessage sourceFormatterMessage :
 				_sourceFormatterMessages) {
@@ -111,20 +99,45 @@ public class JavaSourceProcessor extends BaseSourceProcessor {
 
 			printError(fileName, sourceFormatterMessage.toString());
 		}
-
-		PortalJSONObjectUtil.deleteTempPortalJSONObjectFile();
 	}
 
 	@Override
 	protected void preFormat() throws CheckstyleException {
 		SourceFormatterArgs sourceFormatterArgs = getSourceFormatterArgs();
 
-		_checkstyleLogger = new CheckstyleLogger(
-			sourceFormatterArgs.getBaseDirName());
 		_checkstyleConfiguration = CheckstyleUtil.getConfiguration(
 			"checkstyle.xml", getPropertiesMap(), sourceFormatterArgs);
 	}
 
+	@Override
+	protected void processFormattedContent(String absolutePath, String content)
+		throws Exception {
+
+		// Pass the formatted content rather than the file, since the file is
+		// not updated when auto fix is disabled
+
+		_processCheckstyle(
+			_addUngeneratedFileText(
+				new FileText(
+					new File(absolutePath), CheckstyleUtil.getLines(content))));
+	}
+
+	private synchronized FileText[] _addUngeneratedFileText(
+		FileText fileText) {
+
+		_ungeneratedFileTexts.add(fileText);
+
+		if (_ungeneratedFileTexts.size() < CheckstyleUtil.BATCH_SIZE) {
+			return null;
+		}
+
+		FileText[] fileTexts = _ungeneratedFileTexts.toArray(new FileText[0]);
+
+		_ungeneratedFileTexts.clear();
+
+		return fileTexts;
+	}
+
 	private String[] _getPluginExcludes(String pluginDirectoryName) {
 		return new String[] {
 			pluginDirectoryName + "**/model/*Clp.java",
@@ -210,32 +223,20 @@ public class JavaSourceProcessor extends BaseSourceProcessor {
 		return fileNames;
 	}
 
-	private synchronized void _processCheckstyle(File file) throws Exception {
-		_ungeneratedFiles.add(file);
-
-		if (_ungeneratedFiles.size() == CheckstyleUtil.BATCH_SIZE) {
-			_processCheckstyle(_ungeneratedFiles.toArray(new File[0]));
-
-			_ungeneratedFiles.clear();
-		}
-	}
-
-	private void _processCheckstyle(File[] files) throws Exception {
-		if (ArrayUtil.isEmpty(files)) {
+	private void _processCheckstyle(FileText[] fileTexts) throws Exception {
+		if (ArrayUtil.isEmpty(fileTexts)) {
 			return;
 		}
 
 		_sourceFormatterMessages.addAll(
-			processCheckstyle(
-				_checkstyleConfiguration, _checkstyleLogger, files));
+			processCheckstyle(_checkstyleConfiguration, fileTexts));
 	}
 
 	private static final String[] _INCLUDES = {"**/*.java"};
 
 	private Configuration _checkstyleConfiguration;
-	private CheckstyleLogger _checkstyleLogger;
 	private final Set<SourceFormatterMessage> _sourceFormatterMessages =
-		new TreeSet<>();
-	private final List<File> _ungeneratedFiles = new ArrayList<>();
+		Collections.synchronizedSet(new TreeSet<>());
+	private final List<FileText> _ungeneratedFileTexts = new ArrayList<>();
 
 }
\ No newline at end of file
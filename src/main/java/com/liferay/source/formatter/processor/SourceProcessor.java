@@ -7,15 +7,16 @@ package com.liferay.source.formatter.processor;
 
 import com.liferay.source.formatter.SourceFormatterArgs;
 import com.liferay.source.formatter.SourceFormatterExcludes;
-import com.liferay.source.formatter.SourceFormatterMessage;
+import com.liferay.source.formatter.SourceFormatterResultCache;
+import com.liferay.source.formatter.SourceFormatterResultSink;
 import com.liferay.source.formatter.check.configuration.SourceFormatterConfiguration;
 import com.liferay.source.formatter.check.configuration.SourceFormatterSuppressions;
-import com.liferay.source.formatter.exception.SourceMismatchException;
+import com.liferay.source.formatter.util.FileNamesIndex;
+import com.liferay.source.formatter.util.FileTaskScheduler;
 
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
-import java.util.Set;
 
 /**
  * @author Hugo Huijser
@@ -30,16 +31,16 @@ public interface SourceProcessor {
 
 	public SourceFormatterArgs getSourceFormatterArgs();
 
-	public Set<SourceFormatterMessage> getSourceFormatterMessages();
-
-	public List<SourceMismatchException> getSourceMismatchExceptions();
-
 	public boolean isPortalSource();
 
 	public boolean isSubrepository();
 
 	public void setAllFileNames(List<String> allFileNames);
 
+	public void setAllFileNamesIndex(FileNamesIndex allFileNamesIndex);
+
+	public void setFileTaskScheduler(FileTaskScheduler fileTaskScheduler);
+
 	public void setPluginsInsideModulesDirectoryNames(
 		List<String> pluginsInsideModulesDirectoryNames);
 
@@ -57,6 +58,12 @@ public interface SourceProcessor {
 	public void setSourceFormatterExcludes(
 		SourceFormatterExcludes sourceFormatterExcludes);
 
+	public void setSourceFormatterResultCache(
+		SourceFormatterResultCache sourceFormatterResultCache);
+
+	public void setSourceFormatterResultSinks(
+		List<SourceFormatterResultSink> sourceFormatterResultSinks);
+
 	public void setSourceFormatterSuppressions(
 		SourceFormatterSuppressions sourceFormatterSuppressions);
 
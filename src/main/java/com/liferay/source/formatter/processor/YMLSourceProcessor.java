@@ -8,6 +8,7 @@ package com.liferay.source.formatter.processor;
 import com.liferay.petra.string.StringBundler;
 import com.liferay.petra.string.StringPool;
 import com.liferay.portal.kernel.util.StringUtil;
+import com.liferay.source.formatter.util.ContentFingerprint;
 
 import java.io.File;
 import java.io.IOException;
@@ -40,7 +41,7 @@ public class YMLSourceProcessor extends BaseSourceProcessor {
 			File file, String fileName, String absolutePath, String content)
 		throws Exception {
 
-		Set<String> modifiedContents = new HashSet<>();
+		Set<ContentFingerprint> modifiedContents = new HashSet<>();
 		Set<String> modifiedMessages = new TreeSet<>();
 
 		String newContent = _preProcess(content);
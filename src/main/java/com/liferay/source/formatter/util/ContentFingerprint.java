@@ -0,0 +1,79 @@
+/**
+ * SPDX-FileCopyrightText: (c) 2000 Liferay, Inc. https://liferay.com
+ * SPDX-License-Identifier: LGPL-2.1-or-later OR LicenseRef-Liferay-DXP-EULA-2.0.0-2023-06
+ */
+
+package com.liferay.source.formatter.util;
+
+/**
+ * A 128-bit fingerprint of a content, made of two independent 64-bit hashes
+ * of its characters. Fingerprints are used to recognize contents that were
+ * seen before, such as the intermediate contents of a file while it is being
+ * formatted, without keeping the contents themselves. Unlike the hashes of
+ * the result cache, they are not persisted, so they do not need to be
+ * cryptographic.
+ *
+ * @author Hugo Huijser
+ */
+public final class ContentFingerprint {
+
+	public ContentFingerprint(String content) {
+		long hash1 = _HASH1_OFFSET;
+		long hash2 = _HASH2_OFFSET;
+
+		for (int i = 0; i < content.length(); i++) {
+			char c = content.charAt(i);
+
+			hash1 = (hash1 ^ c) * _HASH1_PRIME;
+			hash2 = (hash2 + c) * _HASH2_PRIME;
+		}
+
+		_hash1 = _mix(hash1 ^ content.length());
+		_hash2 = _mix(hash2 ^ content.length());
+	}
+
+	@Override
+	public boolean equals(Object object) {
+		if (this == object) {
+			return true;
+		}
+
+		if (!(object instanceof ContentFingerprint)) {
+			return false;
+		}
+
+		ContentFingerprint contentFingerprint = (ContentFingerprint)object;
+
+		if ((_hash1 == contentFingerprint._hash1) &&
+			(_hash2 == contentFingerprint._hash2)) {
+
+			return true;
+		}
+
+		return false;
+	}
+
+	@Override
+	public int hashCode() {
+		return (int)(_hash1 ^ (_hash1 >>> 32));
+	}
+
+	private static long _mix(long hash) {
+		hash = (hash ^ (hash >>> 33)) * 0xFF51AFD7ED558CCDL;
+		hash = (hash ^ (hash >>> 33)) * 0xC4CEB9FE1A85EC53L;
+
+		return hash ^ (hash >>> 33);
+	}
+
+	private static final long _HASH1_OFFSET = 0xCBF29CE484222325L;
+
+	private static final long _HASH1_PRIME = 0x100000001B3L;
+
+	private static final long _HASH2_OFFSET = 0x84222325CBF29CE4L;
+
+	private static final long _HASH2_PRIME = 0x9E3779B97F4A7C15L;
+
+	private final long _hash1;
+	private final long _hash2;
+
+}
@@ -26,18 +26,33 @@ import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.DoubleAdder;
 
 /**
  * @author Hugo Huijser
  */
 public class DebugUtil {
 
+	public static void addCacheStatistics(
+		String cacheName, long hitCount, long missCount) {
+
+		_cacheStatisticsMap.put(cacheName, new long[] {hitCount, missCount});
+	}
+
 	public static void addCheckNames(
 		CheckType checkType, List<String> checkNames) {
 
 		_checkNamesMap.put(checkType, checkNames);
 	}
 
+	public static void addFileIterationCount(String fileName, int count) {
+		_fileIterationCountMap.put(fileName, count);
+	}
+
+	public static void addParseCounts(Map<String, Integer> parseCounts) {
+		_parseCountMap.putAll(parseCounts);
+	}
+
 	public static void addProcessorFileCount(String processorName, int count) {
 		_processorFileCountMap.put(processorName, count);
 	}
@@ -46,19 +61,15 @@ public class DebugUtil {
 		_concurrentTasksCount.decrementAndGet();
 	}
 
-	public static synchronized void increaseProcessingTime(
+	public static void increaseProcessingTime(
 		String checkName, long processingTime) {
 
-		double checkTotalProcessingTime = 0.0;
+		DoubleAdder checkTotalProcessingTime =
+			_processingTimeMap.computeIfAbsent(
+				checkName, key -> new DoubleAdder());
 
-		if (_processingTimeMap.containsKey(checkName)) {
-			checkTotalProcessingTime = _processingTimeMap.get(checkName);
-		}
-
-		checkTotalProcessingTime +=
-			(double)processingTime / Math.max(1, _concurrentTasksCount.get());
-
-		_processingTimeMap.put(checkName, checkTotalProcessingTime);
+		checkTotalProcessingTime.add(
+			(double)processingTime / Math.max(1, _concurrentTasksCount.get()));
 	}
 
 	public static void printContentModifications(
@@ -101,14 +112,63 @@ public class DebugUtil {
 	public static void printSourceFormatterInformation() {
 		_printProcessorInformation();
 
+		_printSchedulerInformation();
+
+		_printCacheInformation();
+
+		_printFileIterationInformation();
+
+		_printParseInformation();
+
 		_printProcessingTimeInformation(CheckType.CHECKSTYLE);
 		_printProcessingTimeInformation(CheckType.SOURCE_CHECK);
 	}
 
+	public static void setSchedulerInformation(
+		int maxQueueSize, Map<String, Double> workerUtilizations) {
+
+		_maxQueueSize = maxQueueSize;
+		_workerUtilizations = workerUtilizations;
+	}
+
 	public static void startTask() {
 		_concurrentTasksCount.incrementAndGet();
 	}
 
+	private static void _printCacheInformation() {
+		if (_cacheStatisticsMap.isEmpty()) {
+			return;
+		}
+
+		System.out.println();
+		System.out.println("==== Cache Information ====");
+		System.out.println();
+
+		DecimalFormat decimalFormat = new DecimalFormat("0.00");
+
+		for (Map.Entry<String, long[]> entry : _cacheStatisticsMap.entrySet()) {
+			long[] cacheStatistics = entry.getValue();
+
+			long hitCount = cacheStatistics[0];
+			long missCount = cacheStatistics[1];
+
+			StringBundler sb = new StringBundler(8);
+
+			sb.append(entry.getKey());
+			sb.append(": ");
+			sb.append(hitCount);
+			sb.append(" hits, ");
+			sb.append(missCount);
+			sb.append(" misses (");
+			sb.append(
+				decimalFormat.format(
+					(hitCount * 100.0) / Math.max(1, hitCount + missCount)));
+			sb.append("% hit rate)");
+
+			System.out.println(sb.toString());
+		}
+	}
+
 	private static void _printDelta(Delta<String> delta, String fileName) {
 		StringBundler sb = new StringBundler();
 
@@ -186,6 +246,98 @@ public class DebugUtil {
 		System.out.println(sb.toString());
 	}
 
+	private static void _printFileIterationInformation() {
+		List<Map.Entry<String, Integer>> entries = new ArrayList<>(
+			_fileIterationCountMap.entrySet());
+
+		if (entries.isEmpty()) {
+			return;
+		}
+
+		Collections.sort(
+			entries,
+			new Comparator<Map.Entry<String, Integer>>() {
+
+				public int compare(
+					Map.Entry<String, Integer> entry1,
+					Map.Entry<String, Integer> entry2) {
+
+					return Integer.compare(
+						entry2.getValue(), entry1.getValue());
+				}
+
+			});
+
+		System.out.println();
+		System.out.println("==== Check Iterations Information ====");
+		System.out.println();
+
+		int size = Math.min(entries.size(), _MAX_FILE_ITERATIONS_COUNT);
+
+		for (int i = 0; i < size; i++) {
+			Map.Entry<String, Integer> entry = entries.get(i);
+
+			if (entry.getValue() <= 1) {
+				break;
+			}
+
+			StringBundler sb = new StringBundler(4);
+
+			sb.append(entry.getKey());
+			sb.append(" needed ");
+			sb.append(entry.getValue());
+			sb.append(" iterations.");
+
+			System.out.println(sb.toString());
+		}
+	}
+
+	private static void _printParseInformation() {
+		List<Map.Entry<String, Integer>> entries = new ArrayList<>(
+			_parseCountMap.entrySet());
+
+		if (entries.isEmpty()) {
+			return;
+		}
+
+		Collections.sort(
+			entries,
+			new Comparator<Map.Entry<String, Integer>>() {
+
+				public int compare(
+					Map.Entry<String, Integer> entry1,
+					Map.Entry<String, Integer> entry2) {
+
+					return Integer.compare(
+						entry2.getValue(), entry1.getValue());
+				}
+
+			});
+
+		System.out.println();
+		System.out.println("==== Java Parse Information ====");
+		System.out.println();
+
+		int size = Math.min(entries.size(), _MAX_FILE_PARSES_COUNT);
+
+		for (int i = 0; i < size; i++) {
+			Map.Entry<String, Integer> entry = entries.get(i);
+
+			if (entry.getValue() <= 1) {
+				break;
+			}
+
+			StringBundler sb = new StringBundler(4);
+
+			sb.append(entry.getKey());
+			sb.append(" was parsed ");
+			sb.append(entry.getValue());
+			sb.append(" times.");
+
+			System.out.println(sb.toString());
+		}
+	}
+
 	private static void _printProcessingTimeInformation(CheckType checkType) {
 		if (!_checkNamesMap.containsKey(checkType)) {
 			return;
@@ -194,9 +346,12 @@ public class DebugUtil {
 		final Map<String, Double> checkTypeProcessingTimeMap = new HashMap<>();
 
 		for (String checkName : _checkNamesMap.get(checkType)) {
-			if (_processingTimeMap.containsKey(checkName)) {
+			DoubleAdder checkTotalProcessingTime = _processingTimeMap.get(
+				checkName);
+
+			if (checkTotalProcessingTime != null) {
 				checkTypeProcessingTimeMap.put(
-					checkName, _processingTimeMap.get(checkName));
+					checkName, checkTotalProcessingTime.sum());
 			}
 		}
 
@@ -273,13 +428,52 @@ public class DebugUtil {
 		}
 	}
 
+	private static void _printSchedulerInformation() {
+		if (_workerUtilizations == null) {
+			return;
+		}
+
+		System.out.println();
+		System.out.println("==== Scheduler Information ====");
+		System.out.println();
+		System.out.println("Maximum queue depth: " + _maxQueueSize);
+
+		DecimalFormat decimalFormat = new DecimalFormat("0.00");
+
+		for (Map.Entry<String, Double> entry :
+				_workerUtilizations.entrySet()) {
+
+			StringBundler sb = new StringBundler(4);
+
+			sb.append(entry.getKey());
+			sb.append(" utilization: ");
+			sb.append(decimalFormat.format(entry.getValue() * 100));
+			sb.append("%");
+
+			System.out.println(sb.toString());
+		}
+	}
+
+	private static final int _MAX_FILE_ITERATIONS_COUNT = 20;
+
+	private static final int _MAX_FILE_PARSES_COUNT = 20;
+
+	private static final Map<String, long[]> _cacheStatisticsMap =
+		new ConcurrentSkipListMap<>();
 	private static final Map<CheckType, List<String>> _checkNamesMap =
-		new HashMap<>();
+		new ConcurrentHashMap<>();
 	private static final AtomicInteger _concurrentTasksCount =
 		new AtomicInteger();
-	private static final Map<String, Double> _processingTimeMap =
+	private static final Map<String, Integer> _fileIterationCountMap =
+		new ConcurrentHashMap<>();
+	private static final Map<String, Integer> _parseCountMap =
+		new ConcurrentHashMap<>();
+	private static final Map<String, DoubleAdder> _processingTimeMap =
 		new ConcurrentHashMap<>();
 	private static final Map<String, Integer> _processorFileCountMap =
 		new ConcurrentSkipListMap<>();
 
+	private static volatile int _maxQueueSize;
+	private static volatile Map<String, Double> _workerUtilizations;
+
 }
\ No newline at end of file
@@ -0,0 +1,131 @@
+/**
+ * SPDX-FileCopyrightText: (c) 2000 Liferay, Inc. https://liferay.com
+ * SPDX-License-Identifier: LGPL-2.1-or-later OR LicenseRef-Liferay-DXP-EULA-2.0.0-2023-06
+ */
+
+package com.liferay.source.formatter.util;
+
+import com.liferay.petra.string.CharPool;
+import com.liferay.petra.string.StringBundler;
+import com.liferay.portal.kernel.util.StringUtil;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Matches file names against a glob or regex. Matchers are compiled once and
+ * shared, and globs that only constrain the end of the file name, such as
+ * <code>**&#47;*.java</code> or <code>**&#47;build.gradle</code>, are matched
+ * without using a regex.
+ *
+ * @author Hugo Huijser
+ */
+public class FileNameMatcher {
+
+	public static FileNameMatcher getGlobFileNameMatcher(String glob) {
+		return _globFileNameMatchers.computeIfAbsent(
+			glob, FileNameMatcher::_createGlobFileNameMatcher);
+	}
+
+	public static FileNameMatcher getRegexFileNameMatcher(String regex) {
+		return _regexFileNameMatchers.computeIfAbsent(
+			regex, key -> new FileNameMatcher(null, Pattern.compile(key)));
+	}
+
+	public boolean matches(String fileName) {
+		if (_suffix != null) {
+			if (!fileName.endsWith(_suffix)) {
+				return false;
+			}
+
+			if (_suffix.charAt(0) == CharPool.SLASH) {
+				return true;
+			}
+
+			return fileName.indexOf(CharPool.SLASH) != -1;
+		}
+
+		Matcher matcher = _pattern.matcher(fileName);
+
+		return matcher.matches();
+	}
+
+	private static FileNameMatcher _createGlobFileNameMatcher(String glob) {
+		if (!glob.startsWith("**/")) {
+			glob = "**/" + glob;
+		}
+
+		String s = glob.substring(3);
+
+		if (s.indexOf(CharPool.SLASH) == -1) {
+
+			// **/*.java
+
+			if ((s.length() > 1) && (s.charAt(0) == CharPool.STAR) &&
+				(s.indexOf(CharPool.STAR, 1) == -1)) {
+
+				return new FileNameMatcher(s.substring(1), null);
+			}
+
+			// **/build.gradle
+
+			if (s.indexOf(CharPool.STAR) == -1) {
+				return new FileNameMatcher("/" + s, null);
+			}
+		}
+
+		return new FileNameMatcher(null, Pattern.compile(_createRegex(glob)));
+	}
+
+	private static String _createRegex(String s) {
+		s = StringUtil.replace(s, CharPool.PERIOD, "\\.");
+
+		StringBundler sb = new StringBundler();
+
+		for (int i = 0; i < s.length(); i++) {
+			char c1 = s.charAt(i);
+
+			if (c1 != CharPool.STAR) {
+				sb.append(c1);
+
+				continue;
+			}
+
+			if (i == (s.length() - 1)) {
+				sb.append("[^/]*");
+
+				continue;
+			}
+
+			char c2 = s.charAt(i + 1);
+
+			if (c2 == CharPool.STAR) {
+				sb.append(".*");
+
+				i++;
+
+				continue;
+			}
+
+			sb.append("[^/]*");
+		}
+
+		return sb.toString();
+	}
+
+	private FileNameMatcher(String suffix, Pattern pattern) {
+		_suffix = suffix;
+		_pattern = pattern;
+	}
+
+	private static final Map<String, FileNameMatcher> _globFileNameMatchers =
+		new ConcurrentHashMap<>();
+	private static final Map<String, FileNameMatcher> _regexFileNameMatchers =
+		new ConcurrentHashMap<>();
+
+	private final Pattern _pattern;
+	private final String _suffix;
+
+}
@@ -0,0 +1,104 @@
+/**
+ * SPDX-FileCopyrightText: (c) 2000 Liferay, Inc. https://liferay.com
+ * SPDX-License-Identifier: LGPL-2.1-or-later OR LicenseRef-Liferay-DXP-EULA-2.0.0-2023-06
+ */
+
+package com.liferay.source.formatter.util;
+
+import com.liferay.petra.string.CharPool;
+import com.liferay.petra.string.StringPool;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Partitions the scanned file names by extension, or by the full name for
+ * files without an extension such as <code>Dockerfile</code>, so that include
+ * globs like <code>**&#47;*.java</code> only need to look at the matching
+ * partitions instead of at every file in the base directory.
+ *
+ * @author Hugo Huijser
+ */
+public class FileNamesIndex {
+
+	public FileNamesIndex(List<String> fileNames) {
+		_fileNames = fileNames;
+
+		for (String fileName : fileNames) {
+			List<String> keyFileNames = _fileNamesMap.computeIfAbsent(
+				_getKey(fileName), key -> new ArrayList<>());
+
+			keyFileNames.add(fileName);
+		}
+	}
+
+	public List<String> getFileNames() {
+		return _fileNames;
+	}
+
+	/**
+	 * Returns the file names that can possibly match any of the given include
+	 * globs. The returned file names still need to be filtered with
+	 * {@link SourceFormatterUtil#filterFileNames}.
+	 */
+	public List<String> getFileNames(String[] includes) {
+		Set<String> keys = new LinkedHashSet<>();
+
+		for (String include : includes) {
+			if (include.contains(StringPool.DOLLAR)) {
+				continue;
+			}
+
+			String key = _getKey(include);
+
+			if (key.indexOf(CharPool.STAR) != -1) {
+				return _fileNames;
+			}
+
+			keys.add(key);
+		}
+
+		if (keys.size() == 1) {
+			Iterator<String> iterator = keys.iterator();
+
+			return _fileNamesMap.getOrDefault(
+				iterator.next(), Collections.emptyList());
+		}
+
+		List<String> fileNames = new ArrayList<>();
+
+		for (String key : keys) {
+			List<String> keyFileNames = _fileNamesMap.get(key);
+
+			if (keyFileNames != null) {
+				fileNames.addAll(keyFileNames);
+			}
+		}
+
+		return fileNames;
+	}
+
+	private String _getKey(String fileName) {
+		int x = Math.max(
+			fileName.lastIndexOf(CharPool.SLASH),
+			fileName.lastIndexOf(CharPool.BACK_SLASH));
+
+		int y = fileName.lastIndexOf(CharPool.PERIOD);
+
+		if (y > x) {
+			return fileName.substring(y + 1);
+		}
+
+		return fileName.substring(x + 1);
+	}
+
+	private final List<String> _fileNames;
+	private final Map<String, List<String>> _fileNamesMap = new HashMap<>();
+
+}
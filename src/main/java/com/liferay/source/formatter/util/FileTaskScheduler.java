@@ -0,0 +1,198 @@
+/**
+ * SPDX-FileCopyrightText: (c) 2000 Liferay, Inc. https://liferay.com
+ * SPDX-License-Identifier: LGPL-2.1-or-later OR LicenseRef-Liferay-DXP-EULA-2.0.0-2023-06
+ */
+
+package com.liferay.source.formatter.util;
+
+import com.liferay.source.formatter.check.util.SourceUtil;
+
+import java.io.File;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RunnableFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs the file tasks of all source processors on a single pool of worker
+ * threads. Tasks are taken from one shared queue ordered by their estimated
+ * cost, so that the most expensive files are started first and no processor
+ * is starved by another processor's threads.
+ *
+ * @author Hugo Huijser
+ */
+public class FileTaskScheduler {
+
+	public FileTaskScheduler(int workerCount) {
+		_threadPoolExecutor = new ThreadPoolExecutor(
+			workerCount, workerCount, 0L, TimeUnit.MILLISECONDS,
+			new PriorityBlockingQueue<>(), new WorkerThreadFactory()) {
+
+			@Override
+			protected void afterExecute(
+				Runnable runnable, Throwable throwable) {
+
+				Thread thread = Thread.currentThread();
+
+				LongAdder busyTime = _busyTimesMap.computeIfAbsent(
+					thread.getName(), key -> new LongAdder());
+
+				busyTime.add(System.nanoTime() - _startTime.get());
+			}
+
+			@Override
+			protected void beforeExecute(Thread thread, Runnable runnable) {
+				_startTime.set(System.nanoTime());
+			}
+
+			@Override
+			protected <T> RunnableFuture<T> newTaskFor(Callable<T> callable) {
+				FileTask<T> fileTask = (FileTask<T>)callable;
+
+				return new FileFutureTask<>(
+					fileTask, fileTask.getCost(),
+					_sequence.getAndIncrement());
+			}
+
+		};
+	}
+
+	public int getMaxQueueSize() {
+		return _maxQueueSize.get();
+	}
+
+	public int getQueueSize() {
+		return _threadPoolExecutor.getQueue(
+		).size();
+	}
+
+	public Map<String, Double> getWorkerUtilizations() {
+		Map<String, Double> workerUtilizations = new TreeMap<>();
+
+		double elapsedTime = Math.max(1, System.nanoTime() - _creationTime);
+
+		for (Map.Entry<String, LongAdder> entry : _busyTimesMap.entrySet()) {
+			LongAdder busyTime = entry.getValue();
+
+			workerUtilizations.put(
+				entry.getKey(), busyTime.sum() / elapsedTime);
+		}
+
+		return workerUtilizations;
+	}
+
+	public void shutdown() {
+		_threadPoolExecutor.shutdown();
+	}
+
+	public <T> Future<T> submit(String fileName, Callable<T> callable) {
+		Future<T> future = _threadPoolExecutor.submit(
+			new FileTask<>(callable, _getCost(fileName)));
+
+		int queueSize = getQueueSize();
+
+		_maxQueueSize.accumulateAndGet(queueSize, Math::max);
+
+		return future;
+	}
+
+	private long _getCost(String fileName) {
+		File file = new File(SourceUtil.getAbsolutePath(fileName));
+
+		long length = Math.max(1, file.length());
+
+		// Java and JSP files also go through Checkstyle and the Java parser
+
+		if (fileName.endsWith(".java")) {
+			return length * 4;
+		}
+
+		if (fileName.endsWith(".jsp") || fileName.endsWith(".jspf")) {
+			return length * 2;
+		}
+
+		return length;
+	}
+
+	private final Map<String, LongAdder> _busyTimesMap =
+		new ConcurrentHashMap<>();
+	private final long _creationTime = System.nanoTime();
+	private final AtomicInteger _maxQueueSize = new AtomicInteger();
+	private final AtomicLong _sequence = new AtomicLong();
+	private final ThreadLocal<Long> _startTime = new ThreadLocal<>();
+	private final ThreadPoolExecutor _threadPoolExecutor;
+
+	private static class FileFutureTask<T>
+		extends FutureTask<T> implements Comparable<FileFutureTask<?>> {
+
+		public FileFutureTask(Callable<T> callable, long cost, long sequence) {
+			super(callable);
+
+			_cost = cost;
+			_sequence = sequence;
+		}
+
+		@Override
+		public int compareTo(FileFutureTask<?> fileFutureTask) {
+			if (_cost != fileFutureTask._cost) {
+				return Long.compare(fileFutureTask._cost, _cost);
+			}
+
+			return Long.compare(_sequence, fileFutureTask._sequence);
+		}
+
+		private final long _cost;
+		private final long _sequence;
+
+	}
+
+	private static class FileTask<T> implements Callable<T> {
+
+		public FileTask(Callable<T> callable, long cost) {
+			_callable = callable;
+			_cost = cost;
+		}
+
+		@Override
+		public T call() throws Exception {
+			return _callable.call();
+		}
+
+		public long getCost() {
+			return _cost;
+		}
+
+		private final Callable<T> _callable;
+		private final long _cost;
+
+	}
+
+	private static class WorkerThreadFactory implements ThreadFactory {
+
+		@Override
+		public Thread newThread(Runnable runnable) {
+			Thread thread = new Thread(
+				runnable,
+				"source-formatter-worker-" + _threadCount.incrementAndGet());
+
+			thread.setDaemon(true);
+
+			return thread;
+		}
+
+		private final AtomicInteger _threadCount = new AtomicInteger();
+
+	}
+
+}
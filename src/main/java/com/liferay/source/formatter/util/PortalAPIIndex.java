@@ -0,0 +1,459 @@
+/**
+ * SPDX-FileCopyrightText: (c) 2000 Liferay, Inc. https://liferay.com
+ * SPDX-License-Identifier: LGPL-2.1-or-later OR LicenseRef-Liferay-DXP-EULA-2.0.0-2023-06
+ */
+
+package com.liferay.source.formatter.util;
+
+import com.liferay.petra.string.StringBundler;
+import com.liferay.portal.json.JSONObjectImpl;
+import com.liferay.portal.kernel.json.JSONArray;
+import com.liferay.portal.kernel.json.JSONObject;
+import com.liferay.source.formatter.SourceFormatterArgs;
+import com.liferay.source.formatter.SourceFormatterExcludes;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Indexes the classes, taglibs and XML definitions of a portal JSON object, so
+ * that checks can look up constructors, methods, variables and tag attributes
+ * with hash lookups instead of iterating the JSON arrays.
+ *
+ * <p>
+ * There is one index per portal directory or version, which is shared by all
+ * checks. The index of a class or tag is built the first time it is requested.
+ * The indexes are cleared when a run starts while no other run of Source
+ * Formatter is active in the same JVM.
+ * </p>
+ *
+ * @author Hugo Huijser
+ */
+public class PortalAPIIndex {
+
+	public static void clear() {
+		_portalAPIIndexesMap.clear();
+		_versionPortalAPIIndexesMap.clear();
+	}
+
+	public static String getMethodSignature(
+		String accessModifier, String returnType, String methodName,
+		List<String> parameterTypeNames) {
+
+		StringBundler sb = new StringBundler(
+			(parameterTypeNames.size() * 2) + 6);
+
+		sb.append(accessModifier);
+		sb.append(" ");
+		sb.append(returnType);
+		sb.append(" ");
+		sb.append(methodName);
+		sb.append("(");
+
+		for (int i = 0; i < parameterTypeNames.size(); i++) {
+			if (i > 0) {
+				sb.append(",");
+			}
+
+			sb.append(parameterTypeNames.get(i));
+		}
+
+		sb.append(")");
+
+		return sb.toString();
+	}
+
+	public static PortalAPIIndex getPortalAPIIndex(String dirName)
+		throws Exception {
+
+		return getPortalAPIIndex(
+			dirName, new SourceFormatterExcludes(),
+			SourceFormatterArgs.MAX_LINE_LENGTH);
+	}
+
+	public static PortalAPIIndex getPortalAPIIndex(
+			String dirName, SourceFormatterExcludes sourceFormatterExcludes,
+			int maxLineLength)
+		throws Exception {
+
+		String key = PortalJSONObjectUtil.getPortalJSONObjectKey(
+			dirName, sourceFormatterExcludes, maxLineLength);
+
+		PortalAPIIndex portalAPIIndex = _portalAPIIndexesMap.get(key);
+
+		if (portalAPIIndex != null) {
+			return portalAPIIndex;
+		}
+
+		// PortalJSONObjectUtil makes concurrent callers wait for a single
+		// build of the portal JSON object, so no lock is needed here
+
+		portalAPIIndex = new PortalAPIIndex(
+			PortalJSONObjectUtil.getPortalJSONObject(
+				dirName, sourceFormatterExcludes, maxLineLength));
+
+		PortalAPIIndex previousPortalAPIIndex =
+			_portalAPIIndexesMap.putIfAbsent(key, portalAPIIndex);
+
+		if (previousPortalAPIIndex != null) {
+			return previousPortalAPIIndex;
+		}
+
+		return portalAPIIndex;
+	}
+
+	public static PortalAPIIndex getPortalAPIIndexByVersion(String version)
+		throws Exception {
+
+		PortalAPIIndex portalAPIIndex = _versionPortalAPIIndexesMap.get(
+			version);
+
+		if (portalAPIIndex != null) {
+			return portalAPIIndex;
+		}
+
+		portalAPIIndex = new PortalAPIIndex(
+			PortalJSONObjectUtil.getPortalJSONObjectByVersion(version));
+
+		PortalAPIIndex previousPortalAPIIndex =
+			_versionPortalAPIIndexesMap.putIfAbsent(version, portalAPIIndex);
+
+		if (previousPortalAPIIndex != null) {
+			return previousPortalAPIIndex;
+		}
+
+		return portalAPIIndex;
+	}
+
+	public JSONObject getClassJSONObject(String className) {
+		return _javaClassesJSONObject.getJSONObject(className);
+	}
+
+	public Set<String> getClassNames() {
+		return _javaClassesJSONObject.keySet();
+	}
+
+	/**
+	 * Returns the constructors of the given class that have the given number of
+	 * parameters.
+	 */
+	public List<JSONObject> getConstructorJSONObjects(
+		String className, int parameterCount) {
+
+		ClassIndex classIndex = _getClassIndex(className);
+
+		if (classIndex == null) {
+			return Collections.emptyList();
+		}
+
+		return classIndex.getConstructorJSONObjects(parameterCount);
+	}
+
+	/**
+	 * Returns the methods with the given name and number of parameters that
+	 * are declared in the given class. Methods of extended classes are not
+	 * included.
+	 */
+	public List<JSONObject> getMethodJSONObjects(
+		String className, String methodName, int parameterCount) {
+
+		ClassIndex classIndex = _getClassIndex(className);
+
+		if (classIndex == null) {
+			return Collections.emptyList();
+		}
+
+		return classIndex.getMethodJSONObjects(methodName, parameterCount);
+	}
+
+	/**
+	 * Returns the names of the attributes of the given tag, or
+	 * <code>null</code> if the taglib does not contain the tag.
+	 */
+	public Set<String> getTagAttributeNames(String taglibName, String tagName) {
+		JSONObject taglibJSONObject = _taglibsJSONObject.getJSONObject(
+			taglibName);
+
+		if (taglibJSONObject == null) {
+			return null;
+		}
+
+		JSONObject tagJSONObject = taglibJSONObject.getJSONObject(tagName);
+
+		if (tagJSONObject == null) {
+			return null;
+		}
+
+		return _tagAttributeNamesMap.computeIfAbsent(
+			taglibName + ":" + tagName,
+			key -> _getAttributeNames(tagJSONObject));
+	}
+
+	public JSONObject getVariableJSONObject(
+		String className, String variableName) {
+
+		ClassIndex classIndex = _getClassIndex(className);
+
+		if (classIndex == null) {
+			return null;
+		}
+
+		return classIndex.getVariableJSONObject(variableName);
+	}
+
+	public JSONObject getXMLDefinitionJSONObject(String dtdFileName) {
+		return _xmlDefinitionsJSONObject.getJSONObject(dtdFileName);
+	}
+
+	/**
+	 * Returns whether the given class declares a method with the given
+	 * signature, as returned by {@link #getMethodSignature(String, String,
+	 * String, List)}. Methods of extended classes are not included.
+	 */
+	public boolean hasMethod(String className, String methodSignature) {
+		ClassIndex classIndex = _getClassIndex(className);
+
+		if (classIndex == null) {
+			return false;
+		}
+
+		return classIndex.hasMethod(methodSignature);
+	}
+
+	/**
+	 * Returns whether the given class declares a method with the given access
+	 * modifier and name. This is a cheap check that can be done before the
+	 * signature of a method is resolved. Methods of extended classes are not
+	 * included.
+	 */
+	public boolean hasMethodName(
+		String className, String accessModifier, String methodName) {
+
+		ClassIndex classIndex = _getClassIndex(className);
+
+		if (classIndex == null) {
+			return false;
+		}
+
+		return classIndex.hasMethodName(accessModifier, methodName);
+	}
+
+	public boolean hasTaglib(String taglibName) {
+		return _taglibsJSONObject.has(taglibName);
+	}
+
+	private static List<String> _getParameterTypeNames(JSONObject jsonObject) {
+		JSONArray parametersJSONArray = jsonObject.getJSONArray("parameters");
+
+		if (parametersJSONArray == null) {
+			return Collections.emptyList();
+		}
+
+		List<String> parameterTypeNames = new ArrayList<>(
+			parametersJSONArray.length());
+
+		Iterator<String> iterator = parametersJSONArray.iterator();
+
+		while (iterator.hasNext()) {
+			parameterTypeNames.add(iterator.next());
+		}
+
+		return parameterTypeNames;
+	}
+
+	private PortalAPIIndex(JSONObject portalJSONObject) {
+		_javaClassesJSONObject = _getJSONObject(
+			portalJSONObject, "javaClasses");
+		_taglibsJSONObject = _getJSONObject(portalJSONObject, "taglibs");
+		_xmlDefinitionsJSONObject = _getJSONObject(
+			portalJSONObject, "xmlDefinitions");
+	}
+
+	private Set<String> _getAttributeNames(JSONObject tagJSONObject) {
+		JSONArray attributesJSONArray = tagJSONObject.getJSONArray(
+			"attributes");
+
+		if (attributesJSONArray == null) {
+			return Collections.emptySet();
+		}
+
+		Set<String> attributeNames = new HashSet<>();
+
+		Iterator<JSONObject> iterator = attributesJSONArray.iterator();
+
+		while (iterator.hasNext()) {
+			JSONObject attributeJSONObject = iterator.next();
+
+			attributeNames.add(attributeJSONObject.getString("name"));
+		}
+
+		return attributeNames;
+	}
+
+	private ClassIndex _getClassIndex(String className) {
+		ClassIndex classIndex = _classIndexesMap.get(className);
+
+		if (classIndex != null) {
+			return classIndex;
+		}
+
+		JSONObject classJSONObject = getClassJSONObject(className);
+
+		if (classJSONObject == null) {
+			return null;
+		}
+
+		return _classIndexesMap.computeIfAbsent(
+			className, key -> new ClassIndex(classJSONObject));
+	}
+
+	private JSONObject _getJSONObject(JSONObject jsonObject, String key) {
+		if (jsonObject.has(key)) {
+			return jsonObject.getJSONObject(key);
+		}
+
+		return new JSONObjectImpl();
+	}
+
+	private static final Map<String, PortalAPIIndex> _portalAPIIndexesMap =
+		new ConcurrentHashMap<>();
+	private static final Map<String, PortalAPIIndex>
+		_versionPortalAPIIndexesMap = new ConcurrentHashMap<>();
+
+	private final Map<String, ClassIndex> _classIndexesMap =
+		new ConcurrentHashMap<>();
+	private final JSONObject _javaClassesJSONObject;
+	private final Map<String, Set<String>> _tagAttributeNamesMap =
+		new ConcurrentHashMap<>();
+	private final JSONObject _taglibsJSONObject;
+	private final JSONObject _xmlDefinitionsJSONObject;
+
+	private static class ClassIndex {
+
+		public ClassIndex(JSONObject classJSONObject) {
+			JSONArray constructorsJSONArray = classJSONObject.getJSONArray(
+				"constructors");
+
+			if (constructorsJSONArray != null) {
+				Iterator<JSONObject> iterator =
+					constructorsJSONArray.iterator();
+
+				while (iterator.hasNext()) {
+					JSONObject constructorJSONObject = iterator.next();
+
+					List<String> parameterTypeNames = _getParameterTypeNames(
+						constructorJSONObject);
+
+					List<JSONObject> constructorJSONObjects =
+						_constructorJSONObjectsMap.computeIfAbsent(
+							parameterTypeNames.size(),
+							key -> new ArrayList<>());
+
+					constructorJSONObjects.add(constructorJSONObject);
+				}
+			}
+
+			JSONArray methodsJSONArray = classJSONObject.getJSONArray(
+				"methods");
+
+			if (methodsJSONArray != null) {
+				Iterator<JSONObject> iterator = methodsJSONArray.iterator();
+
+				while (iterator.hasNext()) {
+					JSONObject methodJSONObject = iterator.next();
+
+					String methodName = methodJSONObject.getString("name");
+					List<String> parameterTypeNames = _getParameterTypeNames(
+						methodJSONObject);
+
+					List<JSONObject> methodJSONObjects =
+						_methodJSONObjectsMap.computeIfAbsent(
+							_getMethodKey(
+								methodName, parameterTypeNames.size()),
+							key -> new ArrayList<>());
+
+					methodJSONObjects.add(methodJSONObject);
+
+					_methodNames.add(
+						_getMethodName(
+							methodJSONObject.getString("accessModifier"),
+							methodName));
+					_methodSignatures.add(
+						getMethodSignature(
+							methodJSONObject.getString("accessModifier"),
+							methodJSONObject.getString("returnType"),
+							methodName, parameterTypeNames));
+				}
+			}
+
+			JSONArray variablesJSONArray = classJSONObject.getJSONArray(
+				"variables");
+
+			if (variablesJSONArray != null) {
+				Iterator<JSONObject> iterator = variablesJSONArray.iterator();
+
+				while (iterator.hasNext()) {
+					JSONObject variableJSONObject = iterator.next();
+
+					_variableJSONObjectsMap.putIfAbsent(
+						variableJSONObject.getString("name"),
+						variableJSONObject);
+				}
+			}
+		}
+
+		public List<JSONObject> getConstructorJSONObjects(int parameterCount) {
+			return _constructorJSONObjectsMap.getOrDefault(
+				parameterCount, Collections.emptyList());
+		}
+
+		public List<JSONObject> getMethodJSONObjects(
+			String methodName, int parameterCount) {
+
+			return _methodJSONObjectsMap.getOrDefault(
+				_getMethodKey(methodName, parameterCount),
+				Collections.emptyList());
+		}
+
+		public JSONObject getVariableJSONObject(String variableName) {
+			return _variableJSONObjectsMap.get(variableName);
+		}
+
+		public boolean hasMethod(String methodSignature) {
+			return _methodSignatures.contains(methodSignature);
+		}
+
+		public boolean hasMethodName(String accessModifier, String methodName) {
+			return _methodNames.contains(
+				_getMethodName(accessModifier, methodName));
+		}
+
+		private String _getMethodKey(String methodName, int parameterCount) {
+			return methodName + "#" + parameterCount;
+		}
+
+		private String _getMethodName(
+			String accessModifier, String methodName) {
+
+			return accessModifier + " " + methodName;
+		}
+
+		private final Map<Integer, List<JSONObject>>
+			_constructorJSONObjectsMap = new HashMap<>();
+		private final Map<String, List<JSONObject>> _methodJSONObjectsMap =
+			new HashMap<>();
+		private final Set<String> _methodNames = new HashSet<>();
+		private final Set<String> _methodSignatures = new HashSet<>();
+		private final Map<String, JSONObject> _variableJSONObjectsMap =
+			new HashMap<>();
+
+	}
+
+}
@@ -12,14 +12,17 @@ import com.liferay.portal.json.JSONArrayImpl;
 import com.liferay.portal.json.JSONObjectImpl;
 import com.liferay.portal.kernel.json.JSONArray;
 import com.liferay.portal.kernel.json.JSONObject;
-import com.liferay.portal.kernel.json.JSONUtil;
+import com.liferay.portal.kernel.log.Log;
+import com.liferay.portal.kernel.log.LogFactoryUtil;
 import com.liferay.portal.kernel.util.StringUtil;
 import com.liferay.portal.kernel.util.SystemProperties;
 import com.liferay.portal.kernel.util.Tuple;
-import com.liferay.portal.tools.GitUtil;
 import com.liferay.portal.tools.java.parser.JavaParser;
+import com.liferay.source.formatter.ExcludeSyntax;
+import com.liferay.source.formatter.ExcludeSyntaxPattern;
 import com.liferay.source.formatter.SourceFormatterArgs;
 import com.liferay.source.formatter.SourceFormatterExcludes;
+import com.liferay.source.formatter.SourceFormatterResultCache;
 import com.liferay.source.formatter.check.util.SourceUtil;
 import com.liferay.source.formatter.parser.JavaClass;
 import com.liferay.source.formatter.parser.JavaClassParser;
@@ -31,14 +34,24 @@ import com.liferay.source.formatter.parser.JavaTerm;
 import com.liferay.source.formatter.parser.JavaVariable;
 
 import java.io.File;
+import java.io.IOException;
+
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -51,15 +64,14 @@ import org.dom4j.Element;
  */
 public class PortalJSONObjectUtil {
 
-	public static void deleteTempPortalJSONObjectFile() throws Exception {
-		File tempPortalJSONObjectFile = new File(
-			StringBundler.concat(
-				SystemProperties.get(SystemProperties.TMP_DIR), File.separator,
-				GitUtil.getLatestCommitId(), ".json"));
-
-		if (tempPortalJSONObjectFile.exists()) {
-			tempPortalJSONObjectFile.delete();
-		}
+	/**
+	 * Removes all portal JSON objects that were built in a previous run of
+	 * Source Formatter in the same JVM, so that they are built again, based on
+	 * the persistent portal API index. This must not be called while another
+	 * run is still using them.
+	 */
+	public static void clear() {
+		_portalJSONObjectFuturesMap.clear();
 	}
 
 	public static JSONObject getPortalJSONObject(String dirName)
@@ -70,108 +82,85 @@ public class PortalJSONObjectUtil {
 			SourceFormatterArgs.MAX_LINE_LENGTH);
 	}
 
+	/**
+	 * Returns the portal JSON object of the given directory. The portal JSON
+	 * object is built once per directory, excludes and max line length, and
+	 * concurrent callers wait for that build instead of starting their own.
+	 */
 	public static JSONObject getPortalJSONObject(
 			String dirName, SourceFormatterExcludes sourceFormatterExcludes,
 			int maxLineLength)
 		throws Exception {
 
-		File tempPortalJSONObjectFile = new File(
-			StringBundler.concat(
-				SystemProperties.get(SystemProperties.TMP_DIR), File.separator,
-				GitUtil.getLatestCommitId(), ".json"));
+		String key = getPortalJSONObjectKey(
+			dirName, sourceFormatterExcludes, maxLineLength);
 
-		if (tempPortalJSONObjectFile.exists()) {
-			return new JSONObjectImpl(FileUtil.read(tempPortalJSONObjectFile));
-		}
+		FutureTask<JSONObject> futureTask = new FutureTask<>(
+			() -> _getPortalJSONObject(
+				dirName, sourceFormatterExcludes, maxLineLength));
 
-		ExecutorService executorService = Executors.newFixedThreadPool(10);
+		Future<JSONObject> future = _portalJSONObjectFuturesMap.putIfAbsent(
+			key, futureTask);
 
-		List<Future<Tuple>> futures = new ArrayList<>();
+		if (future == null) {
+			future = futureTask;
 
-		JSONObject portalJSONObject = new JSONObjectImpl();
-		JSONObject taglibsJSONObject = new JSONObjectImpl();
-		JSONObject xmlDefinitionsJSONObject = new JSONObjectImpl();
+			futureTask.run();
+		}
 
-		List<String> fileNames = SourceFormatterUtil.scanForFileNames(
-			dirName, new String[0],
-			new String[] {
-				"**/*.dtd", "**/*.java", "**/resources/META-INF/*.tld",
-				"**/resources/META-INF/**/*.tld", "**/src/META-INF/*.tld",
-				"**/src/META-INF/**/*.tld"
-			},
-			sourceFormatterExcludes, true);
+		try {
+			return future.get();
+		}
+		catch (ExecutionException executionException) {
+			_portalJSONObjectFuturesMap.remove(key, future);
 
-		for (String fileName : fileNames) {
-			if (fileName.endsWith(".dtd")) {
-				xmlDefinitionsJSONObject = _addXMLdefinition(
-					xmlDefinitionsJSONObject, fileName);
+			Throwable throwable = executionException.getCause();
 
-				continue;
+			if (throwable instanceof Exception) {
+				throw (Exception)throwable;
 			}
 
-			if (fileName.endsWith(".tld")) {
-				taglibsJSONObject = _addTaglib(taglibsJSONObject, fileName);
+			throw executionException;
+		}
+	}
 
-				continue;
-			}
+	public static JSONObject getPortalJSONObjectByVersion(String version)
+		throws Exception {
 
-			if (!fileName.contains("/com/liferay/")) {
-				continue;
-			}
+		// TODO: Grab from URL (need to figure out what that URL is first)
 
-			if (fileName.endsWith("/VerifyProperties.java")) {
-				portalJSONObject.put(
-					"legacyProperties",
-					_getLegacyPropertiesJSONObject(fileName));
-			}
+		return new JSONObjectImpl();
+	}
 
-			Future<Tuple> future = executorService.submit(
-				new Callable<Tuple>() {
+	public static String getPortalJSONObjectKey(
+		String dirName, SourceFormatterExcludes sourceFormatterExcludes,
+		int maxLineLength) {
 
-					@Override
-					public Tuple call() throws Exception {
-						return _getClassTuple(fileName, maxLineLength);
-					}
+		List<String> excludes = new ArrayList<>();
 
-				});
+		for (ExcludeSyntaxPattern excludeSyntaxPattern :
+				sourceFormatterExcludes.getDefaultExcludeSyntaxPatterns()) {
 
-			futures.add(future);
+			excludes.add(_getExclude(null, excludeSyntaxPattern));
 		}
 
-		JSONObject javaClassesJSONObject = new JSONObjectImpl();
+		Map<String, List<ExcludeSyntaxPattern>> excludeSyntaxPatternsMap =
+			sourceFormatterExcludes.getExcludeSyntaxPatternsMap();
 
-		for (Future<Tuple> future : futures) {
-			try {
-				javaClassesJSONObject = _addJavaClassJSONObject(
-					javaClassesJSONObject, future.get(1, TimeUnit.MINUTES));
-			}
-			catch (Exception exception) {
-				future.cancel(true);
+		for (Map.Entry<String, List<ExcludeSyntaxPattern>> entry :
+				excludeSyntaxPatternsMap.entrySet()) {
+
+			for (ExcludeSyntaxPattern excludeSyntaxPattern : entry.getValue()) {
+				excludes.add(_getExclude(entry.getKey(), excludeSyntaxPattern));
 			}
 		}
 
-		executorService.shutdown();
+		Collections.sort(excludes);
 
-		portalJSONObject.put(
-			"javaClasses", javaClassesJSONObject
-		).put(
-			"taglibs", taglibsJSONObject
-		).put(
-			"xmlDefinitions", xmlDefinitionsJSONObject
-		);
-
-		FileUtil.write(
-			tempPortalJSONObjectFile, JSONUtil.toString(portalJSONObject));
-
-		return portalJSONObject;
-	}
-
-	public static JSONObject getPortalJSONObjectByVersion(String version)
-		throws Exception {
-
-		// TODO: Grab from URL (need to figure out what that URL is first)
-
-		return new JSONObjectImpl();
+		return StringBundler.concat(
+			dirName, StringPool.POUND, maxLineLength, StringPool.POUND,
+			SourceFormatterResultCache.getHash(
+				excludes.toArray(new String[0])));
 	}
 
 	private static JSONArray _addElementValues(
@@ -210,12 +199,9 @@ public class PortalJSONObjectUtil {
 		return elementJSONArray;
 	}
 
-	private static synchronized JSONObject _addJavaClassJSONObject(
-		JSONObject javaClassesJSONObject, Tuple tuple) {
-
-		String className = (String)tuple.getObject(0);
-
-		JSONObject classJSONObject = (JSONObject)tuple.getObject(1);
+	private static JSONObject _addJavaClassJSONObject(
+		JSONObject javaClassesJSONObject, String className,
+		JSONObject classJSONObject) {
 
 		if (!javaClassesJSONObject.has(className)) {
 			javaClassesJSONObject.put(className, classJSONObject);
@@ -488,6 +474,17 @@ public class PortalJSONObjectUtil {
 		return constructorsJSONArray;
 	}
 
+	private static String _getExclude(
+		String propertiesFileLocation,
+		ExcludeSyntaxPattern excludeSyntaxPattern) {
+
+		ExcludeSyntax excludeSyntax = excludeSyntaxPattern.getExcludeSyntax();
+
+		return StringBundler.concat(
+			propertiesFileLocation, StringPool.POUND, excludeSyntax.getValue(),
+			StringPool.COLON, excludeSyntaxPattern.getExcludePattern());
+	}
+
 	private static JSONArray _getExtendedClassesJSONArray(JavaClass javaClass) {
 		JSONArray extendedClassesJSONArray = new JSONArrayImpl();
 
@@ -512,6 +509,54 @@ public class PortalJSONObjectUtil {
 		return implementedClassesJSONArray;
 	}
 
+	private static JSONObject _getJavaFileJSONObject(
+			String fileName, JSONObject javaFileJSONObject, int maxLineLength)
+		throws Exception {
+
+		File file = new File(fileName);
+
+		long lastModified = file.lastModified();
+		long length = file.length();
+
+		if ((javaFileJSONObject != null) &&
+			(javaFileJSONObject.getLong("lastModified") == lastModified) &&
+			(javaFileJSONObject.getLong("length") == length)) {
+
+			return javaFileJSONObject;
+		}
+
+		String hash = SourceFormatterResultCache.getHash(
+			FileUtil.read(file, false));
+
+		if ((javaFileJSONObject != null) &&
+			hash.equals(javaFileJSONObject.getString("hash"))) {
+
+			return javaFileJSONObject.put("lastModified", lastModified);
+		}
+
+		javaFileJSONObject = new JSONObjectImpl();
+
+		javaFileJSONObject.put(
+			"hash", hash
+		).put(
+			"lastModified", lastModified
+		).put(
+			"length", length
+		);
+
+		Tuple classTuple = _getClassTuple(fileName, maxLineLength);
+
+		if (classTuple != null) {
+			javaFileJSONObject.put(
+				"class", classTuple.getObject(1)
+			).put(
+				"className", classTuple.getObject(0)
+			);
+		}
+
+		return javaFileJSONObject;
+	}
+
 	private static JSONObject _getLegacyPropertiesJSONObject(String fileName)
 		throws Exception {
 
@@ -596,6 +641,132 @@ public class PortalJSONObjectUtil {
 		return methodsJSONArray;
 	}
 
+	private static JSONObject _getPortalJSONObject(
+			String dirName, SourceFormatterExcludes sourceFormatterExcludes,
+			int maxLineLength)
+		throws Exception {
+
+		// The excludes determine which files are indexed, so directories that
+		// are indexed with different excludes get their own index file
+
+		File portalAPIIndexFile = new File(
+			StringBundler.concat(
+				SystemProperties.get(SystemProperties.TMP_DIR), File.separator,
+				"portal-api-index-",
+				SourceFormatterResultCache.getHash(
+					getPortalJSONObjectKey(
+						dirName, sourceFormatterExcludes, maxLineLength)),
+				".json"));
+
+		JSONObject javaFilesJSONObject = _readJavaFilesJSONObject(
+			portalAPIIndexFile, maxLineLength);
+
+		ExecutorService executorService = Executors.newFixedThreadPool(
+			Runtime.getRuntime(
+			).availableProcessors());
+
+		Map<String, Future<JSONObject>> futuresMap = new LinkedHashMap<>();
+
+		JSONObject portalJSONObject = new JSONObjectImpl();
+		JSONObject taglibsJSONObject = new JSONObjectImpl();
+		JSONObject xmlDefinitionsJSONObject = new JSONObjectImpl();
+
+		List<String> fileNames = SourceFormatterUtil.scanForFileNames(
+			dirName, new String[0],
+			new String[] {
+				"**/*.dtd", "**/*.java", "**/resources/META-INF/*.tld",
+				"**/resources/META-INF/**/*.tld", "**/src/META-INF/*.tld",
+				"**/src/META-INF/**/*.tld"
+			},
+			sourceFormatterExcludes, true);
+
+		for (String fileName : fileNames) {
+			if (fileName.endsWith(".dtd")) {
+				xmlDefinitionsJSONObject = _addXMLdefinition(
+					xmlDefinitionsJSONObject, fileName);
+
+				continue;
+			}
+
+			if (fileName.endsWith(".tld")) {
+				taglibsJSONObject = _addTaglib(taglibsJSONObject, fileName);
+
+				continue;
+			}
+
+			if (!fileName.contains("/com/liferay/")) {
+				continue;
+			}
+
+			if (fileName.endsWith("/VerifyProperties.java")) {
+				portalJSONObject.put(
+					"legacyProperties",
+					_getLegacyPropertiesJSONObject(fileName));
+			}
+
+			JSONObject javaFileJSONObject = javaFilesJSONObject.getJSONObject(
+				fileName);
+
+			Future<JSONObject> future = executorService.submit(
+				new Callable<JSONObject>() {
+
+					@Override
+					public JSONObject call() throws Exception {
+						return _getJavaFileJSONObject(
+							fileName, javaFileJSONObject, maxLineLength);
+					}
+
+				});
+
+			futuresMap.put(fileName, future);
+		}
+
+		JSONObject javaClassesJSONObject = new JSONObjectImpl();
+
+		javaFilesJSONObject = new JSONObjectImpl();
+
+		for (Map.Entry<String, Future<JSONObject>> entry :
+				futuresMap.entrySet()) {
+
+			Future<JSONObject> future = entry.getValue();
+
+			JSONObject javaFileJSONObject = null;
+
+			try {
+				javaFileJSONObject = future.get(1, TimeUnit.MINUTES);
+			}
+			catch (Exception exception) {
+				future.cancel(true);
+
+				continue;
+			}
+
+			javaFilesJSONObject.put(entry.getKey(), javaFileJSONObject);
+
+			if (javaFileJSONObject.has("className")) {
+				javaClassesJSONObject = _addJavaClassJSONObject(
+					javaClassesJSONObject,
+					javaFileJSONObject.getString("className"),
+					javaFileJSONObject.getJSONObject("class"));
+			}
+		}
+
+		executorService.shutdown();
+
+		portalJSONObject.put(
+			"javaClasses", javaClassesJSONObject
+		).put(
+			"taglibs", taglibsJSONObject
+		).put(
+			"xmlDefinitions", xmlDefinitionsJSONObject
+		);
+
+		_writePortalAPIIndexFile(
+			portalAPIIndexFile, javaFilesJSONObject, maxLineLength);
+
+		return portalJSONObject;
+	}
+
 	private static JSONArray _getVariablesJSONArray(JavaClass javaClass) {
 		JSONArray variablesJSONArray = new JSONArrayImpl();
 
@@ -677,14 +848,89 @@ public class PortalJSONObjectUtil {
 			return mergedJSONObject.put(name, jsonArray1);
 		}
 
+		JSONArray mergedJSONArray = new JSONArrayImpl();
+
+		for (int i = 0; i < jsonArray1.length(); i++) {
+			mergedJSONArray.put(jsonArray1.get(i));
+		}
+
 		for (int i = 0; i < jsonArray2.length(); i++) {
-			jsonArray1.put(jsonArray2.get(i));
+			mergedJSONArray.put(jsonArray2.get(i));
 		}
 
-		return mergedJSONObject.put(name, jsonArray1);
+		return mergedJSONObject.put(name, mergedJSONArray);
 	}
 
+	private static JSONObject _readJavaFilesJSONObject(
+		File portalAPIIndexFile, int maxLineLength) {
+
+		if (!portalAPIIndexFile.exists()) {
+			return new JSONObjectImpl();
+		}
+
+		try {
+			JSONObject portalAPIIndexJSONObject = new JSONObjectImpl(
+				FileUtil.read(portalAPIIndexFile, false));
+
+			if (Objects.equals(
+					portalAPIIndexJSONObject.getString("formatterVersion"),
+					SourceFormatterResultCache.getFormatterVersion()) &&
+				(portalAPIIndexJSONObject.getInt("maxLineLength") ==
+					maxLineLength) &&
+				(portalAPIIndexJSONObject.getInt("version") ==
+					_PORTAL_API_INDEX_VERSION)) {
+
+				return portalAPIIndexJSONObject.getJSONObject("javaFiles");
+			}
+		}
+		catch (Exception exception) {
+			if (_log.isDebugEnabled()) {
+				_log.debug(exception);
+			}
+		}
+
+		return new JSONObjectImpl();
+	}
+
+	private static void _writePortalAPIIndexFile(
+			File portalAPIIndexFile, JSONObject javaFilesJSONObject,
+			int maxLineLength)
+		throws IOException {
+
+		JSONObject portalAPIIndexJSONObject = new JSONObjectImpl();
+
+		portalAPIIndexJSONObject.put(
+			"formatterVersion", SourceFormatterResultCache.getFormatterVersion()
+		).put(
+			"javaFiles", javaFilesJSONObject
+		).put(
+			"maxLineLength", maxLineLength
+		).put(
+			"version", _PORTAL_API_INDEX_VERSION
+		);
+
+		// Write to a temporary file first, so that other processes never read
+		// a partially written index
+
+		File tempFile = File.createTempFile(
+			"portal-api-index-", ".json", portalAPIIndexFile.getParentFile());
+
+		FileUtil.write(tempFile, portalAPIIndexJSONObject.toString());
+
+		Files.move(
+			tempFile.toPath(), portalAPIIndexFile.toPath(),
+			StandardCopyOption.ATOMIC_MOVE,
+			StandardCopyOption.REPLACE_EXISTING);
+	}
+
+	private static final int _PORTAL_API_INDEX_VERSION = 1;
+
+	private static final Log _log = LogFactoryUtil.getLog(
+		PortalJSONObjectUtil.class);
+
 	private static final Pattern _elementPattern = Pattern.compile(
 		"<!ELEMENT ([\\w-]+) \\(");
+	private static final Map<String, Future<JSONObject>>
+		_portalJSONObjectFuturesMap = new ConcurrentHashMap<>();
 
 }
\ No newline at end of file
@@ -5,6 +5,7 @@
 
 package com.liferay.source.formatter.util;
 
+import com.liferay.petra.string.CharPool;
 import com.liferay.petra.string.StringBundler;
 import com.liferay.petra.string.StringPool;
 import com.liferay.portal.json.JSONArrayImpl;
@@ -191,6 +192,17 @@ public class SourceFormatterCheckUtil {
 			return value;
 		}
 
+		String dirCacheKey = _getDirCacheKey(key, absolutePath);
+
+		if (dirCacheKey != null) {
+			value = cachedValuesMap.get(dirCacheKey);
+
+			if (value != null) {
+				return value;
+			}
+		}
+
+		String baseDirNameAbsolutePath = null;
 		boolean cacheValue = true;
 		String closestPropertiesFileLocation = null;
 
@@ -218,8 +230,10 @@ public class SourceFormatterCheckUtil {
 				continue;
 			}
 
-			String baseDirNameAbsolutePath = SourceUtil.getAbsolutePath(
-				baseDirName);
+			if (baseDirNameAbsolutePath == null) {
+				baseDirNameAbsolutePath = SourceUtil.getAbsolutePath(
+					baseDirName);
+			}
 
 			if (fileLocation.length() > baseDirNameAbsolutePath.length()) {
 				cacheValue = false;
@@ -248,6 +262,9 @@ public class SourceFormatterCheckUtil {
 		if (cacheValue) {
 			cachedValuesMap.put(key, value);
 		}
+		else if (dirCacheKey != null) {
+			cachedValuesMap.put(dirCacheKey, value);
+		}
 
 		return value;
 	}
@@ -267,8 +284,19 @@ public class SourceFormatterCheckUtil {
 			return values;
 		}
 
+		String dirCacheKey = _getDirCacheKey(key, absolutePath);
+
+		if (dirCacheKey != null) {
+			values = cachedValuesMap.get(dirCacheKey);
+
+			if (values != null) {
+				return values;
+			}
+		}
+
 		values = new ArrayList<>();
 
+		String baseDirNameAbsolutePath = null;
 		boolean cacheValues = true;
 
 		Iterator<String> iterator = jsonObject.keys();
@@ -284,8 +312,10 @@ public class SourceFormatterCheckUtil {
 			}
 
 			if (!fileLocation.equals(CONFIGURATION_FILE_LOCATION)) {
-				String baseDirNameAbsolutePath = SourceUtil.getAbsolutePath(
-					baseDirName);
+				if (baseDirNameAbsolutePath == null) {
+					baseDirNameAbsolutePath = SourceUtil.getAbsolutePath(
+						baseDirName);
+				}
 
 				if (fileLocation.length() > baseDirNameAbsolutePath.length()) {
 					cacheValues = false;
@@ -305,6 +335,9 @@ public class SourceFormatterCheckUtil {
 		if (cacheValues) {
 			cachedValuesMap.put(key, values);
 		}
+		else if (dirCacheKey != null) {
+			cachedValuesMap.put(dirCacheKey, values);
+		}
 
 		return values;
 	}
@@ -365,6 +398,27 @@ public class SourceFormatterCheckUtil {
 		return false;
 	}
 
+	/**
+	 * Returns the key under which the value of the given key is cached for
+	 * all files in the directory of the given path. Values that depend on
+	 * nested properties files are the same for all files in a directory, since
+	 * properties files apply to the directory they are in.
+	 */
+	private static String _getDirCacheKey(String key, String absolutePath) {
+		if (absolutePath == null) {
+			return null;
+		}
+
+		int pos = absolutePath.lastIndexOf(CharPool.SLASH);
+
+		if (pos == -1) {
+			return null;
+		}
+
+		return StringBundler.concat(
+			key, StringPool.AT, absolutePath.substring(0, pos));
+	}
+
 	private static String _getJSONObjectValue(
 		JSONObject jsonObject, String key) {
 
@@ -23,7 +23,6 @@ import com.liferay.source.formatter.check.util.SourceUtil;
 
 import java.io.File;
 import java.io.IOException;
-import java.io.InputStream;
 
 import java.net.URL;
 
@@ -40,10 +39,12 @@ import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Scanner;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 import java.util.regex.Pattern;
 
@@ -82,13 +83,15 @@ public class SourceFormatterUtil {
 		SourceFormatterExcludes sourceFormatterExcludes,
 		boolean forceIncludeAllFiles) {
 
-		List<String> excludeRegexList = new ArrayList<>();
-		Map<String, List<String>> excludeRegexMap = new HashMap<>();
-		List<String> includeRegexList = new ArrayList<>();
+		List<FileNameMatcher> excludeFileNameMatchers = new ArrayList<>();
+		Map<String, List<FileNameMatcher>> excludeFileNameMatchersMap =
+			new HashMap<>();
+		List<FileNameMatcher> includeFileNameMatchers = new ArrayList<>();
 
 		for (String exclude : excludes) {
 			if (!exclude.contains(StringPool.DOLLAR)) {
-				excludeRegexList.add(_createRegex(exclude));
+				excludeFileNameMatchers.add(
+					FileNameMatcher.getGlobFileNameMatcher(exclude));
 			}
 		}
 
@@ -102,7 +105,7 @@ public class SourceFormatterUtil {
 				List<ExcludeSyntaxPattern> excludeSyntaxPatterns =
 					entry.getValue();
 
-				List<String> regexList = new ArrayList<>();
+				List<FileNameMatcher> fileNameMatchers = new ArrayList<>();
 
 				for (ExcludeSyntaxPattern excludeSyntaxPattern :
 						excludeSyntaxPatterns) {
@@ -113,20 +116,26 @@ public class SourceFormatterUtil {
 						excludeSyntaxPattern.getExcludeSyntax();
 
 					if (excludeSyntax.equals(ExcludeSyntax.REGEX)) {
-						regexList.add(excludePattern);
+						fileNameMatchers.add(
+							FileNameMatcher.getRegexFileNameMatcher(
+								excludePattern));
 					}
 					else if (!excludePattern.contains(StringPool.DOLLAR)) {
-						regexList.add(_createRegex(excludePattern));
+						fileNameMatchers.add(
+							FileNameMatcher.getGlobFileNameMatcher(
+								excludePattern));
 					}
 				}
 
-				excludeRegexMap.put(entry.getKey(), regexList);
+				excludeFileNameMatchersMap.put(
+					entry.getKey(), fileNameMatchers);
 			}
 		}
 
 		for (String include : includes) {
 			if (!include.contains(StringPool.DOLLAR)) {
-				includeRegexList.add(_createRegex(include));
+				includeFileNameMatchers.add(
+					FileNameMatcher.getGlobFileNameMatcher(include));
 			}
 		}
 
@@ -136,25 +145,33 @@ public class SourceFormatterUtil {
 		for (String fileName : allFileNames) {
 			String encodedFileName = SourceUtil.getAbsolutePath(fileName);
 
-			for (String includeRegex : includeRegexList) {
-				if (!encodedFileName.matches(includeRegex)) {
+			for (FileNameMatcher includeFileNameMatcher :
+					includeFileNameMatchers) {
+
+				if (!includeFileNameMatcher.matches(encodedFileName)) {
 					continue;
 				}
 
-				for (String excludeRegex : excludeRegexList) {
-					if (encodedFileName.matches(excludeRegex)) {
+				for (FileNameMatcher excludeFileNameMatcher :
+						excludeFileNameMatchers) {
+
+					if (excludeFileNameMatcher.matches(encodedFileName)) {
 						continue outerLoop;
 					}
 				}
 
-				for (Map.Entry<String, List<String>> entry :
-						excludeRegexMap.entrySet()) {
+				for (Map.Entry<String, List<FileNameMatcher>> entry :
+						excludeFileNameMatchersMap.entrySet()) {
 
 					String propertiesFileLocation = entry.getKey();
 
 					if (encodedFileName.startsWith(propertiesFileLocation)) {
-						for (String excludeRegex : entry.getValue()) {
-							if (encodedFileName.matches(excludeRegex)) {
+						for (FileNameMatcher excludeFileNameMatcher :
+								entry.getValue()) {
+
+							if (excludeFileNameMatcher.matches(
+									encodedFileName)) {
+
 								continue outerLoop;
 							}
 						}
@@ -358,9 +375,10 @@ public class SourceFormatterUtil {
 	public static List<String> scanForFileNames(
 		String baseDirName, String[] includes) {
 
-		List<String> deletedFileNames = _scanForFileNames(
-			Arrays.asList("ls-files", "-d", "-z", "--full-name"), baseDirName,
-			new String[0]);
+		Set<String> deletedFileNames = new HashSet<>(
+			_scanForFileNames(
+				Arrays.asList("ls-files", "-d", "-z", "--full-name"),
+				baseDirName, new String[0]));
 
 		List<String> fileNames = _scanForFileNames(
 			Arrays.asList("ls-files", "-z", "--full-name"), baseDirName,
@@ -369,12 +387,14 @@ public class SourceFormatterUtil {
 		fileNames = ListUtil.filter(
 			fileNames, fileName -> !deletedFileNames.contains(fileName));
 
+		Set<String> fileNamesSet = new HashSet<>(fileNames);
+
 		PathMatchers pathMatchers = _getPathMatchers(
 			new String[0], includes, new SourceFormatterExcludes());
 
 		for (String untrackedFileName : _getUntrackedFileNames()) {
 			if (!untrackedFileName.startsWith(baseDirName) ||
-				fileNames.contains(untrackedFileName)) {
+				fileNamesSet.contains(untrackedFileName)) {
 
 				continue;
 			}
@@ -386,6 +406,7 @@ public class SourceFormatterUtil {
 
 				if (pathMatcher.matches(path)) {
 					fileNames.add(untrackedFileName);
+					fileNamesSet.add(untrackedFileName);
 
 					break;
 				}
@@ -411,46 +432,6 @@ public class SourceFormatterUtil {
 			includeSubrepositories);
 	}
 
-	private static String _createRegex(String s) {
-		if (!s.startsWith("**/")) {
-			s = "**/" + s;
-		}
-
-		s = StringUtil.replace(s, CharPool.PERIOD, "\\.");
-
-		StringBundler sb = new StringBundler();
-
-		for (int i = 0; i < s.length(); i++) {
-			char c1 = s.charAt(i);
-
-			if (c1 != CharPool.STAR) {
-				sb.append(c1);
-
-				continue;
-			}
-
-			if (i == (s.length() - 1)) {
-				sb.append("[^/]*");
-
-				continue;
-			}
-
-			char c2 = s.charAt(i + 1);
-
-			if (c2 == CharPool.STAR) {
-				sb.append(".*");
-
-				i++;
-
-				continue;
-			}
-
-			sb.append("[^/]*");
-		}
-
-		return sb.toString();
-	}
-
 	private static void _executeGitCommand(
 		List<String> args, String baseDirName, Consumer<String> consumer) {
 
@@ -605,18 +586,30 @@ public class SourceFormatterUtil {
 	}
 
 	private static String _getDocumentationURLString(String checkName) {
-		String markdownFileName = getMarkdownFileName(checkName);
+		String documentationURLString =
+			_documentationURLStringsMap.computeIfAbsent(
+				checkName,
+				key -> {
+					String markdownFileName = getMarkdownFileName(key);
+
+					ClassLoader classLoader =
+						SourceFormatterUtil.class.getClassLoader();
 
-		ClassLoader classLoader = SourceFormatterUtil.class.getClassLoader();
+					URL url = classLoader.getResource(
+						"documentation/check/" + markdownFileName);
 
-		InputStream inputStream = classLoader.getResourceAsStream(
-			"documentation/check/" + markdownFileName);
+					if (url != null) {
+						return _DOCUMENTATION_URL + markdownFileName;
+					}
+
+					return StringPool.BLANK;
+				});
 
-		if (inputStream != null) {
-			return _DOCUMENTATION_URL + markdownFileName;
+		if (Validator.isNull(documentationURLString)) {
+			return null;
 		}
 
-		return null;
+		return documentationURLString;
 	}
 
 	private static PathMatchers _getPathMatchers(
@@ -886,6 +879,8 @@ public class SourceFormatterUtil {
 	private static final Log _log = LogFactoryUtil.getLog(
 		SourceFormatterUtil.class);
 
+	private static final Map<String, String> _documentationURLStringsMap =
+		new ConcurrentHashMap<>();
 	private static String _gitTopLevelFolder;
 	private static List<String> _untrackedFileNames;
 
@@ -0,0 +1,153 @@
+/**
+ * SPDX-FileCopyrightText: (c) 2000 Liferay, Inc. https://liferay.com
+ * SPDX-License-Identifier: LGPL-2.1-or-later OR LicenseRef-Liferay-DXP-EULA-2.0.0-2023-06
+ */
+
+package com.liferay.source.formatter.check.util;
+
+import com.liferay.portal.json.JSONArrayImpl;
+import com.liferay.portal.json.JSONObjectImpl;
+import com.liferay.portal.kernel.json.JSONArray;
+import com.liferay.portal.kernel.json.JSONObject;
+
+import java.io.File;
+import java.io.InputStream;
+
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * @author Hugo Huijser
+ */
+public class LibraryVulnerabilitiesCacheTest {
+
+	@Rule
+	public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Test
+	public void testGetNodesJSONArray() throws Exception {
+		LibraryVulnerabilitiesCache libraryVulnerabilitiesCache =
+			new LibraryVulnerabilitiesCache(_getCacheFile());
+
+		JSONArray nodesJSONArray =
+			libraryVulnerabilitiesCache.getNodesJSONArray(_KEY, _SEVERITIES, 0);
+
+		Assert.assertNotNull(nodesJSONArray);
+		Assert.assertEquals(1, nodesJSONArray.length());
+
+		JSONObject nodeJSONObject = nodesJSONArray.getJSONObject(0);
+
+		Assert.assertEquals(
+			"https://example.com/advisories/example-library-1",
+			nodeJSONObject.getString("permalink"));
+		Assert.assertEquals(
+			"< 1.2.3", nodeJSONObject.getString("vulnerableVersionRange"));
+	}
+
+	@Test
+	public void testGetNodesJSONArrayWithExpiredEntry() throws Exception {
+		LibraryVulnerabilitiesCache libraryVulnerabilitiesCache =
+			new LibraryVulnerabilitiesCache(_getCacheFile());
+
+		Assert.assertNull(
+			libraryVulnerabilitiesCache.getNodesJSONArray(
+				_KEY, _SEVERITIES, TimeUnit.DAYS.toMillis(1)));
+	}
+
+	@Test
+	public void testGetNodesJSONArrayWithMissingFile() throws Exception {
+		LibraryVulnerabilitiesCache libraryVulnerabilitiesCache =
+			new LibraryVulnerabilitiesCache(
+				new File(temporaryFolder.getRoot(), "missing.json"));
+
+		Assert.assertNull(
+			libraryVulnerabilitiesCache.getNodesJSONArray(
+				_KEY, _SEVERITIES, 0));
+	}
+
+	@Test
+	public void testGetNodesJSONArrayWithOtherSeverities() throws Exception {
+		LibraryVulnerabilitiesCache libraryVulnerabilitiesCache =
+			new LibraryVulnerabilitiesCache(_getCacheFile());
+
+		Assert.assertNull(
+			libraryVulnerabilitiesCache.getNodesJSONArray(
+				_KEY, Arrays.asList("CRITICAL"), 0));
+	}
+
+	@Test
+	public void testSave() throws Exception {
+		File cacheFile = _getCacheFile();
+
+		LibraryVulnerabilitiesCache libraryVulnerabilitiesCache =
+			new LibraryVulnerabilitiesCache(cacheFile);
+
+		JSONArray nodesJSONArray = new JSONArrayImpl();
+
+		JSONObject nodeJSONObject = new JSONObjectImpl();
+
+		nodeJSONObject.put(
+			"permalink", "https://example.com/advisories/example-package-1"
+		).put(
+			"summary", "Example vulnerability in example-package"
+		).put(
+			"vulnerableVersionRange", ">= 2.0.0, < 2.1.0"
+		);
+
+		nodesJSONArray.put(nodeJSONObject);
+
+		libraryVulnerabilitiesCache.put(
+			"NPM:example-package", _SEVERITIES, nodesJSONArray);
+
+		libraryVulnerabilitiesCache.save();
+
+		libraryVulnerabilitiesCache = new LibraryVulnerabilitiesCache(
+			cacheFile);
+
+		Assert.assertNotNull(
+			libraryVulnerabilitiesCache.getNodesJSONArray(
+				_KEY, _SEVERITIES, 0));
+
+		nodesJSONArray = libraryVulnerabilitiesCache.getNodesJSONArray(
+			"NPM:example-package", _SEVERITIES, TimeUnit.DAYS.toMillis(1));
+
+		Assert.assertNotNull(nodesJSONArray);
+
+		nodeJSONObject = nodesJSONArray.getJSONObject(0);
+
+		Assert.assertEquals(
+			">= 2.0.0, < 2.1.0",
+			nodeJSONObject.getString("vulnerableVersionRange"));
+	}
+
+	private File _getCacheFile() throws Exception {
+		File cacheFile = new File(
+			temporaryFolder.getRoot(), "library-vulnerabilities-cache.json");
+
+		try (InputStream inputStream =
+				LibraryVulnerabilitiesCacheTest.class.getResourceAsStream(
+					"dependencies/library-vulnerabilities-cache.json")) {
+
+			Files.copy(
+				inputStream, cacheFile.toPath(),
+				StandardCopyOption.REPLACE_EXISTING);
+		}
+
+		return cacheFile;
+	}
+
+	private static final String _KEY = "MAVEN:com.example:example-library";
+
+	private static final List<String> _SEVERITIES = Arrays.asList(
+		"HIGH", "CRITICAL");
+
+}